@@ -0,0 +1,111 @@
+package roman.vertx.benchmark;
+
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.DataBinder;
+
+import roman.vertx.web.method.support.HandlerMethodArgumentResolver;
+import roman.vertx.web.method.support.HandlerMethodArgumentResolverComposite;
+
+/**
+ * Measures the resolver lookup of a {@link HandlerMethodArgumentResolverComposite}
+ * with a number of registered resolvers, of which only the last supports the
+ * parameter: for the same {@link MethodParameter} instance, for an equal but
+ * distinct instance, and for a composite whose cache is cold.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentResolverCompositeBenchmark {
+
+	@Param({ "1", "8", "32" })
+	public int resolvers;
+
+	private HandlerMethodArgumentResolverComposite composite;
+
+	private Method method;
+
+	private MethodParameter parameter;
+
+	private MethodParameter equalParameter;
+
+	@Setup
+	public void setup() throws Exception {
+		this.method = ArgumentResolverCompositeBenchmark.class.getMethod("handle", String.class, Integer.class);
+		this.composite = createComposite();
+		this.parameter = new MethodParameter(this.method, 1);
+		this.equalParameter = new MethodParameter(this.method, 1);
+		this.composite.getArgumentResolver(this.parameter);
+	}
+
+	private HandlerMethodArgumentResolverComposite createComposite() {
+		HandlerMethodArgumentResolverComposite composite = new HandlerMethodArgumentResolverComposite();
+		for (int i = 1; i < this.resolvers; i++) {
+			composite.addResolver(new TypeArgumentResolver(Long.class));
+		}
+		return composite.addResolver(new TypeArgumentResolver(Integer.class));
+	}
+
+	public void handle(String name, Integer value) {
+	}
+
+	@Benchmark
+	public HandlerMethodArgumentResolver cachedSameParameter() {
+		return this.composite.getArgumentResolver(this.parameter);
+	}
+
+	@Benchmark
+	public HandlerMethodArgumentResolver cachedEqualParameter() {
+		return this.composite.getArgumentResolver(this.equalParameter);
+	}
+
+	@Benchmark
+	public HandlerMethodArgumentResolver uncached() {
+		return createComposite().getArgumentResolver(this.parameter);
+	}
+
+
+	/**
+	 * Supports parameters of one type.
+	 */
+	private static class TypeArgumentResolver implements HandlerMethodArgumentResolver {
+
+		private final Class<?> type;
+
+		public TypeArgumentResolver(Class<?> type) {
+			this.type = type;
+		}
+
+		@Override
+		public boolean supportsParameter(MethodParameter parameter) {
+			return parameter.getParameterType() == this.type;
+		}
+
+		@Override
+		public Object resolveArgument(MethodParameter parameter, RoutingContext context, DataBinder binder) {
+			return null;
+		}
+	}
+
+}
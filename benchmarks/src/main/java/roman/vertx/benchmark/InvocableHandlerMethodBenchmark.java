@@ -0,0 +1,126 @@
+package roman.vertx.benchmark;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.DataBinder;
+
+import roman.vertx.web.method.support.HandlerMethodArgumentResolver;
+import roman.vertx.web.method.support.HandlerMethodArgumentResolverComposite;
+import roman.vertx.web.method.support.InvocableHandlerMethod;
+
+/**
+ * Measures {@link InvocableHandlerMethod#invokeForRequest} for handler methods
+ * with 0 to 10 {@code String} parameters, each resolved by an argument resolver
+ * that returns a constant, so that the overhead of argument resolution and
+ * invocation dominates.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvocableHandlerMethodBenchmark {
+
+	@Param({ "0", "1", "2", "5", "10" })
+	public int parameters;
+
+	private Vertx vertx;
+
+	private RoutingContext context;
+
+	private InvocableHandlerMethod handlerMethod;
+
+	@Setup
+	public void setup() throws Exception {
+		this.vertx = Vertx.vertx();
+		Router router = Router.router(this.vertx);
+		RoutingContext[] holder = new RoutingContext[1];
+		router.route().handler(context -> holder[0] = context);
+		router.accept(new MockHttpServerRequest(HttpMethod.GET, "/invoke"));
+		this.context = holder[0];
+
+		Method method = null;
+		for (Method candidate : Handler.class.getMethods()) {
+			if (candidate.getName().equals("handle") && candidate.getParameterCount() == this.parameters) {
+				method = candidate;
+			}
+		}
+		HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite().addResolver(new ConstantArgumentResolver());
+		this.handlerMethod = new InvocableHandlerMethod(new Handler(), method, resolvers);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.vertx.close();
+	}
+
+	@Benchmark
+	public Object invokeForRequest() throws Exception {
+		return this.handlerMethod.invokeForRequest(this.context);
+	}
+
+
+	/**
+	 * Resolves every {@code String} parameter to the same value.
+	 */
+	private static class ConstantArgumentResolver implements HandlerMethodArgumentResolver {
+
+		@Override
+		public boolean supportsParameter(MethodParameter parameter) {
+			return parameter.getParameterType() == String.class;
+		}
+
+		@Override
+		public Object resolveArgument(MethodParameter parameter, RoutingContext context, DataBinder binder) {
+			return "value";
+		}
+	}
+
+
+	public static class Handler {
+
+		public Object handle() {
+			return this;
+		}
+
+		public Object handle(String a0) {
+			return a0;
+		}
+
+		public Object handle(String a0, String a1) {
+			return a1;
+		}
+
+		public Object handle(String a0, String a1, String a2, String a3, String a4) {
+			return a4;
+		}
+
+		public Object handle(String a0, String a1, String a2, String a3, String a4, String a5, String a6, String a7, String a8, String a9) {
+			return a9;
+		}
+	}
+
+}
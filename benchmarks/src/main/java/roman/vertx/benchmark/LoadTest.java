@@ -0,0 +1,289 @@
+package roman.vertx.benchmark;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import roman.vertx.web.condition.PatternRequestCondition;
+import roman.vertx.web.method.RequestMappingInfo;
+import roman.vertx.web.method.annotation.RequestMappingHandlerMapping;
+import roman.vertx.web.metrics.LatencyHistogram;
+import roman.vertx.web.server.RequestMappingServer;
+
+/**
+ * End-to-end load test: starts a Spring context with a number of
+ * {@link LoadTestController} beans on a loopback port, drives it at a fixed
+ * request rate from an in-process Vert.x {@link HttpClient}, and prints the
+ * results as JSON.
+ *
+ * <p>
+ * Requests are sent on a fixed schedule regardless of how fast responses
+ * arrive, and latency is measured from the time a request was scheduled to be
+ * sent, so that a stalled server is not hidden by the client waiting for it
+ * (coordinated omission). The latency from the time a request was actually
+ * written is reported as well. Requests scheduled during the warmup are sent
+ * but not recorded.
+ *
+ * <p>
+ * Options, each as {@code --name=value}: {@code controllers} (default 100),
+ * {@code rate} in requests per second (10000), {@code connections} (64),
+ * {@code warmup} and {@code duration} in seconds (5 and 30), {@code port}
+ * (18080), {@code instances}, the number of server verticles (1),
+ * {@code trie} (false) and {@code output}, a file to write the JSON to in
+ * addition to standard output.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class LoadTest {
+
+	private static final String HOST = "127.0.0.1";
+
+	private static final String ECHO_BODY = "{\"name\":\"load\",\"quantity\":3}";
+
+	private final int controllers;
+
+	private final int rate;
+
+	private final int connections;
+
+	private final int warmupSeconds;
+
+	private final int durationSeconds;
+
+	private final int port;
+
+	private final int instances;
+
+	private final boolean trie;
+
+	private final LatencyHistogram correctedLatency = new LatencyHistogram();
+
+	private final LatencyHistogram uncorrectedLatency = new LatencyHistogram();
+
+	private final LongAdder sent = new LongAdder();
+
+	private final LongAdder completed = new LongAdder();
+
+	private final LongAdder errors = new LongAdder();
+
+	private final AtomicLong outstanding = new AtomicLong();
+
+	private final AtomicLong lastCompletion = new AtomicLong();
+
+	private long next;
+
+	public LoadTest(Map<String, String> options) {
+		this.controllers = Integer.parseInt(option(options, "controllers", "100"));
+		this.rate = Integer.parseInt(option(options, "rate", "10000"));
+		this.connections = Integer.parseInt(option(options, "connections", "64"));
+		this.warmupSeconds = Integer.parseInt(option(options, "warmup", "5"));
+		this.durationSeconds = Integer.parseInt(option(options, "duration", "30"));
+		this.port = Integer.parseInt(option(options, "port", "18080"));
+		this.instances = Integer.parseInt(option(options, "instances", "1"));
+		this.trie = Boolean.parseBoolean(option(options, "trie", "false"));
+	}
+
+	private static String option(Map<String, String> options, String name, String defaultValue) {
+		String value = options.get(name);
+		return (value != null ? value : defaultValue);
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new LinkedHashMap<String, String>();
+		for (String arg : args) {
+			int index = arg.indexOf('=');
+			if (!arg.startsWith("--") || index == -1) {
+				throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+			}
+			options.put(arg.substring(2, index), arg.substring(index + 1));
+		}
+		JsonObject result = new LoadTest(options).run();
+		String json = result.encodePrettily();
+		System.out.println(json);
+		if (options.containsKey("output")) {
+			Files.write(new File(options.get("output")).toPath(), json.getBytes(StandardCharsets.UTF_8));
+		}
+		System.exit(0);
+	}
+
+	public JsonObject run() throws Exception {
+		AnnotationConfigApplicationContext context = createContext();
+		Vertx serverVertx = context.getBean(Vertx.class);
+		CompletableFuture<Void> listening = new CompletableFuture<Void>();
+		new RequestMappingServer(context).setInstances(this.instances).setHttpServerOptions(new HttpServerOptions().setHost(HOST).setPort(this.port)).deploy(result -> {
+			if (result.succeeded()) {
+				listening.complete(null);
+			} else {
+				listening.completeExceptionally(result.cause());
+			}
+		});
+		listening.get(10, TimeUnit.SECONDS);
+
+		Vertx clientVertx = Vertx.vertx();
+		HttpClient client = clientVertx.createHttpClient(new HttpClientOptions().setDefaultHost(HOST).setDefaultPort(this.port).setKeepAlive(true)
+				.setTcpNoDelay(true).setMaxPoolSize(this.connections));
+		try {
+			long measuredStart = drive(clientVertx, client);
+			long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (this.outstanding.get() > 0 && System.nanoTime() < end) {
+				Thread.sleep(10);
+			}
+			return report(measuredStart);
+		} finally {
+			client.close();
+			clientVertx.close();
+			context.close();
+			serverVertx.close();
+		}
+	}
+
+	private AnnotationConfigApplicationContext createContext() {
+		Vertx vertx = Vertx.vertx();
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getBeanFactory().registerSingleton("vertx", vertx);
+		RootBeanDefinition handlerMapping = new RootBeanDefinition(MountingHandlerMapping.class);
+		handlerMapping.getPropertyValues().add("useRequestMappingTrie", this.trie);
+		// Mappings are mounted per bean by scanning, which the index would bypass
+		handlerMapping.getPropertyValues().add("useRequestMappingIndex", false);
+		context.registerBeanDefinition("requestMappingHandlerMapping", handlerMapping);
+		for (int i = 0; i < this.controllers; i++) {
+			context.registerBeanDefinition("c" + i, new RootBeanDefinition(LoadTestController.class));
+		}
+		context.refresh();
+		return context;
+	}
+
+	/**
+	 * Send requests at the configured rate until the end of the measurement,
+	 * from a 1 ms timer that catches up with all requests scheduled since its
+	 * last run.
+	 * 
+	 * @return the time at which the measurement starts
+	 */
+	private long drive(Vertx vertx, HttpClient client) throws Exception {
+		long interval = TimeUnit.SECONDS.toNanos(1) / this.rate;
+		long start = System.nanoTime();
+		long measuredStart = start + TimeUnit.SECONDS.toNanos(this.warmupSeconds);
+		long end = measuredStart + TimeUnit.SECONDS.toNanos(this.durationSeconds);
+		CompletableFuture<Void> done = new CompletableFuture<Void>();
+		vertx.setPeriodic(1, timerId -> {
+			long now = System.nanoTime();
+			while (true) {
+				long scheduled = start + this.next * interval;
+				if (scheduled >= end) {
+					vertx.cancelTimer(timerId);
+					done.complete(null);
+					return;
+				}
+				if (scheduled > now) {
+					return;
+				}
+				send(client, this.next, scheduled, scheduled >= measuredStart);
+				this.next++;
+			}
+		});
+		done.get(this.warmupSeconds + this.durationSeconds + 60, TimeUnit.SECONDS);
+		return measuredStart;
+	}
+
+	private void send(HttpClient client, long index, long scheduled, boolean measured) {
+		String prefix = "/c" + (index % this.controllers);
+		int endpoint = (int) ((index / this.controllers) % 3);
+		HttpMethod method = (endpoint == 2 ? HttpMethod.POST : HttpMethod.GET);
+		String uri = (endpoint == 0 ? prefix + "/items/" + index : endpoint == 1 ? prefix + "/status" : prefix + "/echo");
+		this.sent.increment();
+		this.outstanding.incrementAndGet();
+		long sendTime = System.nanoTime();
+		HttpClientRequest request = client.request(method, uri, response -> {
+			response.handler(buffer -> {
+			});
+			response.endHandler(v -> completed(scheduled, sendTime, measured, response.statusCode() >= 400));
+		});
+		request.exceptionHandler(ex -> completed(scheduled, sendTime, measured, true));
+		if (endpoint == 2) {
+			request.putHeader("Content-Type", "application/json").end(Buffer.buffer(ECHO_BODY));
+		} else {
+			request.end();
+		}
+	}
+
+	private void completed(long scheduled, long sendTime, boolean measured, boolean error) {
+		long now = System.nanoTime();
+		this.outstanding.decrementAndGet();
+		if (!measured) {
+			return;
+		}
+		this.correctedLatency.record(now - scheduled);
+		this.uncorrectedLatency.record(now - sendTime);
+		this.completed.increment();
+		if (error) {
+			this.errors.increment();
+		}
+		this.lastCompletion.accumulateAndGet(now, Math::max);
+	}
+
+	private JsonObject report(long measuredStart) {
+		long elapsed = Math.max(this.lastCompletion.get() - measuredStart, 1);
+		JsonObject config = new JsonObject().put("controllers", this.controllers).put("rate", this.rate).put("connections", this.connections)
+				.put("warmupSeconds", this.warmupSeconds).put("durationSeconds", this.durationSeconds).put("instances", this.instances)
+				.put("trie", this.trie);
+		JsonObject requests = new JsonObject().put("sent", this.sent.sum()).put("completed", this.completed.sum()).put("errors", this.errors.sum())
+				.put("outstanding", this.outstanding.get());
+		return new JsonObject().put("config", config).put("requests", requests)
+				.put("throughput", (double) this.completed.sum() * TimeUnit.SECONDS.toNanos(1) / elapsed)
+				.put("latencyMillis", new JsonObject().put("corrected", percentiles(this.correctedLatency)).put("uncorrected", percentiles(this.uncorrectedLatency)));
+	}
+
+	private static JsonObject percentiles(LatencyHistogram histogram) {
+		JsonObject result = new JsonObject();
+		result.put("mean", histogram.getCount() > 0 ? (double) histogram.getSum() / histogram.getCount() / TimeUnit.MILLISECONDS.toNanos(1) : 0.0);
+		for (double percentile : new double[] { 50, 90, 99, 99.9, 99.99, 100 }) {
+			String name = (percentile == 100 ? "max" : "p" + (percentile == Math.rint(percentile) ? Integer.toString((int) percentile) : Double.toString(percentile)));
+			result.put(name, histogram.getValueAtPercentile(percentile, TimeUnit.MILLISECONDS));
+		}
+		return result;
+	}
+
+
+	/**
+	 * Mounts the mappings of each controller bean under the bean name, so that
+	 * many beans of the same controller class have distinct paths.
+	 */
+	public static class MountingHandlerMapping extends RequestMappingHandlerMapping {
+
+		@Override
+		protected Collection<RequestMappingInfo> detectHandlerMethods(Object handler) {
+			Collection<RequestMappingInfo> mappings = super.detectHandlerMethods(handler);
+			PatternRequestCondition mountPoint = new PatternRequestCondition("/" + handler);
+			List<RequestMappingInfo> result = new ArrayList<RequestMappingInfo>(mappings.size());
+			for (RequestMappingInfo mapping : mappings) {
+				result.add(new RequestMappingInfo(mapping.getHandler(), mapping.getMethod(), mountPoint.combine(mapping.getPatternsCondition()), mapping.getMethodsCondition(),
+						mapping.getConsumesCondition(), mapping.getProducesCondition(), mapping.getExecutionMode()));
+			}
+			return result;
+		}
+	}
+
+}
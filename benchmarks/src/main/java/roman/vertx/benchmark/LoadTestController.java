@@ -0,0 +1,66 @@
+package roman.vertx.benchmark;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Controller;
+
+import roman.vertx.web.bind.annotation.RequestBody;
+import roman.vertx.web.bind.annotation.RequestMapping;
+
+/**
+ * Controller registered many times by {@link LoadTest}, each bean mounted
+ * under its bean name, with a plain text, a JSON and a request body endpoint.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@Controller
+public class LoadTestController {
+
+	@RequestMapping(value = "items/:id", method = HttpMethod.GET)
+	public String item(HttpServerRequest request) {
+		return "item " + request.getParam("id");
+	}
+
+	@RequestMapping(value = "status", method = HttpMethod.GET, produces = "application/json")
+	public Map<String, Object> status() {
+		Map<String, Object> status = new LinkedHashMap<String, Object>();
+		status.put("status", "UP");
+		status.put("time", System.currentTimeMillis());
+		return status;
+	}
+
+	@RequestMapping(value = "echo", method = HttpMethod.POST, consumes = "application/json", produces = "application/json")
+	public Item echo(@RequestBody Item item) {
+		return item;
+	}
+
+
+	public static class Item {
+
+		private String name;
+
+		private int quantity;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+
+		public void setQuantity(int quantity) {
+			this.quantity = quantity;
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+package roman.vertx.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import roman.vertx.web.http.MediaType;
+
+/**
+ * Measures parsing of single media types and of a browser 'Accept' header, and
+ * sorting the parsed header by specificity and quality.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaTypeBenchmark {
+
+	private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+	private static final String ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,image/apng,*/*;q=0.8";
+
+	private List<MediaType> acceptMediaTypes;
+
+	private int counter;
+
+	@Setup
+	public void setup() {
+		this.acceptMediaTypes = MediaType.parseMediaTypes(ACCEPT);
+	}
+
+	@Benchmark
+	public MediaType parseMediaType() {
+		return MediaType.parseMediaType(CONTENT_TYPE);
+	}
+
+	/**
+	 * Parses a different media type each time, to measure parsing without the
+	 * benefit of the parsed media type cache.
+	 */
+	@Benchmark
+	public MediaType parseMediaTypeUncached() {
+		return MediaType.parseMediaType(CONTENT_TYPE + ";v=" + (this.counter++));
+	}
+
+	@Benchmark
+	public List<MediaType> parseAcceptHeader() {
+		return MediaType.parseMediaTypes(ACCEPT);
+	}
+
+	@Benchmark
+	public List<MediaType> sortBySpecificityAndQuality() {
+		List<MediaType> mediaTypes = new ArrayList<MediaType>(this.acceptMediaTypes);
+		MediaType.sortBySpecificityAndQuality(mediaTypes);
+		return mediaTypes;
+	}
+
+}
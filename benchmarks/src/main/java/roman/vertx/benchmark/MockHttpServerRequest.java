@@ -0,0 +1,234 @@
+package roman.vertx.benchmark;
+
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
+
+import javax.security.cert.X509Certificate;
+
+import org.springframework.util.Assert;
+
+/**
+ * In-memory {@link HttpServerRequest} to route and dispatch requests without a
+ * connection. The request has no body; request parameters are taken from the
+ * query string, and path parameters added while routing are removed again by
+ * {@link #reset()}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class MockHttpServerRequest implements HttpServerRequest {
+
+	private final HttpMethod method;
+
+	private final String uri;
+
+	private final String path;
+
+	private final String query;
+
+	private final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+
+	private final MultiMap params = MultiMap.caseInsensitiveMultiMap();
+
+	private final MockHttpServerResponse response = new MockHttpServerResponse();
+
+	public MockHttpServerRequest(HttpMethod method, String uri) {
+		Assert.notNull(method, "HttpMethod must not be null");
+		Assert.hasLength(uri, "URI must not be empty");
+		this.method = method;
+		this.uri = uri;
+		int index = uri.indexOf('?');
+		this.path = (index != -1 ? uri.substring(0, index) : uri);
+		this.query = (index != -1 ? uri.substring(index + 1) : null);
+		reset();
+	}
+
+	/**
+	 * Add a request header.
+	 */
+	public MockHttpServerRequest header(String name, String value) {
+		this.headers.add(name, value);
+		return this;
+	}
+
+	/**
+	 * Restore the request parameters from the query string and reset the
+	 * response, so that the request can be routed again.
+	 */
+	public void reset() {
+		this.params.clear();
+		if (this.query != null) {
+			for (String pair : this.query.split("&")) {
+				int index = pair.indexOf('=');
+				this.params.add(index != -1 ? pair.substring(0, index) : pair, index != -1 ? pair.substring(index + 1) : "");
+			}
+		}
+		this.response.reset();
+	}
+
+	@Override
+	public HttpServerRequest exceptionHandler(Handler<Throwable> handler) {
+		return this;
+	}
+
+	@Override
+	public HttpServerRequest handler(Handler<Buffer> handler) {
+		return this;
+	}
+
+	@Override
+	public HttpServerRequest pause() {
+		return this;
+	}
+
+	@Override
+	public HttpServerRequest resume() {
+		return this;
+	}
+
+	@Override
+	public HttpServerRequest endHandler(Handler<Void> endHandler) {
+		if (endHandler != null) {
+			endHandler.handle(null);
+		}
+		return this;
+	}
+
+	@Override
+	public HttpVersion version() {
+		return HttpVersion.HTTP_1_1;
+	}
+
+	@Override
+	public HttpMethod method() {
+		return this.method;
+	}
+
+	@Override
+	public boolean isSSL() {
+		return false;
+	}
+
+	@Override
+	public String uri() {
+		return this.uri;
+	}
+
+	@Override
+	public String path() {
+		return this.path;
+	}
+
+	@Override
+	public String query() {
+		return this.query;
+	}
+
+	@Override
+	public MockHttpServerResponse response() {
+		return this.response;
+	}
+
+	@Override
+	public MultiMap headers() {
+		return this.headers;
+	}
+
+	@Override
+	public String getHeader(String headerName) {
+		return this.headers.get(headerName);
+	}
+
+	@Override
+	public String getHeader(CharSequence headerName) {
+		return this.headers.get(headerName);
+	}
+
+	@Override
+	public MultiMap params() {
+		return this.params;
+	}
+
+	@Override
+	public String getParam(String paramName) {
+		return this.params.get(paramName);
+	}
+
+	@Override
+	public SocketAddress remoteAddress() {
+		return null;
+	}
+
+	@Override
+	public SocketAddress localAddress() {
+		return null;
+	}
+
+	@Override
+	public X509Certificate[] peerCertificateChain() {
+		return null;
+	}
+
+	@Override
+	public String absoluteURI() {
+		return "http://localhost" + this.uri;
+	}
+
+	@Override
+	public HttpServerRequest bodyHandler(Handler<Buffer> bodyHandler) {
+		if (bodyHandler != null) {
+			bodyHandler.handle(Buffer.buffer());
+		}
+		return this;
+	}
+
+	@Override
+	public NetSocket netSocket() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public HttpServerRequest setExpectMultipart(boolean expect) {
+		return this;
+	}
+
+	@Override
+	public boolean isExpectMultipart() {
+		return false;
+	}
+
+	@Override
+	public HttpServerRequest uploadHandler(Handler<HttpServerFileUpload> uploadHandler) {
+		return this;
+	}
+
+	@Override
+	public MultiMap formAttributes() {
+		return MultiMap.caseInsensitiveMultiMap();
+	}
+
+	@Override
+	public String getFormAttribute(String attributeName) {
+		return null;
+	}
+
+	@Override
+	public ServerWebSocket upgrade() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isEnded() {
+		return true;
+	}
+
+}
@@ -0,0 +1,268 @@
+package roman.vertx.benchmark;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * In-memory {@link HttpServerResponse} that keeps the status code, headers and
+ * the number of bytes written, and discards the body.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see MockHttpServerRequest
+ */
+public class MockHttpServerResponse implements HttpServerResponse {
+
+	private final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+
+	private final MultiMap trailers = MultiMap.caseInsensitiveMultiMap();
+
+	private int statusCode;
+
+	private String statusMessage;
+
+	private boolean chunked;
+
+	private boolean ended;
+
+	private long bytesWritten;
+
+	private Handler<Void> headersEndHandler;
+
+	private Handler<Void> bodyEndHandler;
+
+	/**
+	 * Clear the state of the response, so that it can be written again.
+	 */
+	public void reset() {
+		this.headers.clear();
+		this.trailers.clear();
+		this.statusCode = 200;
+		this.statusMessage = null;
+		this.chunked = false;
+		this.ended = false;
+		this.bytesWritten = 0;
+		this.headersEndHandler = null;
+		this.bodyEndHandler = null;
+	}
+
+	@Override
+	public HttpServerResponse exceptionHandler(Handler<Throwable> handler) {
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse write(Buffer data) {
+		this.bytesWritten += data.length();
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse setWriteQueueMaxSize(int maxSize) {
+		return this;
+	}
+
+	@Override
+	public boolean writeQueueFull() {
+		return false;
+	}
+
+	@Override
+	public HttpServerResponse drainHandler(Handler<Void> handler) {
+		return this;
+	}
+
+	@Override
+	public int getStatusCode() {
+		return this.statusCode;
+	}
+
+	@Override
+	public HttpServerResponse setStatusCode(int statusCode) {
+		this.statusCode = statusCode;
+		return this;
+	}
+
+	@Override
+	public String getStatusMessage() {
+		return this.statusMessage;
+	}
+
+	@Override
+	public HttpServerResponse setStatusMessage(String statusMessage) {
+		this.statusMessage = statusMessage;
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse setChunked(boolean chunked) {
+		this.chunked = chunked;
+		return this;
+	}
+
+	@Override
+	public boolean isChunked() {
+		return this.chunked;
+	}
+
+	@Override
+	public MultiMap headers() {
+		return this.headers;
+	}
+
+	@Override
+	public HttpServerResponse putHeader(String name, String value) {
+		this.headers.set(name, value);
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse putHeader(CharSequence name, CharSequence value) {
+		this.headers.set(name, value);
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse putHeader(String name, Iterable<String> values) {
+		this.headers.set(name, values);
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse putHeader(CharSequence name, Iterable<CharSequence> values) {
+		this.headers.set(name, values);
+		return this;
+	}
+
+	@Override
+	public MultiMap trailers() {
+		return this.trailers;
+	}
+
+	@Override
+	public HttpServerResponse putTrailer(String name, String value) {
+		this.trailers.set(name, value);
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse putTrailer(CharSequence name, CharSequence value) {
+		this.trailers.set(name, value);
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse putTrailer(String name, Iterable<String> values) {
+		this.trailers.set(name, values);
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse putTrailer(CharSequence name, Iterable<CharSequence> value) {
+		this.trailers.set(name, value);
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse closeHandler(Handler<Void> handler) {
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse write(String chunk, String enc) {
+		return write(Buffer.buffer(chunk, enc));
+	}
+
+	@Override
+	public HttpServerResponse write(String chunk) {
+		return write(Buffer.buffer(chunk));
+	}
+
+	@Override
+	public HttpServerResponse writeContinue() {
+		return this;
+	}
+
+	@Override
+	public void end(String chunk) {
+		end(Buffer.buffer(chunk));
+	}
+
+	@Override
+	public void end(String chunk, String enc) {
+		end(Buffer.buffer(chunk, enc));
+	}
+
+	@Override
+	public void end(Buffer chunk) {
+		write(chunk);
+		end();
+	}
+
+	@Override
+	public void end() {
+		if (this.ended) {
+			throw new IllegalStateException("Response has already been written");
+		}
+		if (this.headersEndHandler != null) {
+			this.headersEndHandler.handle(null);
+		}
+		this.ended = true;
+		if (this.bodyEndHandler != null) {
+			this.bodyEndHandler.handle(null);
+		}
+	}
+
+	@Override
+	public HttpServerResponse sendFile(String filename, long offset, long length) {
+		end();
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse sendFile(String filename, long offset, long length, Handler<AsyncResult<Void>> resultHandler) {
+		end();
+		return this;
+	}
+
+	@Override
+	public void close() {
+		this.ended = true;
+	}
+
+	@Override
+	public boolean ended() {
+		return this.ended;
+	}
+
+	@Override
+	public boolean closed() {
+		return false;
+	}
+
+	@Override
+	public boolean headWritten() {
+		return this.ended;
+	}
+
+	@Override
+	public HttpServerResponse headersEndHandler(Handler<Void> handler) {
+		this.headersEndHandler = handler;
+		return this;
+	}
+
+	@Override
+	public HttpServerResponse bodyEndHandler(Handler<Void> handler) {
+		this.bodyEndHandler = handler;
+		return this;
+	}
+
+	@Override
+	public long bytesWritten() {
+		return this.bytesWritten;
+	}
+
+}
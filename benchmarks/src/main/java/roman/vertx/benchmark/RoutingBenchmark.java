@@ -0,0 +1,101 @@
+package roman.vertx.benchmark;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import roman.vertx.web.condition.PatternRequestCondition;
+import roman.vertx.web.condition.RequestMethodsRequestCondition;
+import roman.vertx.web.handler.RequestMappingTrie;
+import roman.vertx.web.method.RequestMappingInfo;
+
+/**
+ * Routes a request to one of a number of mappings of the form
+ * {@code GET /api/r<i>/items/:id}, either with one route per mapping as
+ * registered by default, or through a {@link RequestMappingTrie}. The matched
+ * handler only ends the response, so that the cost of finding it dominates.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int mappings;
+
+	@Param({ "false", "true" })
+	public boolean trie;
+
+	/**
+	 * Which mapping the request matches: the first or the last registered one.
+	 */
+	@Param({ "first", "last" })
+	public String target;
+
+	private Vertx vertx;
+
+	private Router router;
+
+	private MockHttpServerRequest request;
+
+	@Setup
+	public void setup() throws Exception {
+		this.vertx = Vertx.vertx();
+		this.router = Router.router(this.vertx);
+		Method method = RoutingBenchmark.class.getMethod("route");
+		Handler<RoutingContext> handler = context -> context.response().end();
+		RequestMappingTrie requestMappingTrie = null;
+		if (this.trie) {
+			requestMappingTrie = new RequestMappingTrie();
+			this.router.route().handler(requestMappingTrie);
+		}
+		for (int i = 0; i < this.mappings; i++) {
+			RequestMappingInfo mapping = new RequestMappingInfo(this, method, new PatternRequestCondition("/api/r" + i + "/items/:id"),
+					new RequestMethodsRequestCondition(HttpMethod.GET), null, null);
+			if (requestMappingTrie != null) {
+				requestMappingTrie.add(mapping, handler);
+			} else {
+				mapping.Router(this.router.route()).handler(handler);
+			}
+		}
+		int index = ("first".equals(this.target) ? 0 : this.mappings - 1);
+		this.request = new MockHttpServerRequest(HttpMethod.GET, "/api/r" + index + "/items/42");
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.vertx.close();
+	}
+
+	@Benchmark
+	public int route() {
+		this.request.reset();
+		this.router.accept(this.request);
+		return this.request.response().getStatusCode();
+	}
+
+}
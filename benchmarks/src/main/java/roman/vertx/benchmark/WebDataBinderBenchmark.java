@@ -0,0 +1,129 @@
+package roman.vertx.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.MutablePropertyValues;
+
+import roman.vertx.web.bind.WebDataBinder;
+
+/**
+ * Measures binding of request parameters to a bean with 20 properties of
+ * various types, with a new {@link WebDataBinder} per request as on the
+ * request path, and with field marker and field default parameters.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebDataBinderBenchmark {
+
+	private MutablePropertyValues values;
+
+	private MutablePropertyValues valuesWithMarkers;
+
+	@Setup
+	public void setup() {
+		this.values = new MutablePropertyValues();
+		for (int i = 0; i < 4; i++) {
+			this.values.add("text" + i, "value" + i);
+			this.values.add("number" + i, Integer.toString(i));
+			this.values.add("amount" + i, Long.toString(i * 1000L));
+			this.values.add("ratio" + i, "0." + i);
+			this.values.add("flag" + i, "true");
+		}
+		this.valuesWithMarkers = new MutablePropertyValues(this.values);
+		this.valuesWithMarkers.removePropertyValue("flag0");
+		this.valuesWithMarkers.add("_flag0", "on");
+		this.valuesWithMarkers.removePropertyValue("text0");
+		this.valuesWithMarkers.add("!text0", "default");
+	}
+
+	@Benchmark
+	public FormBean bind() {
+		FormBean bean = new FormBean();
+		new WebDataBinder(bean).bind(new MutablePropertyValues(this.values));
+		return bean;
+	}
+
+	@Benchmark
+	public FormBean bindWithMarkers() {
+		FormBean bean = new FormBean();
+		new WebDataBinder(bean).bind(new MutablePropertyValues(this.valuesWithMarkers));
+		return bean;
+	}
+
+
+	public static class FormBean {
+
+		private String text0, text1, text2, text3;
+
+		private int number0, number1, number2, number3;
+
+		private long amount0, amount1, amount2, amount3;
+
+		private double ratio0, ratio1, ratio2, ratio3;
+
+		private boolean flag0, flag1, flag2, flag3;
+
+		public String getText0() { return this.text0; }
+		public void setText0(String text0) { this.text0 = text0; }
+		public String getText1() { return this.text1; }
+		public void setText1(String text1) { this.text1 = text1; }
+		public String getText2() { return this.text2; }
+		public void setText2(String text2) { this.text2 = text2; }
+		public String getText3() { return this.text3; }
+		public void setText3(String text3) { this.text3 = text3; }
+
+		public int getNumber0() { return this.number0; }
+		public void setNumber0(int number0) { this.number0 = number0; }
+		public int getNumber1() { return this.number1; }
+		public void setNumber1(int number1) { this.number1 = number1; }
+		public int getNumber2() { return this.number2; }
+		public void setNumber2(int number2) { this.number2 = number2; }
+		public int getNumber3() { return this.number3; }
+		public void setNumber3(int number3) { this.number3 = number3; }
+
+		public long getAmount0() { return this.amount0; }
+		public void setAmount0(long amount0) { this.amount0 = amount0; }
+		public long getAmount1() { return this.amount1; }
+		public void setAmount1(long amount1) { this.amount1 = amount1; }
+		public long getAmount2() { return this.amount2; }
+		public void setAmount2(long amount2) { this.amount2 = amount2; }
+		public long getAmount3() { return this.amount3; }
+		public void setAmount3(long amount3) { this.amount3 = amount3; }
+
+		public double getRatio0() { return this.ratio0; }
+		public void setRatio0(double ratio0) { this.ratio0 = ratio0; }
+		public double getRatio1() { return this.ratio1; }
+		public void setRatio1(double ratio1) { this.ratio1 = ratio1; }
+		public double getRatio2() { return this.ratio2; }
+		public void setRatio2(double ratio2) { this.ratio2 = ratio2; }
+		public double getRatio3() { return this.ratio3; }
+		public void setRatio3(double ratio3) { this.ratio3 = ratio3; }
+
+		public boolean isFlag0() { return this.flag0; }
+		public void setFlag0(boolean flag0) { this.flag0 = flag0; }
+		public boolean isFlag1() { return this.flag1; }
+		public void setFlag1(boolean flag1) { this.flag1 = flag1; }
+		public boolean isFlag2() { return this.flag2; }
+		public void setFlag2(boolean flag2) { this.flag2 = flag2; }
+		public boolean isFlag3() { return this.flag3; }
+		public void setFlag3(boolean flag3) { this.flag3 = flag3; }
+	}
+
+}
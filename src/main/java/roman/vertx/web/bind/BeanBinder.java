@@ -0,0 +1,303 @@
+package roman.vertx.web.bind;
+
+import io.vertx.core.MultiMap;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import roman.vertx.web.util.PerfectHashIndex;
+
+/**
+ * Binds request parameters onto the bean properties of a target object
+ * without a {@link org.springframework.beans.BeanWrapper}, as a faster
+ * alternative to {@link WebDataBinder#bind}.
+ *
+ * <p>
+ * Everything about the target class is worked out once and cached: the
+ * {@link StringValueConverter} of each writable property, a
+ * {@link PerfectHashIndex} from the parameter names "field", "!field" and
+ * "_field" to the property, and a {@link BeanPropertySetter} generated by
+ * {@link BeanPropertySetterGenerator}, or a reflective one if generation is
+ * not possible. Binding then takes one pass over the request parameters.
+ *
+ * <p>
+ * Field defaults and field markers behave as in {@link WebDataBinder} with the
+ * default prefixes: a "!field" parameter supplies the value of a field that
+ * is not present otherwise, and a "_field" parameter resets a field that is
+ * present neither as value nor as default to its
+ * {@link WebDataBinder#getEmptyValue empty value}. Array and {@link List}
+ * properties receive all values of the parameter, or the comma-separated
+ * elements of a single value; other properties the first value. Only
+ * top-level properties of types that can be converted from a String are bound;
+ * other parameters are ignored. A value that cannot be converted raises a
+ * {@link RequestBindingException}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public final class BeanBinder {
+
+	private static final Map<Class<?>, BeanBinder> cache = new ConcurrentReferenceHashMap<Class<?>, BeanBinder>(64);
+
+	private static final byte VALUE = 1;
+
+	private static final byte DEFAULT = 2;
+
+	private static final byte MARKER = 4;
+
+	private final Class<?> targetClass;
+
+	private final Property[] properties;
+
+	private final PerfectHashIndex parameterIndex;
+
+	private final BeanPropertySetter setter;
+
+	private BeanBinder(Class<?> targetClass) {
+		List<Property> properties = new ArrayList<Property>();
+		List<Method> writeMethods = new ArrayList<Method>();
+		for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(targetClass)) {
+			Method writeMethod = descriptor.getWriteMethod();
+			if (writeMethod != null) {
+				Property property = Property.forWriteMethod(descriptor.getName(), writeMethod, targetClass, properties.size());
+				if (property != null) {
+					properties.add(property);
+					writeMethods.add(writeMethod);
+				}
+			}
+		}
+		int count = properties.size();
+		String[] parameterNames = new String[count * 3];
+		for (int i = 0; i < count; i++) {
+			Property property = properties.get(i);
+			parameterNames[i] = property.name;
+			parameterNames[count + i] = property.defaultName;
+			parameterNames[count * 2 + i] = WebDataBinder.DEFAULT_FIELD_MARKER_PREFIX + property.name;
+		}
+		Method[] methods = writeMethods.toArray(new Method[count]);
+		BeanPropertySetter setter = BeanPropertySetterGenerator.generate(targetClass, methods);
+		this.targetClass = targetClass;
+		this.properties = properties.toArray(new Property[count]);
+		this.parameterIndex = new PerfectHashIndex(parameterNames);
+		this.setter = (setter != null ? setter : new ReflectiveBeanPropertySetter(methods));
+	}
+
+	/**
+	 * Return the binder for the given target class. The cache only holds soft
+	 * references, so callers that use the binder on every request keep the
+	 * returned instance rather than look it up each time.
+	 */
+	public static BeanBinder forClass(Class<?> targetClass) {
+		Assert.notNull(targetClass, "Target class must not be null");
+		BeanBinder binder = cache.get(targetClass);
+		if (binder == null) {
+			binder = new BeanBinder(targetClass);
+			cache.put(targetClass, binder);
+		}
+		return binder;
+	}
+
+	/**
+	 * Return the class the binder binds onto.
+	 */
+	public Class<?> getTargetClass() {
+		return this.targetClass;
+	}
+
+	/**
+	 * Bind the given request parameters onto the given target.
+	 *
+	 * @param target
+	 *            an instance of the {@link #getTargetClass() target class}
+	 * @param parameters
+	 *            the request parameters
+	 * @throws RequestBindingException
+	 *             if a value cannot be converted to the property type
+	 */
+	public void bind(Object target, MultiMap parameters) {
+		Property[] properties = this.properties;
+		int count = properties.length;
+		if (count == 0 || parameters.isEmpty()) {
+			return;
+		}
+		byte[] states = new byte[count];
+		boolean pending = false;
+		for (Map.Entry<String, String> parameter : parameters) {
+			int index = this.parameterIndex.indexOf(parameter.getKey());
+			if (index < 0) {
+				continue;
+			}
+			if (index < count) {
+				if ((states[index] & VALUE) == 0) {
+					states[index] |= VALUE;
+					Property property = properties[index];
+					setValue(target, property, (property.multiValued ? parameters.getAll(parameter.getKey()) : parameter.getValue()));
+				}
+			} else if (index < count * 2) {
+				states[index - count] |= DEFAULT;
+				pending = true;
+			} else {
+				states[index - count * 2] |= MARKER;
+				pending = true;
+			}
+		}
+		if (pending) {
+			for (int i = 0; i < count; i++) {
+				byte state = states[i];
+				if ((state & VALUE) == 0) {
+					Property property = properties[i];
+					if ((state & DEFAULT) != 0) {
+						setValue(target, property, (property.multiValued ? parameters.getAll(property.defaultName) : parameters.get(property.defaultName)));
+					} else if ((state & MARKER) != 0) {
+						setEmptyValue(target, property);
+					}
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void setValue(Object target, Property property, Object value) {
+		Object converted;
+		if (property.multiValued) {
+			List<String> values = (List<String>) value;
+			if (values.size() == 1) {
+				values = Arrays.asList(StringUtils.commaDelimitedListToStringArray(values.get(0)));
+			}
+			converted = property.collect(values);
+		} else {
+			converted = property.convert((String) value);
+		}
+		this.setter.setProperty(target, property.index, converted);
+	}
+
+	private void setEmptyValue(Object target, Property property) {
+		if (property.type.isPrimitive() && property.emptyValue == null) {
+			throw new RequestBindingException("Cannot reset request parameter '" + property.name + "' to null for property of type "
+					+ property.type.getName());
+		}
+		this.setter.setProperty(target, property.index, property.emptyValue);
+	}
+
+
+	/**
+	 * What is known about a writable property ahead of binding it.
+	 */
+	private static final class Property {
+
+		private final String name;
+
+		private final String defaultName;
+
+		private final int index;
+
+		private final Class<?> type;
+
+		private final Class<?> elementType;
+
+		private final StringValueConverter converter;
+
+		private final boolean multiValued;
+
+		private final Object emptyValue;
+
+		private Property(String name, int index, Class<?> type, Class<?> elementType, StringValueConverter converter, boolean multiValued) {
+			this.name = name;
+			this.defaultName = WebDataBinder.DEFAULT_FIELD_DEFAULT_PREFIX + name;
+			this.index = index;
+			this.type = type;
+			this.elementType = elementType;
+			this.converter = converter;
+			this.multiValued = multiValued;
+			if (type == boolean.class || type == Boolean.class) {
+				this.emptyValue = Boolean.FALSE;
+			} else if (type.isArray()) {
+				this.emptyValue = Array.newInstance(elementType, 0);
+			} else {
+				this.emptyValue = null;
+			}
+		}
+
+		/**
+		 * Return the property for the given write method, or {@code null} if
+		 * values cannot be converted to its type.
+		 */
+		public static Property forWriteMethod(String name, Method writeMethod, Class<?> targetClass, int index) {
+			Class<?> type = writeMethod.getParameterTypes()[0];
+			boolean multiValued = (type.isArray() || type == List.class || type == Collection.class);
+			Class<?> elementType = type;
+			if (type.isArray()) {
+				elementType = type.getComponentType();
+			} else if (multiValued) {
+				elementType = ResolvableType.forMethodParameter(new MethodParameter(writeMethod, 0), targetClass).getGeneric(0).resolve(String.class);
+			}
+			StringValueConverter converter = StringValueConverters.getConverter(elementType);
+			return (converter != null ? new Property(name, index, type, elementType, converter, multiValued) : null);
+		}
+
+		public Object convert(String value) {
+			try {
+				return this.converter.convert(value);
+			} catch (RuntimeException ex) {
+				throw new RequestBindingException("Failed to convert request parameter '" + this.name + "' with value '" + value + "' to "
+						+ this.elementType.getSimpleName(), ex);
+			}
+		}
+
+		/**
+		 * Convert the given values into an array or list, as the property type
+		 * requires.
+		 */
+		public Object collect(List<String> values) {
+			if (!this.type.isArray()) {
+				List<Object> result = new ArrayList<Object>(values.size());
+				for (String value : values) {
+					result.add(convert(value));
+				}
+				return result;
+			}
+			Object result = Array.newInstance(this.elementType, values.size());
+			for (int i = 0; i < values.size(); i++) {
+				Array.set(result, i, convert(values.get(i)));
+			}
+			return result;
+		}
+	}
+
+
+	/**
+	 * Sets properties through their write methods reflectively, for classes
+	 * that no {@link BeanPropertySetter} can be generated for.
+	 */
+	private static final class ReflectiveBeanPropertySetter implements BeanPropertySetter {
+
+		private final Method[] writeMethods;
+
+		public ReflectiveBeanPropertySetter(Method[] writeMethods) {
+			this.writeMethods = writeMethods;
+			for (Method writeMethod : writeMethods) {
+				ReflectionUtils.makeAccessible(writeMethod);
+			}
+		}
+
+		@Override
+		public void setProperty(Object bean, int index, Object value) {
+			ReflectionUtils.invokeMethod(this.writeMethods[index], bean, value);
+		}
+	}
+
+}
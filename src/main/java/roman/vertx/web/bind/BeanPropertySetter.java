@@ -0,0 +1,26 @@
+package roman.vertx.web.bind;
+
+/**
+ * Strategy interface for setting a bean property selected by index, as
+ * generated by {@link BeanPropertySetterGenerator} for the properties bound
+ * by a {@link BeanBinder}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public interface BeanPropertySetter {
+
+	/**
+	 * Set a property of the given bean.
+	 *
+	 * @param bean
+	 *            the bean to set the property on
+	 * @param index
+	 *            the index of the property's write method, as passed to the
+	 *            generator
+	 * @param value
+	 *            the value, boxed if the property is primitive
+	 */
+	void setProperty(Object bean, int index, Object value);
+
+}
@@ -0,0 +1,203 @@
+package roman.vertx.web.bind;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+/**
+ * Generates a {@link BeanPropertySetter} class per bean type, using Spring's
+ * repackaged ASM. The generated {@code setProperty} method switches on the
+ * property index and calls the write method with a plain
+ * {@code invokevirtual} or {@code invokeinterface} instruction, so binding
+ * does not go through {@link java.lang.reflect.Method#invoke} or a
+ * {@link org.springframework.beans.BeanWrapper}.
+ *
+ * <p>
+ * Generation is only possible for public write methods of public classes
+ * with a public parameter type, since the generated class lives in its own
+ * class loader. {@link #generate} returns {@code null} in all other cases,
+ * and callers are expected to fall back to reflection.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see BeanBinder
+ */
+public abstract class BeanPropertySetterGenerator {
+
+	private static final Log logger = LogFactory.getLog(BeanPropertySetterGenerator.class);
+
+	private static final String CLASS_NAME_INFIX = "$$BeanPropertySetter$$";
+
+	private static final String SETTER_INTERNAL_NAME = Type.getInternalName(BeanPropertySetter.class);
+
+	private static final String SET_PROPERTY_DESCRIPTOR = "(Ljava/lang/Object;ILjava/lang/Object;)V";
+
+	private static final AtomicInteger counter = new AtomicInteger();
+
+	private static final Map<ClassLoader, SetterClassLoader> classLoaderCache =
+			new ConcurrentReferenceHashMap<ClassLoader, SetterClassLoader>(16, ReferenceType.WEAK);
+
+	/**
+	 * Generate a {@link BeanPropertySetter} for the given write methods of the
+	 * given bean type.
+	 *
+	 * @param beanClass
+	 *            the bean type
+	 * @param writeMethods
+	 *            the write methods, selected by their index in the array
+	 * @return the generated setter, or {@code null} if a write method cannot
+	 *         be called from generated code
+	 */
+	public static BeanPropertySetter generate(Class<?> beanClass, Method[] writeMethods) {
+		ClassLoader parent = beanClass.getClassLoader();
+		if (parent == null || !ClassUtils.isVisible(BeanPropertySetter.class, parent)) {
+			return null;
+		}
+		for (Method writeMethod : writeMethods) {
+			if (!isAccessible(writeMethod)) {
+				return null;
+			}
+		}
+		String className = beanClass.getName() + CLASS_NAME_INFIX + counter.incrementAndGet();
+		try {
+			byte[] bytes = generateClass(className.replace('.', '/'), writeMethods);
+			Class<?> setterClass = getClassLoader(parent).defineClass(className, bytes);
+			return (BeanPropertySetter) setterClass.newInstance();
+		} catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate property setter for [" + beanClass.getName() + "], falling back to reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	private static boolean isAccessible(Method method) {
+		if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers()) || !isPublic(method.getDeclaringClass())) {
+			return false;
+		}
+		return isPublic(method.getParameterTypes()[0]);
+	}
+
+	private static boolean isPublic(Class<?> type) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		return type.isPrimitive() || Modifier.isPublic(type.getModifiers());
+	}
+
+	private static SetterClassLoader getClassLoader(ClassLoader parent) {
+		SetterClassLoader classLoader = classLoaderCache.get(parent);
+		if (classLoader == null) {
+			synchronized (classLoaderCache) {
+				classLoader = classLoaderCache.get(parent);
+				if (classLoader == null) {
+					classLoader = new SetterClassLoader(parent);
+					classLoaderCache.put(parent, classLoader);
+				}
+			}
+		}
+		return classLoader;
+	}
+
+	private static byte[] generateClass(String internalName, Method[] writeMethods) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, internalName, null,
+				"java/lang/Object", new String[] { SETTER_INTERNAL_NAME });
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "setProperty", SET_PROPERTY_DESCRIPTOR, null, null);
+		mv.visitCode();
+		Label defaultLabel = new Label();
+		Label[] labels = new Label[writeMethods.length];
+		for (int i = 0; i < labels.length; i++) {
+			labels[i] = new Label();
+		}
+		if (labels.length > 0) {
+			mv.visitVarInsn(Opcodes.ILOAD, 2);
+			mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+		}
+		for (int i = 0; i < writeMethods.length; i++) {
+			Method writeMethod = writeMethods[i];
+			Class<?> declaringClass = writeMethod.getDeclaringClass();
+			String owner = Type.getInternalName(declaringClass);
+			mv.visitLabel(labels[i]);
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+			mv.visitVarInsn(Opcodes.ALOAD, 3);
+			unbox(mv, writeMethod.getParameterTypes()[0]);
+			if (declaringClass.isInterface()) {
+				mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, owner, writeMethod.getName(), Type.getMethodDescriptor(writeMethod), true);
+			} else {
+				mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, writeMethod.getName(), Type.getMethodDescriptor(writeMethod), false);
+			}
+			Class<?> returnType = writeMethod.getReturnType();
+			if (returnType == long.class || returnType == double.class) {
+				mv.visitInsn(Opcodes.POP2);
+			} else if (returnType != void.class) {
+				mv.visitInsn(Opcodes.POP);
+			}
+			mv.visitInsn(Opcodes.RETURN);
+		}
+		mv.visitLabel(defaultLabel);
+		mv.visitTypeInsn(Opcodes.NEW, "java/lang/IndexOutOfBoundsException");
+		mv.visitInsn(Opcodes.DUP);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/IndexOutOfBoundsException", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.ATHROW);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Convert the {@code Object} on top of the stack to the given parameter
+	 * type.
+	 */
+	private static void unbox(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+			String wrapperName = Type.getInternalName(wrapper);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperName);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, type.getName() + "Value", "()" + Type.getDescriptor(type), false);
+		} else if (type != Object.class) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+
+	/**
+	 * Class loader for generated setters, delegating to the class loader of
+	 * the bean classes they call.
+	 */
+	private static class SetterClassLoader extends ClassLoader {
+
+		public SetterClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		public Class<?> defineClass(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+package roman.vertx.web.bind;
+
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * What a {@link WebDataBinder} needs to know about a target class to check
+ * field defaults and field markers: its writable properties with their types,
+ * and the "!field" and "_field" parameter names for the
+ * {@link WebDataBinder#DEFAULT_FIELD_DEFAULT_PREFIX default} prefixes mapped to
+ * the property they refer to.
+ *
+ * <p>
+ * Metadata is worked out once per class and cached, typically when a handler
+ * method with a parameter to bind is registered, so that binding does not
+ * have to take substrings of parameter names or ask a
+ * {@link org.springframework.beans.BeanWrapper} about each property on every
+ * request. Only top-level properties are covered; nested and indexed property
+ * paths are left to the property accessor of the binder.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see WebDataBinder#WebDataBinder(Object, String, BindingMetadata)
+ */
+public final class BindingMetadata {
+
+	private static final Map<Class<?>, BindingMetadata> cache = new ConcurrentReferenceHashMap<Class<?>, BindingMetadata>(64);
+
+	private final Class<?> targetClass;
+
+	private final Map<String, Class<?>> writableProperties;
+
+	private final Map<String, String> fieldsByDefaultName;
+
+	private final Map<String, String> fieldsByMarkerName;
+
+	private BindingMetadata(Class<?> targetClass) {
+		PropertyDescriptor[] descriptors = BeanUtils.getPropertyDescriptors(targetClass);
+		this.targetClass = targetClass;
+		this.writableProperties = new HashMap<String, Class<?>>(descriptors.length * 2);
+		this.fieldsByDefaultName = new HashMap<String, String>(descriptors.length * 2);
+		this.fieldsByMarkerName = new HashMap<String, String>(descriptors.length * 2);
+		for (PropertyDescriptor descriptor : descriptors) {
+			if (descriptor.getWriteMethod() != null) {
+				String name = descriptor.getName();
+				this.writableProperties.put(name, descriptor.getPropertyType());
+				this.fieldsByDefaultName.put(WebDataBinder.DEFAULT_FIELD_DEFAULT_PREFIX + name, name);
+				this.fieldsByMarkerName.put(WebDataBinder.DEFAULT_FIELD_MARKER_PREFIX + name, name);
+			}
+		}
+	}
+
+	/**
+	 * Return the metadata for the given target class. Entries may be evicted
+	 * under memory pressure, so the returned metadata is meant to be held by
+	 * the caller, e.g. in the argument plan of a handler method.
+	 */
+	public static BindingMetadata forClass(Class<?> targetClass) {
+		Assert.notNull(targetClass, "Target class must not be null");
+		BindingMetadata metadata = cache.get(targetClass);
+		if (metadata == null) {
+			metadata = new BindingMetadata(targetClass);
+			cache.put(targetClass, metadata);
+		}
+		return metadata;
+	}
+
+	/**
+	 * Return the class the metadata describes.
+	 */
+	public Class<?> getTargetClass() {
+		return this.targetClass;
+	}
+
+	/**
+	 * Whether the given top-level property is writable.
+	 */
+	public boolean isWritableProperty(String name) {
+		return this.writableProperties.containsKey(name);
+	}
+
+	/**
+	 * Return the type of the given writable top-level property, or
+	 * {@code null} if there is no such property.
+	 */
+	public Class<?> getPropertyType(String name) {
+		return this.writableProperties.get(name);
+	}
+
+	/**
+	 * Return the writable property that the given field default parameter
+	 * name, e.g. "!subscribeToNewsletter", refers to, or {@code null} if it
+	 * does not refer to one.
+	 */
+	public String getFieldForDefault(String parameterName) {
+		return this.fieldsByDefaultName.get(parameterName);
+	}
+
+	/**
+	 * Return the writable property that the given field marker parameter name,
+	 * e.g. "_subscribeToNewsletter", refers to, or {@code null} if it does not
+	 * refer to one.
+	 */
+	public String getFieldForMarker(String parameterName) {
+		return this.fieldsByMarkerName.get(parameterName);
+	}
+
+}
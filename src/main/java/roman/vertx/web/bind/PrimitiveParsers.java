@@ -0,0 +1,130 @@
+package roman.vertx.web.bind;
+
+/**
+ * Parses request values into primitives straight from the
+ * {@link CharSequence} read from the request, without boxing the result and
+ * without copying the characters into intermediate {@code String}s, e.g. to
+ * trim or take a substring of them.
+ *
+ * <p>
+ * Numbers are accepted in the same format as {@link Integer#parseInt} and
+ * {@link Long#parseLong}; booleans in the same formats as
+ * {@link StringValueConverters} accepts them.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.method.support.PrimitiveArgumentResolver
+ */
+public abstract class PrimitiveParsers {
+
+	/**
+	 * Parse the given value as a decimal {@code int}.
+	 * 
+	 * @throws NumberFormatException
+	 *             if the value is not a valid {@code int}
+	 */
+	public static int parseInt(CharSequence value) {
+		return (int) parseLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Parse the given value as a decimal {@code long}.
+	 * 
+	 * @throws NumberFormatException
+	 *             if the value is not a valid {@code long}
+	 */
+	public static long parseLong(CharSequence value) {
+		return parseLong(value, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Parse the given value as a {@code double}. The characters are passed on
+	 * to {@link Double#parseDouble}, which is a copy only if the value is not a
+	 * {@code String} already.
+	 * 
+	 * @throws NumberFormatException
+	 *             if the value is not a valid {@code double}
+	 */
+	public static double parseDouble(CharSequence value) {
+		return Double.parseDouble(value.toString());
+	}
+
+	/**
+	 * Parse the given value as a {@code boolean}, accepting "true", "on", "yes"
+	 * and "1" as well as "false", "off", "no" and "0", ignoring case and
+	 * surrounding whitespace.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the value is not one of these
+	 */
+	public static boolean parseBoolean(CharSequence value) {
+		int start = 0;
+		int end = value.length();
+		while (start < end && Character.isWhitespace(value.charAt(start))) {
+			start++;
+		}
+		while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+			end--;
+		}
+		if (matches(value, start, end, "true") || matches(value, start, end, "on") || matches(value, start, end, "yes") || matches(value, start, end, "1")) {
+			return true;
+		}
+		if (matches(value, start, end, "false") || matches(value, start, end, "off") || matches(value, start, end, "no") || matches(value, start, end, "0")) {
+			return false;
+		}
+		throw new IllegalArgumentException("Invalid boolean value [" + value + "]");
+	}
+
+	/**
+	 * Parse the way {@link Long#parseLong} does, accumulating negatively so
+	 * that the minimum value does not overflow.
+	 */
+	private static long parseLong(CharSequence value, long min, long max) {
+		int length = value.length();
+		if (length == 0) {
+			throw numberFormatException(value);
+		}
+		int i = 0;
+		boolean negative = false;
+		char first = value.charAt(0);
+		if (first == '-' || first == '+') {
+			negative = (first == '-');
+			if (length == 1) {
+				throw numberFormatException(value);
+			}
+			i++;
+		}
+		long limit = (negative ? min : -max);
+		long multiplyLimit = limit / 10;
+		long result = 0;
+		for (; i < length; i++) {
+			int digit = Character.digit(value.charAt(i), 10);
+			if (digit < 0 || result < multiplyLimit) {
+				throw numberFormatException(value);
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw numberFormatException(value);
+			}
+			result -= digit;
+		}
+		return (negative ? result : -result);
+	}
+
+	private static boolean matches(CharSequence value, int start, int end, String candidate) {
+		if (end - start != candidate.length()) {
+			return false;
+		}
+		for (int i = 0; i < candidate.length(); i++) {
+			if (Character.toLowerCase(value.charAt(start + i)) != candidate.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static NumberFormatException numberFormatException(CharSequence value) {
+		return new NumberFormatException("For input string: \"" + value + "\"");
+	}
+
+}
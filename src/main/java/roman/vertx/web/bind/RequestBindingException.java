@@ -0,0 +1,37 @@
+package roman.vertx.web.bind;
+
+/**
+ * Thrown by argument resolvers when a request value bound to a method
+ * parameter, such as a path variable, request parameter, header or cookie, is
+ * missing or cannot be converted to the parameter type. Results in a 400
+ * response.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@SuppressWarnings("serial")
+public class RequestBindingException extends RuntimeException {
+
+	/**
+	 * Create a new RequestBindingException.
+	 * 
+	 * @param msg
+	 *            the detail message
+	 */
+	public RequestBindingException(String msg) {
+		super(msg);
+	}
+
+	/**
+	 * Create a new RequestBindingException.
+	 * 
+	 * @param msg
+	 *            the detail message
+	 * @param cause
+	 *            the root cause (if any)
+	 */
+	public RequestBindingException(String msg, Throwable cause) {
+		super(msg, cause);
+	}
+
+}
@@ -0,0 +1,28 @@
+package roman.vertx.web.bind;
+
+/**
+ * Converts a single request value, such as a path variable or request
+ * parameter, to the type of the method parameter it is bound to. Converters
+ * are chosen once per parameter through {@link StringValueConverters}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@FunctionalInterface
+public interface StringValueConverter {
+
+	/**
+	 * Convert the given value.
+	 * 
+	 * @param value
+	 *            the value, never {@code null} or empty
+	 * @return the converted value
+	 * @throws IllegalArgumentException
+	 *             if the value cannot be converted, including
+	 *             {@link NumberFormatException}
+	 * @throws java.time.format.DateTimeParseException
+	 *             if a date or time cannot be parsed
+	 */
+	Object convert(String value);
+
+}
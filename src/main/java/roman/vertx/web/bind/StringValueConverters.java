@@ -0,0 +1,156 @@
+package roman.vertx.web.bind;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Provides a specialised {@link StringValueConverter} per target type, so that
+ * request values are converted with a direct call to the parse method of the
+ * type instead of through a {@link org.springframework.beans.TypeConverter},
+ * which looks up and synchronizes on property editors for every conversion.
+ *
+ * <p>
+ * Supported are {@code String}, primitives and their wrappers,
+ * {@code BigInteger}, {@code BigDecimal}, enums, {@code UUID}, the
+ * {@code java.time} types with a {@code parse} or {@code of} method taking a
+ * {@code String}, and any other type with a public static
+ * {@code valueOf(String)} method or a public {@code String} constructor.
+ * Booleans accept "true", "on", "yes" and "1" as well as "false", "off", "no"
+ * and "0", like Spring's {@code CustomBooleanEditor}. {@code int}, {@code long}
+ * and {@code boolean} values are parsed by {@link PrimitiveParsers}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public abstract class StringValueConverters {
+
+	private static final Map<Class<?>, StringValueConverter> converters = new HashMap<Class<?>, StringValueConverter>(64);
+
+	static {
+		converters.put(String.class, value -> value);
+		converters.put(Object.class, value -> value);
+		converters.put(CharSequence.class, value -> value);
+		converters.put(int.class, PrimitiveParsers::parseInt);
+		converters.put(Integer.class, PrimitiveParsers::parseInt);
+		converters.put(long.class, PrimitiveParsers::parseLong);
+		converters.put(Long.class, PrimitiveParsers::parseLong);
+		converters.put(short.class, Short::valueOf);
+		converters.put(Short.class, Short::valueOf);
+		converters.put(byte.class, Byte::valueOf);
+		converters.put(Byte.class, Byte::valueOf);
+		converters.put(double.class, Double::valueOf);
+		converters.put(Double.class, Double::valueOf);
+		converters.put(float.class, Float::valueOf);
+		converters.put(Float.class, Float::valueOf);
+		converters.put(boolean.class, PrimitiveParsers::parseBoolean);
+		converters.put(Boolean.class, PrimitiveParsers::parseBoolean);
+		converters.put(char.class, StringValueConverters::toCharacter);
+		converters.put(Character.class, StringValueConverters::toCharacter);
+		converters.put(BigInteger.class, BigInteger::new);
+		converters.put(BigDecimal.class, BigDecimal::new);
+		converters.put(UUID.class, UUID::fromString);
+		converters.put(Locale.class, value -> Locale.forLanguageTag(value.replace('_', '-')));
+		converters.put(LocalDate.class, LocalDate::parse);
+		converters.put(LocalDateTime.class, LocalDateTime::parse);
+		converters.put(LocalTime.class, LocalTime::parse);
+		converters.put(Instant.class, Instant::parse);
+		converters.put(OffsetDateTime.class, OffsetDateTime::parse);
+		converters.put(ZonedDateTime.class, ZonedDateTime::parse);
+		converters.put(YearMonth.class, YearMonth::parse);
+		converters.put(Duration.class, Duration::parse);
+		converters.put(Period.class, Period::parse);
+		converters.put(ZoneId.class, ZoneId::of);
+	}
+
+	/**
+	 * Return the converter for the given target type.
+	 * 
+	 * @return the converter, or {@code null} if values cannot be converted to
+	 *         the type
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static StringValueConverter getConverter(Class<?> targetType) {
+		StringValueConverter converter = converters.get(targetType);
+		if (converter != null) {
+			return converter;
+		}
+		if (targetType.isEnum()) {
+			Class<? extends Enum> enumType = (Class<? extends Enum>) targetType;
+			return value -> Enum.valueOf(enumType, value.trim());
+		}
+		return getReflectiveConverter(targetType);
+	}
+
+	/**
+	 * Whether values can be converted to the given target type.
+	 */
+	public static boolean canConvert(Class<?> targetType) {
+		return getConverter(targetType) != null;
+	}
+
+	private static StringValueConverter getReflectiveConverter(Class<?> targetType) {
+		if (targetType.isPrimitive() || targetType.isArray() || targetType.isInterface() || Modifier.isAbstract(targetType.getModifiers())) {
+			return null;
+		}
+		Method factoryMethod = ClassUtils.getStaticMethod(targetType, "valueOf", String.class);
+		if (factoryMethod != null && targetType.isAssignableFrom(factoryMethod.getReturnType())) {
+			ReflectionUtils.makeAccessible(factoryMethod);
+			return value -> invoke(() -> factoryMethod.invoke(null, value));
+		}
+		Constructor<?> constructor = ClassUtils.getConstructorIfAvailable(targetType, String.class);
+		if (constructor != null) {
+			ReflectionUtils.makeAccessible(constructor);
+			return value -> invoke(() -> constructor.newInstance(value));
+		}
+		return null;
+	}
+
+	private static Object invoke(ReflectiveCall call) {
+		try {
+			return call.invoke();
+		} catch (InvocationTargetException ex) {
+			Throwable targetException = ex.getTargetException();
+			if (targetException instanceof RuntimeException) {
+				throw (RuntimeException) targetException;
+			}
+			throw new IllegalArgumentException(targetException.getMessage(), targetException);
+		} catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static Character toCharacter(String value) {
+		if (value.length() != 1) {
+			throw new IllegalArgumentException("String [" + value + "] with length " + value.length() + " cannot be converted to char type");
+		}
+		return value.charAt(0);
+	}
+
+
+	private interface ReflectiveCall {
+
+		Object invoke() throws ReflectiveOperationException;
+	}
+
+}
@@ -3,7 +3,9 @@ package roman.vertx.web.bind;
 import java.lang.reflect.Array;
 
 import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyAccessorUtils;
 import org.springframework.beans.PropertyValue;
+import org.springframework.util.Assert;
 import org.springframework.validation.DataBinder;
 
 /**
@@ -20,6 +22,11 @@ import org.springframework.validation.DataBinder;
  * accordingly. Default values, for parameters that are otherwise not present,
  * can specify a value for the field other then empty.
  *
+ * <p>
+ * Given the {@link BindingMetadata} of the target class, field defaults and
+ * markers for top-level properties are checked against the cached metadata
+ * instead of the property accessor.
+ *
  * @author Juergen Hoeller
  * @author Scott Andrews
  * @since 1.2
@@ -66,6 +73,8 @@ public class WebDataBinder extends DataBinder {
 
 	private boolean bindEmptyMultipartFiles = true;
 
+	private BindingMetadata bindingMetadata;
+
 	/**
 	 * Create a new WebDataBinder instance, with default object name.
 	 * 
@@ -91,6 +100,37 @@ public class WebDataBinder extends DataBinder {
 		super(target, objectName);
 	}
 
+	/**
+	 * Create a new WebDataBinder instance that checks field defaults and
+	 * markers against the given metadata.
+	 * 
+	 * @param target
+	 *            the target object to bind onto
+	 * @param objectName
+	 *            the name of the target object
+	 * @param bindingMetadata
+	 *            the metadata of the class of the target object, or
+	 *            {@code null} to use the property accessor only
+	 */
+	public WebDataBinder(Object target, String objectName, BindingMetadata bindingMetadata) {
+		super(target, objectName);
+		Assert.isTrue(bindingMetadata == null || (target != null && target.getClass() == bindingMetadata.getTargetClass()),
+				"BindingMetadata must describe the class of the target object");
+		this.bindingMetadata = bindingMetadata;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Fields are no longer checked against the {@link BindingMetadata}, which
+	 * describes bean properties.
+	 */
+	@Override
+	public void initDirectFieldAccess() {
+		super.initDirectFieldAccess();
+		this.bindingMetadata = null;
+	}
+
 	/**
 	 * Specify a prefix that can be used for parameters that mark potentially
 	 * empty fields, having "prefix + field" as name. Such a marker parameter is
@@ -211,8 +251,8 @@ public class WebDataBinder extends DataBinder {
 			PropertyValue[] pvArray = mpvs.getPropertyValues();
 			for (PropertyValue pv : pvArray) {
 				if (pv.getName().startsWith(fieldDefaultPrefix)) {
-					String field = pv.getName().substring(fieldDefaultPrefix.length());
-					if (getPropertyAccessor().isWritableProperty(field) && !mpvs.contains(field)) {
+					String field = getWritableField(pv.getName(), fieldDefaultPrefix, false);
+					if (field != null && !mpvs.contains(field)) {
 						mpvs.add(field, pv.getValue());
 					}
 					mpvs.removePropertyValue(pv);
@@ -241,10 +281,9 @@ public class WebDataBinder extends DataBinder {
 			PropertyValue[] pvArray = mpvs.getPropertyValues();
 			for (PropertyValue pv : pvArray) {
 				if (pv.getName().startsWith(fieldMarkerPrefix)) {
-					String field = pv.getName().substring(fieldMarkerPrefix.length());
-					if (getPropertyAccessor().isWritableProperty(field) && !mpvs.contains(field)) {
-						Class<?> fieldType = getPropertyAccessor().getPropertyType(field);
-						mpvs.add(field, getEmptyValue(field, fieldType));
+					String field = getWritableField(pv.getName(), fieldMarkerPrefix, true);
+					if (field != null && !mpvs.contains(field)) {
+						mpvs.add(field, getEmptyValue(field, getFieldType(field)));
 					}
 					mpvs.removePropertyValue(pv);
 				}
@@ -252,6 +291,33 @@ public class WebDataBinder extends DataBinder {
 		}
 	}
 
+	/**
+	 * Return the writable field that the given prefixed parameter name refers
+	 * to, or {@code null} if it does not refer to one.
+	 */
+	private String getWritableField(String parameterName, String prefix, boolean marker) {
+		BindingMetadata metadata = this.bindingMetadata;
+		if (metadata != null && prefix.equals(marker ? DEFAULT_FIELD_MARKER_PREFIX : DEFAULT_FIELD_DEFAULT_PREFIX)) {
+			String field = (marker ? metadata.getFieldForMarker(parameterName) : metadata.getFieldForDefault(parameterName));
+			if (field != null) {
+				return field;
+			}
+		}
+		String field = parameterName.substring(prefix.length());
+		if (metadata != null && !PropertyAccessorUtils.isNestedOrIndexedProperty(field)) {
+			return (metadata.isWritableProperty(field) ? field : null);
+		}
+		return (getPropertyAccessor().isWritableProperty(field) ? field : null);
+	}
+
+	private Class<?> getFieldType(String field) {
+		BindingMetadata metadata = this.bindingMetadata;
+		if (metadata != null && metadata.isWritableProperty(field)) {
+			return metadata.getPropertyType(field);
+		}
+		return getPropertyAccessor().getPropertyType(field);
+	}
+
 	/**
 	 * Determine an empty value for the specified field.
 	 * <p>
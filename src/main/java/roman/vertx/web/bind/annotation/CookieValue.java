@@ -0,0 +1,48 @@
+package roman.vertx.web.bind.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation which indicates that a method parameter should be bound to the
+ * value of an HTTP cookie. The value is converted to the declared parameter
+ * type.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.method.annotation.CookieValueMethodArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CookieValue {
+
+	/**
+	 * The name of the cookie to bind to. Defaults to the name of the method
+	 * parameter, which requires the class to be compiled with debug
+	 * information.
+	 */
+	String value() default "";
+
+	/**
+	 * Whether the cookie is required.
+	 * <p>
+	 * Default is {@code true}, leading to a 400 response if the cookie is
+	 * missing. Switch this to {@code false} if you prefer {@code null} to be
+	 * passed instead.
+	 * <p>
+	 * Alternatively, provide a {@link #defaultValue}, which implicitly sets
+	 * this flag to {@code false}.
+	 */
+	boolean required() default true;
+
+	/**
+	 * The default value to use if the cookie is missing or empty. Supplying a
+	 * default value implicitly sets {@link #required} to {@code false}.
+	 */
+	String defaultValue() default ValueConstants.DEFAULT_NONE;
+
+}
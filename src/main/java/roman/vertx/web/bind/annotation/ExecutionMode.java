@@ -0,0 +1,44 @@
+package roman.vertx.web.bind.annotation;
+
+/**
+ * Where a handler method mapped with {@link RequestMapping} is executed.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see RequestMapping#execution()
+ */
+public enum ExecutionMode {
+
+	/**
+	 * Use the mode declared on the type-level {@link RequestMapping}, or
+	 * {@link #EVENT_LOOP} if there is none.
+	 */
+	DEFAULT,
+
+	/**
+	 * Run the handler on the Vert.x event loop that received the request. Only
+	 * suitable for handlers that never block.
+	 */
+	EVENT_LOOP,
+
+	/**
+	 * Run the handler on the Vert.x worker pool, without ordering between
+	 * requests of the same context, like an unordered
+	 * {@code Route.blockingHandler}.
+	 */
+	WORKER,
+
+	/**
+	 * Run the handler on the Vert.x worker pool, one request at a time per
+	 * context, like an ordered {@code Route.blockingHandler}.
+	 */
+	ORDERED_WORKER,
+
+	/**
+	 * Run the handler on a dedicated executor configured on the handler
+	 * mapping, for example a virtual-thread-per-task executor where the JDK
+	 * provides one.
+	 */
+	EXECUTOR
+
+}
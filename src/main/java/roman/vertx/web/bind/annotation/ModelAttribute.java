@@ -0,0 +1,30 @@
+package roman.vertx.web.bind.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation which indicates that a method parameter should be a new instance
+ * of its type with the request parameters bound onto its bean properties.
+ * Field markers ("_field") and field defaults ("!field") are honoured as by
+ * {@link roman.vertx.web.bind.WebDataBinder}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.method.annotation.ModelAttributeMethodArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ModelAttribute {
+
+	/**
+	 * The name of the model attribute, used as the object name in binding
+	 * errors. Defaults to the name of the method parameter.
+	 */
+	String value() default "";
+
+}
@@ -0,0 +1,31 @@
+package roman.vertx.web.bind.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation which indicates that a method parameter should be bound to a URI
+ * template variable, declared as {@code {name}} or {@code :name} in the
+ * pattern of the {@link RequestMapping}. The value is converted to the
+ * declared parameter type.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.method.annotation.PathVariableMethodArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PathVariable {
+
+	/**
+	 * The name of the path variable to bind to. Defaults to the name of the
+	 * method parameter, which requires the class to be compiled with debug
+	 * information.
+	 */
+	String value() default "";
+
+}
@@ -0,0 +1,32 @@
+package roman.vertx.web.bind.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation indicating a method parameter should be bound to the body of the
+ * web request. The body is read into a pooled buffer before the handler method
+ * is invoked and parsed as JSON straight into the declared parameter type.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.method.annotation.RequestBodyMethodArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestBody {
+
+	/**
+	 * Whether body content is required.
+	 * <p>
+	 * Default is {@code true}, leading to a 400 response in case there is no
+	 * body content. Switch this to {@code false} if you prefer {@code null} to
+	 * be passed when the body content is empty.
+	 */
+	boolean required() default true;
+
+}
@@ -30,4 +30,10 @@ public @interface RequestMapping {
 
 	String[] produces() default {};
 
+	/**
+	 * Where the handler method is executed. A method-level mode other than
+	 * {@link ExecutionMode#DEFAULT} overrides the type-level one.
+	 */
+	ExecutionMode execution() default ExecutionMode.DEFAULT;
+
 }
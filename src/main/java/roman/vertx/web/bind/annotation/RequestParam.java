@@ -0,0 +1,49 @@
+package roman.vertx.web.bind.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation which indicates that a method parameter should be bound to a query
+ * parameter of the request. The value is converted to the declared parameter
+ * type; arrays and {@link java.util.List}s receive all values of the
+ * parameter.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.method.annotation.RequestParamMethodArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestParam {
+
+	/**
+	 * The name of the request parameter to bind to. Defaults to the name of
+	 * the method parameter, which requires the class to be compiled with debug
+	 * information.
+	 */
+	String value() default "";
+
+	/**
+	 * Whether the parameter is required.
+	 * <p>
+	 * Default is {@code true}, leading to a 400 response if the parameter is
+	 * missing. Switch this to {@code false} if you prefer {@code null} to be
+	 * passed instead.
+	 * <p>
+	 * Alternatively, provide a {@link #defaultValue}, which implicitly sets
+	 * this flag to {@code false}.
+	 */
+	boolean required() default true;
+
+	/**
+	 * The default value to use if the parameter is missing or empty. Supplying
+	 * a default value implicitly sets {@link #required} to {@code false}.
+	 */
+	String defaultValue() default ValueConstants.DEFAULT_NONE;
+
+}
@@ -0,0 +1,20 @@
+package roman.vertx.web.bind.annotation;
+
+/**
+ * Common value constants shared between bind annotations.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public interface ValueConstants {
+
+	/**
+	 * Constant defining a value for no default - as a replacement for
+	 * {@code null} which we cannot use in annotation attributes.
+	 * <p>
+	 * This is an artificial arrangement of 16 unicode characters, with its
+	 * sole purpose being to never match user-declared values.
+	 */
+	String DEFAULT_NONE = "\n\t\t\n\t\t\n\n\t\t\t\t\n";
+
+}
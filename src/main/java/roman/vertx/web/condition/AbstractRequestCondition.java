@@ -44,6 +44,14 @@ public abstract class AbstractRequestCondition<T extends AbstractRequestConditio
 		return builder.toString();
 	}
 
+	/**
+	 * Whether this condition is empty, i.e. whether or not it contains any
+	 * discrete items.
+	 */
+	public boolean isEmpty() {
+		return getContent().isEmpty();
+	}
+
 	/**
 	 * Return the discrete items a request condition is composed of. For example
 	 * URL patterns, HTTP request methods, param expressions, etc.
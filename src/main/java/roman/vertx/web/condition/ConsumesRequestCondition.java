@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Set;
 
 import roman.vertx.web.bind.annotation.RequestMapping;
+import roman.vertx.web.http.InvalidMediaTypeException;
 import roman.vertx.web.http.MediaType;
 
 /**
@@ -78,6 +79,64 @@ public final class ConsumesRequestCondition extends AbstractRequestCondition<Con
 		return !other.mediaTypes.isEmpty() ? other : this;
 	}
 
+	/**
+	 * Whether the given 'Content-Type' header value is included in one of
+	 * this condition's media types, or this condition has none.
+	 * 
+	 * @param contentType
+	 *            the 'Content-Type' header value, or {@code null} if absent
+	 */
+	public boolean matches(String contentType) {
+		if (this.mediaTypes.isEmpty()) {
+			return true;
+		}
+		if (contentType == null) {
+			return false;
+		}
+		MediaType mediaType;
+		try {
+			mediaType = MediaType.parseMediaType(contentType);
+		} catch (InvalidMediaTypeException ex) {
+			return false;
+		}
+		for (MediaType consumable : this.mediaTypes) {
+			if (consumable.includes(mediaType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Compares the most specific media types of the two conditions, see
+	 * {@link MediaType#SPECIFICITY_COMPARATOR}. An empty condition is least
+	 * specific.
+	 */
+	@Override
+	public int compareTo(ConsumesRequestCondition other) {
+		if (this.mediaTypes.isEmpty() || other.mediaTypes.isEmpty()) {
+			return (this.mediaTypes.isEmpty() ? 1 : 0) - (other.mediaTypes.isEmpty() ? 1 : 0);
+		}
+		MediaType mediaType = Collections.min(this.mediaTypes, MediaType.SPECIFICITY_COMPARATOR);
+		MediaType otherMediaType = Collections.min(other.mediaTypes, MediaType.SPECIFICITY_COMPARATOR);
+		return MediaType.SPECIFICITY_COMPARATOR.compare(mediaType, otherMediaType);
+	}
+
+	@Override
+	public boolean overlaps(ConsumesRequestCondition other) {
+		if (this.mediaTypes.isEmpty() || other.mediaTypes.isEmpty()) {
+			return true;
+		}
+		for (MediaType mediaType : this.mediaTypes) {
+			for (MediaType otherMediaType : other.mediaTypes) {
+				if (mediaType.isCompatibleWith(otherMediaType)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public Route Router(Route route) {
 		for (MediaType contentType : mediaTypes) {
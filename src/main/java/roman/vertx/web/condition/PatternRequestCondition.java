@@ -1,17 +1,31 @@
 package roman.vertx.web.condition;
 
+import io.vertx.core.MultiMap;
 import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
 
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 
+import roman.vertx.web.util.AntPathPattern;
+import roman.vertx.web.util.UriUtils;
+
 /**
  * A logical disjunction (' || ') request condition that matches a request
  * against a set of URL path patterns.
  *
+ * <p>
+ * Plain paths, including Vert.x style {@code :name} variables, are matched by
+ * the route itself. Ant-style patterns are compiled once into an
+ * {@link AntPathPattern}: the route only matches the literal prefix of the
+ * pattern, and {@link #matches(RoutingContext)} must be checked before
+ * dispatching to the handler.
+ *
  * @author RomanLuo
  * @email 530827804@qq.com
  * @date 2016年3月17日 下午2:02:39
@@ -22,6 +36,10 @@ public final class PatternRequestCondition extends AbstractRequestCondition<Patt
 
 	private final PathMatcher pathMatcher;
 
+	private final AntPathPattern antPathPattern;
+
+	private final PatternInfo patternInfo;
+
 	public PatternRequestCondition() {
 		this("", null);
 	}
@@ -41,12 +59,22 @@ public final class PatternRequestCondition extends AbstractRequestCondition<Patt
 	public PatternRequestCondition(String pattern, PathMatcher pathMatcher) {
 		this.pattern = pattern;
 		this.pathMatcher = pathMatcher != null ? pathMatcher : new AntPathMatcher();
+		this.antPathPattern = (pattern != null && (this.pathMatcher.isPattern(pattern) || pattern.indexOf('{') != -1) ? AntPathPattern.compile(pattern) : null);
+		this.patternInfo = new PatternInfo(pattern);
 	}
 
 	public String getPattern() {
 		return this.pattern;
 	}
 
+	/**
+	 * Whether the pattern is Ant-style and needs to be checked by
+	 * {@link #matches(RoutingContext)} on top of the route.
+	 */
+	public boolean isPattern() {
+		return this.antPathPattern != null;
+	}
+
 	@Override
 	protected Collection<String> getContent() {
 		return Collections.singletonList(pattern);
@@ -74,14 +102,188 @@ public final class PatternRequestCondition extends AbstractRequestCondition<Patt
 		return new PatternRequestCondition(pattern, this.pathMatcher);
 	}
 
+	/**
+	 * Compares the patterns the way {@link AntPathMatcher#getPatternComparator}
+	 * does, without a request path: a missing pattern or "/**" is least
+	 * specific; other patterns ending in "/**" come after patterns without
+	 * "**"; then patterns with fewer path variables and wildcards, longer
+	 * patterns, and patterns with fewer wildcards come first.
+	 */
+	@Override
+	public int compareTo(PatternRequestCondition other) {
+		PatternInfo info1 = this.patternInfo;
+		PatternInfo info2 = other.patternInfo;
+		if (info1.leastSpecific || info2.leastSpecific) {
+			return (info1.leastSpecific ? 1 : 0) - (info2.leastSpecific ? 1 : 0);
+		}
+		if (info1.prefixPattern && info2.doubleWildcards == 0) {
+			return 1;
+		} else if (info2.prefixPattern && info1.doubleWildcards == 0) {
+			return -1;
+		}
+		if (info1.getTotalCount() != info2.getTotalCount()) {
+			return info1.getTotalCount() - info2.getTotalCount();
+		}
+		if (info1.length != info2.length) {
+			return info2.length - info1.length;
+		}
+		if (info1.singleWildcards != info2.singleWildcards) {
+			return info1.singleWildcards - info2.singleWildcards;
+		}
+		return info1.uriVars - info2.uriVars;
+	}
+
+	/**
+	 * Return the pattern with the names of its path variables removed, e.g.
+	 * "/hotels/{}" for "/hotels/{hotel}". Two conditions
+	 * {@link #overlaps(PatternRequestCondition) overlap} if and only if their
+	 * shapes are equal.
+	 */
+	public String getShape() {
+		return this.patternInfo.shape;
+	}
+
+	/**
+	 * Whether the two patterns are the same apart from the names of their path
+	 * variables, e.g. "/hotels/{hotel}" and "/hotels/:id". Patterns that
+	 * overlap partially, such as "/hotels/*" and "/hotels/{hotel}", are not
+	 * detected.
+	 */
+	@Override
+	public boolean overlaps(PatternRequestCondition other) {
+		return this.patternInfo.shape.equals(other.patternInfo.shape);
+	}
+
 	@Override
 	public Route Router(Route route) {
-		if (pathMatcher.isPattern(pattern)) {
-			route.pathRegex(pattern);
+		if (this.antPathPattern != null) {
+			route.path(this.antPathPattern.getPrefix() + "*");
 		} else {
 			route.path(pattern);
 		}
 		return route;
 	}
 
+	/**
+	 * Check the path of the request against an Ant-style pattern, and add the
+	 * percent-decoded values of its path variables to the request parameters. Always
+	 * {@code true} for plain paths, which are matched by the route.
+	 */
+	public boolean matches(RoutingContext context) {
+		if (this.antPathPattern == null) {
+			return true;
+		}
+		String path = context.normalisedPath();
+		String mountPoint = context.mountPoint();
+		if (mountPoint != null) {
+			if (!path.startsWith(mountPoint)) {
+				return false;
+			}
+			path = path.substring(mountPoint.length());
+		}
+		Matcher matcher = this.antPathPattern.match(path);
+		if (matcher == null) {
+			return false;
+		}
+		List<String> variableNames = this.antPathPattern.getVariableNames();
+		if (!variableNames.isEmpty()) {
+			MultiMap params = context.request().params();
+			for (int i = 0; i < variableNames.size(); i++) {
+				String value = this.antPathPattern.getVariableValue(matcher, i);
+				if (value != null) {
+					params.add(variableNames.get(i), UriUtils.decodePathSegment(value));
+				}
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Value class that holds information about the pattern, e.g. number of
+	 * occurrences of "*", "**", and path variables.
+	 */
+	private static class PatternInfo {
+
+		private int uriVars;
+
+		private int singleWildcards;
+
+		private int doubleWildcards;
+
+		private int length;
+
+		private final boolean leastSpecific;
+
+		private final boolean prefixPattern;
+
+		/**
+		 * The pattern with path variable names removed.
+		 */
+		private final String shape;
+
+		public PatternInfo(String pattern) {
+			this.leastSpecific = (pattern == null || pattern.isEmpty() || "/**".equals(pattern));
+			this.prefixPattern = (pattern != null && pattern.endsWith("/**"));
+			this.shape = (pattern != null ? initCounters(pattern) : "");
+		}
+
+		private String initCounters(String pattern) {
+			StringBuilder shape = new StringBuilder(pattern.length());
+			int pos = 0;
+			while (pos < pattern.length()) {
+				char ch = pattern.charAt(pos);
+				if (ch == '{') {
+					int end = findClosingBrace(pattern, pos);
+					String variable = pattern.substring(pos + 1, end);
+					int colon = variable.indexOf(':');
+					shape.append('{').append(colon != -1 ? variable.substring(colon) : "").append('}');
+					this.uriVars++;
+					this.length++;
+					pos = end + 1;
+				} else if (ch == ':' && (pos == 0 || pattern.charAt(pos - 1) == '/')) {
+					int end = pattern.indexOf('/', pos);
+					shape.append("{}");
+					this.uriVars++;
+					this.length++;
+					pos = (end != -1 ? end : pattern.length());
+				} else {
+					if (ch == '*') {
+						if (pos + 1 < pattern.length() && pattern.charAt(pos + 1) == '*') {
+							this.doubleWildcards++;
+							shape.append(ch);
+							this.length++;
+							pos++;
+						} else {
+							this.singleWildcards++;
+						}
+					}
+					shape.append(ch);
+					this.length++;
+					pos++;
+				}
+			}
+			return shape.toString();
+		}
+
+		private static int findClosingBrace(String pattern, int start) {
+			int depth = 0;
+			for (int i = start; i < pattern.length(); i++) {
+				char ch = pattern.charAt(i);
+				if (ch == '\\') {
+					i++;
+				} else if (ch == '{') {
+					depth++;
+				} else if (ch == '}' && --depth == 0) {
+					return i;
+				}
+			}
+			return pattern.length() - 1;
+		}
+
+		public int getTotalCount() {
+			return this.uriVars + this.singleWildcards + (2 * this.doubleWildcards);
+		}
+	}
+
 }
@@ -9,7 +9,9 @@ import java.util.List;
 import java.util.Set;
 
 import roman.vertx.web.bind.annotation.RequestMapping;
+import roman.vertx.web.http.InvalidMediaTypeException;
 import roman.vertx.web.http.MediaType;
+import roman.vertx.web.util.ConcurrentLruCache;
 
 /**
  * A logical disjunction (' || ') request condition to match a request's
@@ -19,14 +21,29 @@ import roman.vertx.web.http.MediaType;
  * the header name is 'Accept'. Regardless of which syntax is used, the
  * semantics are the same.
  *
+ * <p>
+ * The condition also picks the media type to write a response with, see
+ * {@link #getProducibleMediaType(String)}. Decisions are cached per 'Accept'
+ * header value in a bounded LRU cache, since the same few header values
+ * arrive over and over.
+ *
  * @author RomanLuo
  * @email 530827804@qq.com
  * @date 2016年3月17日 下午2:02:26
  */
 public final class ProducesRequestCondition extends AbstractRequestCondition<ProducesRequestCondition> {
 
+	/**
+	 * Default limit for the number of cached negotiation decisions.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 128;
+
+	private static final MediaType NOT_ACCEPTABLE = new MediaType("none", "none");
+
 	private final List<MediaType> mediaTypes;
 
+	private volatile ConcurrentLruCache<String, MediaType> negotiationCache;
+
 	/**
 	 * Same as {@link #ProducesRequestCondition(String[])} but also
 	 * 
@@ -69,6 +86,99 @@ public final class ProducesRequestCondition extends AbstractRequestCondition<Pro
 		return (!other.mediaTypes.isEmpty() ? other : this);
 	}
 
+	/**
+	 * Return the media type to write a response with, given the value of the
+	 * request's 'Accept' header: the most specific of this condition's media
+	 * types, or of any type if there are none, that is compatible with the
+	 * acceptable types in order of specificity and quality.
+	 * 
+	 * @param acceptHeader
+	 *            the 'Accept' header value, or {@code null} if absent
+	 * @return the negotiated media type, possibly a wildcard type if this
+	 *         condition has no media types; or {@code null} if none of this
+	 *         condition's media types is acceptable
+	 */
+	public MediaType getProducibleMediaType(String acceptHeader) {
+		ConcurrentLruCache<String, MediaType> cache = this.negotiationCache;
+		if (cache == null) {
+			cache = new ConcurrentLruCache<String, MediaType>(DEFAULT_CACHE_LIMIT, this::negotiate);
+			this.negotiationCache = cache;
+		}
+		MediaType mediaType = cache.get(acceptHeader != null ? acceptHeader : MediaType.ALL_VALUE);
+		return (mediaType != NOT_ACCEPTABLE ? mediaType : null);
+	}
+
+	private MediaType negotiate(String acceptHeader) {
+		List<MediaType> acceptableMediaTypes;
+		try {
+			acceptableMediaTypes = MediaType.parseMediaTypes(acceptHeader);
+		} catch (InvalidMediaTypeException ex) {
+			return NOT_ACCEPTABLE;
+		}
+		if (acceptableMediaTypes.isEmpty()) {
+			acceptableMediaTypes = Collections.singletonList(MediaType.ALL);
+		}
+		List<MediaType> producibleMediaTypes = (!this.mediaTypes.isEmpty() ? this.mediaTypes : Collections.singletonList(MediaType.ALL));
+		Set<MediaType> compatibleMediaTypes = new LinkedHashSet<MediaType>();
+		for (MediaType acceptableMediaType : acceptableMediaTypes) {
+			for (MediaType producibleMediaType : producibleMediaTypes) {
+				if (acceptableMediaType.isCompatibleWith(producibleMediaType)) {
+					compatibleMediaTypes.add(getMostSpecificMediaType(acceptableMediaType, producibleMediaType));
+				}
+			}
+		}
+		if (compatibleMediaTypes.isEmpty()) {
+			return NOT_ACCEPTABLE;
+		}
+		List<MediaType> mediaTypes = new ArrayList<MediaType>(compatibleMediaTypes);
+		MediaType.sortBySpecificityAndQuality(mediaTypes);
+		for (MediaType mediaType : mediaTypes) {
+			if (mediaType.isConcrete()) {
+				return mediaType.removeQualityValue();
+			}
+		}
+		return mediaTypes.get(0).removeQualityValue();
+	}
+
+	/**
+	 * Return the more specific of the acceptable and the producible media
+	 * types, with the q-value of the former.
+	 */
+	private static MediaType getMostSpecificMediaType(MediaType acceptType, MediaType produceType) {
+		MediaType produceTypeToUse = produceType.copyQualityValue(acceptType);
+		return (MediaType.SPECIFICITY_COMPARATOR.compare(acceptType, produceTypeToUse) <= 0 ? acceptType : produceTypeToUse);
+	}
+
+	/**
+	 * Compares the most specific media types of the two conditions, see
+	 * {@link MediaType#SPECIFICITY_COMPARATOR}. An empty condition is least
+	 * specific.
+	 */
+	@Override
+	public int compareTo(ProducesRequestCondition other) {
+		if (this.mediaTypes.isEmpty() || other.mediaTypes.isEmpty()) {
+			return (this.mediaTypes.isEmpty() ? 1 : 0) - (other.mediaTypes.isEmpty() ? 1 : 0);
+		}
+		MediaType mediaType = Collections.min(this.mediaTypes, MediaType.SPECIFICITY_COMPARATOR);
+		MediaType otherMediaType = Collections.min(other.mediaTypes, MediaType.SPECIFICITY_COMPARATOR);
+		return MediaType.SPECIFICITY_COMPARATOR.compare(mediaType, otherMediaType);
+	}
+
+	@Override
+	public boolean overlaps(ProducesRequestCondition other) {
+		if (this.mediaTypes.isEmpty() || other.mediaTypes.isEmpty()) {
+			return true;
+		}
+		for (MediaType mediaType : this.mediaTypes) {
+			for (MediaType otherMediaType : other.mediaTypes) {
+				if (mediaType.isCompatibleWith(otherMediaType)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public Route Router(Route route) {
 		for (MediaType mediaType : mediaTypes) {
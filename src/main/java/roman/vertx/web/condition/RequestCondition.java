@@ -33,5 +33,21 @@ public interface RequestCondition<T> {
 	 */
 	T combine(T other);
 
+	/**
+	 * Compare this condition to another condition, independent of any
+	 * request, to determine the order in which routes are registered and
+	 * thereby which of them matches a request first.
+	 * 
+	 * @return a negative integer, zero, or a positive integer as this condition
+	 *         is more specific than, as specific as, or less specific than the
+	 *         other condition
+	 */
+	int compareTo(T other);
+
+	/**
+	 * Whether a request could be matched by both this and the other condition.
+	 */
+	boolean overlaps(T other);
+
 	Route Router(Route route);
 }
@@ -69,6 +69,39 @@ public final class RequestMethodsRequestCondition extends AbstractRequestConditi
 		return new RequestMethodsRequestCondition(set);
 	}
 
+	/**
+	 * Whether the given request method is one of this condition's methods, or
+	 * this condition has none.
+	 */
+	public boolean matches(HttpMethod method) {
+		return (this.methods.isEmpty() || this.methods.contains(method));
+	}
+
+	/**
+	 * Conditions with fewer methods are more specific, and an empty condition
+	 * matching any method is least specific.
+	 */
+	@Override
+	public int compareTo(RequestMethodsRequestCondition other) {
+		if (this.methods.isEmpty() || other.methods.isEmpty()) {
+			return (this.methods.isEmpty() ? 1 : 0) - (other.methods.isEmpty() ? 1 : 0);
+		}
+		return this.methods.size() - other.methods.size();
+	}
+
+	@Override
+	public boolean overlaps(RequestMethodsRequestCondition other) {
+		if (this.methods.isEmpty() || other.methods.isEmpty()) {
+			return true;
+		}
+		for (HttpMethod method : this.methods) {
+			if (other.methods.contains(method)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public Route Router(Route route) {
 		for (HttpMethod method : methods) {
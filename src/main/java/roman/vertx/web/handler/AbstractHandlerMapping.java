@@ -1,13 +1,25 @@
 package roman.vertx.web.handler;
 
+import io.vertx.core.Handler;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.support.ApplicationObjectSupport;
 import org.springframework.core.Ordered;
@@ -17,15 +29,24 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.ReflectionUtils.MethodFilter;
 
+import roman.vertx.web.bind.annotation.ExecutionMode;
+import roman.vertx.web.condition.PatternRequestCondition;
+import roman.vertx.web.method.HandlerMethod;
 import roman.vertx.web.method.HandlerMethodSelector;
 import roman.vertx.web.method.RequestMappingInfo;
+import roman.vertx.web.method.support.HandlerMethodArgumentResolver;
+import roman.vertx.web.method.support.HandlerMethodArgumentResolverComposite;
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import roman.vertx.web.metrics.RequestMappingMetrics;
+import roman.vertx.web.metrics.RequestMappingMetricsRegistry;
 
 /**
  * @author RomanLuo
  * @email 530827804@qq.com
  * @date 2016年3月17日 下午2:01:28
  */
-public abstract class AbstractHandlerMapping extends ApplicationObjectSupport implements Ordered, InitializingBean {
+public abstract class AbstractHandlerMapping extends ApplicationObjectSupport implements Ordered, InitializingBean, DisposableBean {
 
 	private int order = Integer.MAX_VALUE; // default: same as non-Ordered
 
@@ -33,8 +54,34 @@ public abstract class AbstractHandlerMapping extends ApplicationObjectSupport im
 
 	private boolean detectHandlerMethodsInAncestorContexts = false;
 
+	private boolean detectHandlerMethodsInParallel = false;
+
+	private ForkJoinPool detectionPool;
+
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private boolean useRequestMappingTrie = false;
+
+	private final List<RequestMappingTrie> requestMappingTries = new ArrayList<RequestMappingTrie>();
+
+	private RequestMappingTrie requestMappingTrie;
+
+	private RequestMappingMetricsRegistry metricsRegistry;
+
+	private String metricsPath;
+
+	private RouteTable.Builder routeTableBuilder;
+
+	private RouteTable routeTable;
+
+	private List<HandlerMethodArgumentResolver> customArgumentResolvers;
+
+	private HandlerMethodArgumentResolverComposite argumentResolvers;
+
+	private HandlerMethodReturnValueHandlerComposite returnValueHandlers;
+
+	private final Map<ExecutionMode, HandlerExecutor> handlerExecutors = new EnumMap<ExecutionMode, HandlerExecutor>(ExecutionMode.class);
+
 	/**
 	 * Specify the order value for this HandlerMapping bean.
 	 * <p>
@@ -68,33 +115,293 @@ public abstract class AbstractHandlerMapping extends ApplicationObjectSupport im
 	}
 
 	/**
-	 * Detects handler methods at initialization.
+	 * Whether to detect the handler methods of different beans in parallel,
+	 * on the {@link #setDetectionPool detection pool}. The mappings are
+	 * registered in the same order either way; only the introspection of
+	 * the handler types runs concurrently, so {@link #isHandler},
+	 * {@link #getMappingForMethod} and the like must be thread-safe.
+	 * <p>
+	 * Default is "false". Switch this on for contexts with many handler
+	 * beans, where detecting their methods dominates startup time.
+	 */
+	public void setDetectHandlerMethodsInParallel(boolean detectHandlerMethodsInParallel) {
+		this.detectHandlerMethodsInParallel = detectHandlerMethodsInParallel;
+	}
+
+	public boolean isDetectHandlerMethodsInParallel() {
+		return this.detectHandlerMethodsInParallel;
+	}
+
+	/**
+	 * Set the pool to detect handler methods on if
+	 * {@link #setDetectHandlerMethodsInParallel in parallel}. Default is the
+	 * {@link ForkJoinPool#commonPool() common pool}.
+	 */
+	public void setDetectionPool(ForkJoinPool detectionPool) {
+		this.detectionPool = detectionPool;
+	}
+
+	/**
+	 * Whether to dispatch requests through catch-all routes backed by
+	 * {@link RequestMappingTrie}s, rather than registering one route per
+	 * mapping with the {@link Router}. Mappings the trie cannot hold, such as
+	 * Ant-style patterns, are still registered as routes of their own. To
+	 * keep the order of specificity, a trie route is registered at the
+	 * position of its most specific mapping, and a mapping that the trie
+	 * cannot hold and that sorts between trie mappings starts a new trie
+	 * after its own route.
+	 * <p>
+	 * Within one trie, a literal segment takes precedence over a path
+	 * variable at the same position, so of two trie mappings that match the
+	 * same path, e.g. "/a/b/:x/:y" and "/a/:x/c/d", the one with the literal
+	 * segment further left wins even if it sorts after the other.
+	 * <p>
+	 * Default is "false". Switch this on with many mappings, where the router
+	 * would otherwise test each route in turn for every request.
+	 */
+	public void setUseRequestMappingTrie(boolean useRequestMappingTrie) {
+		this.useRequestMappingTrie = useRequestMappingTrie;
+	}
+
+	public boolean isUseRequestMappingTrie() {
+		return this.useRequestMappingTrie;
+	}
+
+	/**
+	 * Return the {@link RequestMappingTrie}s requests are dispatched through,
+	 * in route order, or an empty list if not
+	 * {@linkplain #setUseRequestMappingTrie in use}.
+	 */
+	public List<RequestMappingTrie> getRequestMappingTries() {
+		return Collections.unmodifiableList(this.requestMappingTries);
+	}
+
+	/**
+	 * Return the routes of all detected handler methods, to register with
+	 * further routers, or {@code null} if not initialized yet via
+	 * {@link #afterPropertiesSet()}. The routes are also registered with the
+	 * {@link Router} bean of the application context, if there is one.
+	 */
+	public RouteTable getRouteTable() {
+		return this.routeTable;
+	}
+
+	/**
+	 * Set the registry to record per handler method request counts and
+	 * latencies in. By default, no metrics are recorded.
+	 */
+	public void setMetricsRegistry(RequestMappingMetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
+	}
+
+	/**
+	 * Return the registry metrics are recorded in, or {@code null} if none.
+	 */
+	public RequestMappingMetricsRegistry getMetricsRegistry() {
+		return this.metricsRegistry;
+	}
+
+	/**
+	 * Set the path of a route that serves the recorded metrics in the
+	 * Prometheus text format, e.g. "/metrics". A
+	 * {@link RequestMappingMetricsRegistry} is created if none is set.
+	 * <p>
+	 * By default, metrics are not exposed.
+	 */
+	public void setMetricsPath(String metricsPath) {
+		this.metricsPath = metricsPath;
+	}
+
+	public String getMetricsPath() {
+		return this.metricsPath;
+	}
+
+	/**
+	 * Provide resolvers for custom argument types. Custom resolvers are
+	 * ordered after built-in ones. To override the built-in support for
+	 * argument resolution use {@link #setArgumentResolvers} instead.
+	 */
+	public void setCustomArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
+		this.customArgumentResolvers = argumentResolvers;
+	}
+
+	/**
+	 * Return the custom argument resolvers, or {@code null}.
+	 */
+	public List<HandlerMethodArgumentResolver> getCustomArgumentResolvers() {
+		return this.customArgumentResolvers;
+	}
+
+	/**
+	 * Configure the complete list of supported argument types thus overriding
+	 * the resolvers that would otherwise be configured by default.
+	 */
+	public void setArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
+		this.argumentResolvers = new HandlerMethodArgumentResolverComposite().addResolvers(argumentResolvers);
+	}
+
+	/**
+	 * Return the configured argument resolvers, or possibly {@code null} if
+	 * not initialized yet via {@link #afterPropertiesSet()}.
+	 */
+	public HandlerMethodArgumentResolverComposite getArgumentResolvers() {
+		return this.argumentResolvers;
+	}
+
+	/**
+	 * Configure the complete list of supported return value types thus
+	 * overriding handlers that would otherwise be configured by default.
+	 */
+	public void setReturnValueHandlers(List<HandlerMethodReturnValueHandler> returnValueHandlers) {
+		this.returnValueHandlers = new HandlerMethodReturnValueHandlerComposite().addHandlers(returnValueHandlers);
+	}
+
+	/**
+	 * Return the configured return value handlers, or possibly {@code null}
+	 * if not initialized yet via {@link #afterPropertiesSet()}.
+	 */
+	public HandlerMethodReturnValueHandlerComposite getReturnValueHandlers() {
+		return this.returnValueHandlers;
+	}
+
+	/**
+	 * Initializes argument resolvers and return value handlers, and detects
+	 * handler methods.
 	 */
 	@Override
 	public void afterPropertiesSet() {
+		if (this.argumentResolvers == null) {
+			this.argumentResolvers = new HandlerMethodArgumentResolverComposite().addResolvers(getDefaultArgumentResolvers());
+		}
+		if (this.returnValueHandlers == null) {
+			this.returnValueHandlers = new HandlerMethodReturnValueHandlerComposite();
+			this.returnValueHandlers.addHandlers(getDefaultReturnValueHandlers(this.returnValueHandlers));
+		}
 		initHandlerMethods();
 	}
 
 	/**
-	 * Scan beans in the ApplicationContext, detect and register handler
-	 * methods.
+	 * Return the list of argument resolvers to use by default, including the
+	 * {@link #getCustomArgumentResolvers() custom} ones.
+	 */
+	protected abstract List<HandlerMethodArgumentResolver> getDefaultArgumentResolvers();
+
+	/**
+	 * Return the list of return value handlers to use by default.
 	 * 
-	 * @see #isHandler(Class)
-	 * @see #getMappingForMethod(Method, Class)
-	 * @see #handlerMethodsInitialized(Map)
+	 * @param valueHandler
+	 *            the composite the handlers are added to, for handlers that
+	 *            delegate the eventual value of an asynchronous result
+	 */
+	protected abstract List<HandlerMethodReturnValueHandler> getDefaultReturnValueHandlers(HandlerMethodReturnValueHandler valueHandler);
+
+	/**
+	 * Detect handler methods and register them all at once, most specific
+	 * first.
+	 * 
+	 * @see #detectHandlerMethods()
+	 * @see #registerHandlerMethods(List)
 	 */
 	protected void initHandlerMethods() {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Looking for request mappings in application context: " + getApplicationContext());
 		}
 
-		String[] beanNames = (this.detectHandlerMethodsInAncestorContexts ? BeanFactoryUtils.beanNamesForTypeIncludingAncestors(getApplicationContext(), Object.class) : getApplicationContext()
-				.getBeanNamesForType(Object.class));
+		this.routeTableBuilder = RouteTable.builder();
+		if (this.metricsPath != null) {
+			if (this.metricsRegistry == null) {
+				this.metricsRegistry = new RequestMappingMetricsRegistry();
+			}
+			String path = this.metricsPath;
+			this.routeTableBuilder.route(router -> router.get(path), new PrometheusMetricsHandler(this.metricsRegistry));
+		}
+
+		this.requestMappingTries.clear();
+		this.requestMappingTrie = (this.useRequestMappingTrie ? new RequestMappingTrie() : null);
+		registerHandlerMethods(detectHandlerMethods());
+		this.requestMappingTrie = null;
+
+		this.routeTable = this.routeTableBuilder.build();
+		this.routeTableBuilder = null;
+		if (getApplicationContext().getBeanNamesForType(Router.class).length > 0) {
+			this.routeTable.registerRoutes(getApplicationContext().getBean(Router.class));
+		}
+	}
+
+	/**
+	 * Scan beans in the ApplicationContext for handlers and detect their
+	 * handler methods.
+	 * 
+	 * @return the mappings of all handler methods, in no particular order
+	 * @see #isHandler(Class)
+	 * @see #detectHandlerMethods(Object)
+	 */
+	protected List<RequestMappingInfo> detectHandlerMethods() {
+		List<Callable<Collection<RequestMappingInfo>>> detections = new ArrayList<Callable<Collection<RequestMappingInfo>>>();
+		for (String beanName : getCandidateBeanNames(Object.class)) {
+			if (isHandler(getApplicationContext().getType(beanName))) {
+				detections.add(() -> detectHandlerMethods(beanName));
+			}
+		}
+		return collectHandlerMethods(detections);
+	}
+
+	/**
+	 * Run the given per-bean detections, one after another or
+	 * {@link #setDetectHandlerMethodsInParallel in parallel}, and concatenate
+	 * their results in the order of the detections. Detections should refer
+	 * to handler beans by name rather than instantiate them, so that no bean
+	 * is created concurrently.
+	 * 
+	 * @param detections
+	 *            the detection of the handler methods of each bean
+	 * @return the mappings of all handler methods
+	 */
+	protected List<RequestMappingInfo> collectHandlerMethods(List<? extends Callable<? extends Collection<RequestMappingInfo>>> detections) {
+		List<RequestMappingInfo> mappings = new ArrayList<RequestMappingInfo>();
+		if (!this.detectHandlerMethodsInParallel || detections.size() < 2) {
+			for (Callable<? extends Collection<RequestMappingInfo>> detection : detections) {
+				mappings.addAll(callDetection(detection));
+			}
+			return mappings;
+		}
+		ForkJoinPool pool = (this.detectionPool != null ? this.detectionPool : ForkJoinPool.commonPool());
+		List<ForkJoinTask<Collection<RequestMappingInfo>>> tasks = new ArrayList<ForkJoinTask<Collection<RequestMappingInfo>>>(detections.size());
+		for (Callable<? extends Collection<RequestMappingInfo>> detection : detections) {
+			tasks.add(pool.submit(() -> callDetection(detection)));
+		}
+		for (ForkJoinTask<Collection<RequestMappingInfo>> task : tasks) {
+			mappings.addAll(task.join());
+		}
+		return mappings;
+	}
+
+	private static Collection<RequestMappingInfo> callDetection(Callable<? extends Collection<RequestMappingInfo>> detection) {
+		try {
+			return detection.call();
+		} catch (RuntimeException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new IllegalStateException("Failed to detect handler methods", ex);
+		}
+	}
+
+	/**
+	 * Return the names of the beans of the given type that may be handlers,
+	 * including those of ancestor contexts if
+	 * {@link #setDetectHandlerMethodsInAncestorContexts so configured}, but
+	 * excluding the targets of scoped proxies.
+	 */
+	protected List<String> getCandidateBeanNames(Class<?> type) {
+		String[] beanNames = (this.detectHandlerMethodsInAncestorContexts ? BeanFactoryUtils.beanNamesForTypeIncludingAncestors(getApplicationContext(), type) : getApplicationContext()
+				.getBeanNamesForType(type));
+		List<String> result = new ArrayList<String>(beanNames.length);
 		for (String beanName : beanNames) {
-			if (!beanName.startsWith(SCOPED_TARGET_NAME_PREFIX) && isHandler(getApplicationContext().getType(beanName))) {
-				detectHandlerMethods(beanName);
+			if (!beanName.startsWith(SCOPED_TARGET_NAME_PREFIX)) {
+				result.add(beanName);
 			}
 		}
+		return result;
 	}
 
 	/**
@@ -111,8 +418,9 @@ public abstract class AbstractHandlerMapping extends ApplicationObjectSupport im
 	 * 
 	 * @param handler
 	 *            the bean name of a handler or a handler instance
+	 * @return the mappings of the handler methods found
 	 */
-	protected void detectHandlerMethods(final Object handler) {
+	protected Collection<RequestMappingInfo> detectHandlerMethods(final Object handler) {
 		Class<?> handlerType = (handler instanceof String ? getApplicationContext().getType((String) handler) : handler.getClass());
 
 		// Avoid repeated calls to getMappingForMethod which would rebuild
@@ -123,7 +431,7 @@ public abstract class AbstractHandlerMapping extends ApplicationObjectSupport im
 		Set<Method> methods = HandlerMethodSelector.selectMethods(userType, new MethodFilter() {
 			@Override
 			public boolean matches(Method method) {
-				RequestMappingInfo mapping = getMappingForMethod(method, userType);
+				RequestMappingInfo mapping = getMappingForMethod(handler, method, userType);
 				if (mapping != null) {
 					mappings.put(method, mapping);
 					return true;
@@ -133,15 +441,20 @@ public abstract class AbstractHandlerMapping extends ApplicationObjectSupport im
 			}
 		});
 
+		List<RequestMappingInfo> result = new ArrayList<RequestMappingInfo>(methods.size());
 		for (Method method : methods) {
-			registerHandlerMethod(mappings.get(method));
+			result.add(mappings.get(method));
 		}
+		return result;
 	}
 
 	/**
 	 * Provide the mapping for a handler method. A method for which no mapping
 	 * can be provided is not a handler method.
 	 * 
+	 * @param handler
+	 *            the bean name of the handler, to be resolved when the first
+	 *            request is handled, or the handler instance
 	 * @param method
 	 *            the method to provide a mapping for
 	 * @param handlerType
@@ -149,11 +462,180 @@ public abstract class AbstractHandlerMapping extends ApplicationObjectSupport im
 	 *            declaring class
 	 * @return the mapping, or {@code null} if the method is not mapped
 	 */
-	protected abstract RequestMappingInfo getMappingForMethod(Method method, Class<?> handlerType);
+	protected abstract RequestMappingInfo getMappingForMethod(Object handler, Method method, Class<?> handlerType);
+
+	/**
+	 * Register the handlers for the given mappings in order of specificity,
+	 * see {@link RequestMappingInfo#compareTo}, so that a more specific
+	 * mapping is always matched before a broader one regardless of the order
+	 * in which the handler methods were detected.
+	 * 
+	 * @throws IllegalStateException
+	 *             if two handler methods have the same mapping
+	 */
+	protected void registerHandlerMethods(List<RequestMappingInfo> mappings) {
+		List<RequestMappingInfo> sortedMappings = new ArrayList<RequestMappingInfo>(mappings);
+		Collections.sort(sortedMappings, RequestMappingInfo::compareTo);
+		validateHandlerMethods(sortedMappings);
+		for (RequestMappingInfo mapping : sortedMappings) {
+			registerHandlerMethod(mapping);
+		}
+	}
 
-	protected void registerHandlerMethod(RequestMappingInfo handler) {
-		handler.Router(getApplicationContext().getBean(Router.class).route());
-	};
+	/**
+	 * Check the sorted mappings for duplicates, which fail the startup, and
+	 * for equally specific mappings that may match the same request, which are
+	 * logged as ambiguous. Only mappings with the same
+	 * {@link PatternRequestCondition#getShape() pattern shape} can overlap, so
+	 * each mapping is only compared with the earlier ones of its shape.
+	 */
+	private void validateHandlerMethods(List<RequestMappingInfo> sortedMappings) {
+		Map<RequestMappingInfo, RequestMappingInfo> distinctMappings = new HashMap<RequestMappingInfo, RequestMappingInfo>();
+		Map<String, List<RequestMappingInfo>> mappingsByShape = new HashMap<String, List<RequestMappingInfo>>();
+		for (RequestMappingInfo mapping : sortedMappings) {
+			RequestMappingInfo existing = distinctMappings.put(mapping, mapping);
+			if (existing != null) {
+				throw new IllegalStateException("Ambiguous mapping. Cannot map '" + mapping.getHandler() + "' method \n" + mapping.getMethod() + "\nto " + mapping
+						+ ": There is already '" + existing.getHandler() + "' bean method\n" + existing.getMethod() + " mapped.");
+			}
+			if (logger.isWarnEnabled()) {
+				String shape = mapping.getPatternsCondition().getShape();
+				List<RequestMappingInfo> sameShape = mappingsByShape.get(shape);
+				if (sameShape == null) {
+					sameShape = new ArrayList<RequestMappingInfo>(2);
+					mappingsByShape.put(shape, sameShape);
+				}
+				for (RequestMappingInfo other : sameShape) {
+					if (other.compareTo(mapping) == 0 && other.overlaps(mapping)) {
+						logger.warn("Ambiguous mappings " + other + " and " + mapping + " for '" + other.getHandler() + "' method [" + other.getMethod() + "] and '"
+								+ mapping.getHandler() + "' method [" + mapping.getMethod() + "] may match the same requests");
+					}
+				}
+				sameShape.add(mapping);
+			}
+		}
+	}
+
+	/**
+	 * Register the handler for the given mapping, in the current
+	 * {@link RequestMappingTrie} if in use and the mapping's pattern allows,
+	 * or else as a route of its own in the {@link #getRouteTable() route
+	 * table}. A trie gets its route when its first mapping is added, and is
+	 * closed to further mappings once a route of its own follows it. Routes
+	 * for Ant-style patterns only match the literal prefix of the pattern,
+	 * and check the full pattern before dispatching.
+	 */
+	protected void registerHandlerMethod(RequestMappingInfo mapping) {
+		Handler<RoutingContext> handler = getHandler(mapping);
+		RequestMappingTrie trie = this.requestMappingTrie;
+		if (trie != null && trie.supports(mapping)) {
+			if (trie.size() == 0) {
+				this.routeTableBuilder.route(Router::route, trie);
+				this.requestMappingTries.add(trie);
+			}
+			trie.add(mapping, handler);
+		} else {
+			if (trie != null && trie.size() > 0) {
+				this.requestMappingTrie = new RequestMappingTrie();
+			}
+			PatternRequestCondition patternsCondition = mapping.getPatternsCondition();
+			if (patternsCondition.isPattern()) {
+				this.routeTableBuilder.route(router -> mapping.Router(router.route()), context -> {
+					if (patternsCondition.matches(context)) {
+						handler.handle(context);
+					} else {
+						context.next();
+					}
+				});
+			} else {
+				this.routeTableBuilder.route(router -> mapping.Router(router.route()), handler);
+			}
+		}
+	}
+
+	/**
+	 * Return the handler to dispatch requests for the given mapping to. The
+	 * default implementation runs the handler method in the mapping's
+	 * {@link ExecutionMode}, and records its metrics if a
+	 * {@linkplain #setMetricsRegistry registry} is set.
+	 */
+	protected Handler<RoutingContext> getHandler(RequestMappingInfo mapping) {
+		RequestMappingMetrics metrics = (this.metricsRegistry != null ? this.metricsRegistry.register(mapping) : null);
+		return getHandlerExecutor(mapping.getExecutionMode()).wrap(
+				mapping.createHandler(createHandlerMethod(mapping), this.argumentResolvers, this.returnValueHandlers, metrics));
+	}
+
+	/**
+	 * Create the handler method for the given mapping. A handler given by
+	 * bean name is only resolved when the first request is handled, so that
+	 * lazy-init and prototype handler beans are not created at startup.
+	 */
+	protected HandlerMethod createHandlerMethod(RequestMappingInfo mapping) {
+		Object handler = mapping.getHandler();
+		if (handler instanceof String) {
+			return new HandlerMethod((String) handler, getApplicationContext(), mapping.getMethod());
+		}
+		return new HandlerMethod(handler, mapping.getMethod());
+	}
+
+	/**
+	 * Set the {@link HandlerExecutor} to use for handler methods mapped with
+	 * its {@link HandlerExecutor#getMode() execution mode}, for example to
+	 * change the pending limit or to supply the executor service for
+	 * {@link ExecutionMode#EXECUTOR}. Must be called before handler methods
+	 * are detected.
+	 */
+	public void setHandlerExecutor(HandlerExecutor handlerExecutor) {
+		Assert.notNull(handlerExecutor, "HandlerExecutor must not be null");
+		synchronized (this.handlerExecutors) {
+			HandlerExecutor previous = this.handlerExecutors.put(handlerExecutor.getMode(), handlerExecutor);
+			if (previous != null && previous != handlerExecutor) {
+				previous.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Return the {@link HandlerExecutor} for the given mode, creating one with
+	 * default settings on first use. {@link ExecutionMode#DEFAULT} resolves
+	 * to {@link ExecutionMode#EVENT_LOOP}.
+	 */
+	public HandlerExecutor getHandlerExecutor(ExecutionMode mode) {
+		if (mode == null || mode == ExecutionMode.DEFAULT) {
+			mode = ExecutionMode.EVENT_LOOP;
+		}
+		synchronized (this.handlerExecutors) {
+			HandlerExecutor handlerExecutor = this.handlerExecutors.get(mode);
+			if (handlerExecutor == null) {
+				handlerExecutor = new HandlerExecutor(mode);
+				this.handlerExecutors.put(mode, handlerExecutor);
+			}
+			return handlerExecutor;
+		}
+	}
+
+	/**
+	 * Return the {@link HandlerExecutor}s in use, e.g. to report their queue
+	 * depth.
+	 */
+	public Collection<HandlerExecutor> getHandlerExecutors() {
+		synchronized (this.handlerExecutors) {
+			return Collections.unmodifiableCollection(new ArrayList<HandlerExecutor>(this.handlerExecutors.values()));
+		}
+	}
+
+	/**
+	 * Shuts down the executor services created for
+	 * {@link ExecutionMode#EXECUTOR} handler methods.
+	 */
+	@Override
+	public void destroy() {
+		synchronized (this.handlerExecutors) {
+			for (HandlerExecutor handlerExecutor : this.handlerExecutors.values()) {
+				handlerExecutor.shutdown();
+			}
+		}
+	}
 
 	/**
 	 * Set the PathMatcher implementation to use for matching URL paths against
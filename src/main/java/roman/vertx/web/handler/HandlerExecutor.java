@@ -0,0 +1,253 @@
+package roman.vertx.web.handler;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import roman.vertx.web.bind.annotation.ExecutionMode;
+
+/**
+ * Attaches request handlers to a {@link Route} according to an
+ * {@link ExecutionMode}, and keeps track of how many requests are queued,
+ * running, completed and rejected in that mode.
+ *
+ * <p>
+ * The worker and executor modes accept at most {@link #getMaxPending()}
+ * requests that have been handed off but not yet started; further requests are
+ * failed with status 503 instead of queueing without bound behind a slow
+ * handler. Handlers in {@link ExecutionMode#EVENT_LOOP} mode are attached to
+ * the route as they are, without any bookkeeping.
+ *
+ * <p>
+ * In {@link ExecutionMode#EXECUTOR} mode handlers run on pool threads outside
+ * of any Vert.x context, so they are expected to write the response and fail
+ * the request on the context returned by {@link #getVertxContext}, as the
+ * handlers created by
+ * {@link roman.vertx.web.method.RequestMappingInfo#createHandler} do.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see AbstractHandlerMapping#setHandlerExecutor(HandlerExecutor)
+ */
+public class HandlerExecutor {
+
+	/**
+	 * Default limit for requests waiting to be started.
+	 */
+	public static final int DEFAULT_MAX_PENDING = 1024;
+
+	private static final int SERVICE_UNAVAILABLE = 503;
+
+	private static final String VERTX_CONTEXT_KEY = HandlerExecutor.class.getName() + ".vertxContext";
+
+	private final ExecutionMode mode;
+
+	private final int maxPending;
+
+	private final ExecutorService executor;
+
+	private final boolean ownsExecutor;
+
+	private final AtomicInteger pending = new AtomicInteger();
+
+	private final AtomicInteger active = new AtomicInteger();
+
+	private final LongAdder completed = new LongAdder();
+
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Create an executor for the given mode with the default pending limit.
+	 * For {@link ExecutionMode#EXECUTOR}, a fixed pool with one thread per
+	 * available processor is created.
+	 */
+	public HandlerExecutor(ExecutionMode mode) {
+		this(mode, DEFAULT_MAX_PENDING);
+	}
+
+	/**
+	 * Create an executor for the given mode and pending limit. For
+	 * {@link ExecutionMode#EXECUTOR}, a fixed pool with one thread per
+	 * available processor is created.
+	 */
+	public HandlerExecutor(ExecutionMode mode, int maxPending) {
+		this(mode, maxPending, (mode == ExecutionMode.EXECUTOR ? createDefaultExecutor() : null), true);
+	}
+
+	/**
+	 * Create an {@link ExecutionMode#EXECUTOR} mode executor that runs
+	 * handlers on the given {@link ExecutorService}. The service is not shut
+	 * down by {@link #shutdown()}.
+	 */
+	public HandlerExecutor(ExecutorService executor, int maxPending) {
+		this(ExecutionMode.EXECUTOR, maxPending, executor, false);
+	}
+
+	private HandlerExecutor(ExecutionMode mode, int maxPending, ExecutorService executor, boolean ownsExecutor) {
+		Assert.notNull(mode, "ExecutionMode must not be null");
+		Assert.isTrue(mode != ExecutionMode.DEFAULT, "ExecutionMode.DEFAULT must be resolved before creating an executor");
+		Assert.isTrue(maxPending > 0, "maxPending must be greater than 0");
+		Assert.isTrue(mode != ExecutionMode.EXECUTOR || executor != null, "ExecutorService must not be null");
+		this.mode = mode;
+		this.maxPending = maxPending;
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	private static ExecutorService createDefaultExecutor() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("vertx-handler-executor-");
+		threadFactory.setDaemon(true);
+		return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+	}
+
+	public ExecutionMode getMode() {
+		return this.mode;
+	}
+
+	public int getMaxPending() {
+		return this.maxPending;
+	}
+
+	/**
+	 * Return the number of requests handed off but not yet started.
+	 */
+	public int getPendingCount() {
+		return this.pending.get();
+	}
+
+	/**
+	 * Return the number of requests currently being handled.
+	 */
+	public int getActiveCount() {
+		return this.active.get();
+	}
+
+	/**
+	 * Return the number of requests handled so far.
+	 */
+	public long getCompletedCount() {
+		return this.completed.sum();
+	}
+
+	/**
+	 * Return the number of requests rejected because too many were pending.
+	 */
+	public long getRejectedCount() {
+		return this.rejected.sum();
+	}
+
+	/**
+	 * Attach the given handler to the route, to be run in this executor's
+	 * mode.
+	 */
+	public Route handler(Route route, Handler<RoutingContext> handler) {
+		return route.handler(wrap(handler));
+	}
+
+	/**
+	 * Return a handler that runs the given handler in this executor's mode.
+	 */
+	public Handler<RoutingContext> wrap(Handler<RoutingContext> handler) {
+		switch (this.mode) {
+		case WORKER:
+			return context -> executeBlocking(context, handler, false);
+		case ORDERED_WORKER:
+			return context -> executeBlocking(context, handler, true);
+		case EXECUTOR:
+			return context -> execute(context, handler);
+		default:
+			return handler;
+		}
+	}
+
+	private void executeBlocking(RoutingContext context, Handler<RoutingContext> handler, boolean ordered) {
+		if (!acquire(context)) {
+			return;
+		}
+		context.vertx().<Void> executeBlocking(future -> {
+			run(context, handler);
+			future.complete();
+		}, ordered, result -> {
+			if (result.failed()) {
+				context.fail(result.cause());
+			}
+		});
+	}
+
+	private void execute(RoutingContext context, Handler<RoutingContext> handler) {
+		if (!acquire(context)) {
+			return;
+		}
+		context.put(VERTX_CONTEXT_KEY, Vertx.currentContext());
+		try {
+			this.executor.execute(() -> run(context, handler));
+		} catch (RejectedExecutionException ex) {
+			this.pending.decrementAndGet();
+			reject(context);
+		}
+	}
+
+	private boolean acquire(RoutingContext context) {
+		if (this.pending.incrementAndGet() > this.maxPending) {
+			this.pending.decrementAndGet();
+			reject(context);
+			return false;
+		}
+		return true;
+	}
+
+	private void reject(RoutingContext context) {
+		this.rejected.increment();
+		context.fail(SERVICE_UNAVAILABLE);
+	}
+
+	private void run(RoutingContext context, Handler<RoutingContext> handler) {
+		this.pending.decrementAndGet();
+		this.active.incrementAndGet();
+		try {
+			handler.handle(context);
+		} finally {
+			this.active.decrementAndGet();
+			this.completed.increment();
+		}
+	}
+
+	/**
+	 * Return the Vert.x context that received the request. For requests
+	 * handed off to an {@link ExecutionMode#EXECUTOR} thread this is the
+	 * context captured before the hand-off, since
+	 * {@link Vertx#getOrCreateContext()} called from a pool thread would
+	 * create a new context instead.
+	 */
+	public static Context getVertxContext(RoutingContext context) {
+		Context vertxContext = context.get(VERTX_CONTEXT_KEY);
+		return (vertxContext != null ? vertxContext : context.vertx().getOrCreateContext());
+	}
+
+	/**
+	 * Shut down the executor service if it was created by this instance.
+	 */
+	public void shutdown() {
+		if (this.ownsExecutor && this.executor != null) {
+			this.executor.shutdown();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HandlerExecutor [mode=" + this.mode + ", pending=" + getPendingCount() + ", active=" + getActiveCount() + ", completed=" + getCompletedCount() + ", rejected="
+				+ getRejectedCount() + "]";
+	}
+
+}
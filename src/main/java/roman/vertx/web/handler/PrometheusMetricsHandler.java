@@ -0,0 +1,33 @@
+package roman.vertx.web.handler;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+
+import org.springframework.util.Assert;
+
+import roman.vertx.web.metrics.RequestMappingMetricsRegistry;
+
+/**
+ * Serves the metrics of a {@link RequestMappingMetricsRegistry} in the
+ * Prometheus text exposition format.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see AbstractHandlerMapping#setMetricsPath(String)
+ */
+public class PrometheusMetricsHandler implements Handler<RoutingContext> {
+
+	private final RequestMappingMetricsRegistry registry;
+
+	public PrometheusMetricsHandler(RequestMappingMetricsRegistry registry) {
+		Assert.notNull(registry, "RequestMappingMetricsRegistry must not be null");
+		this.registry = registry;
+	}
+
+	@Override
+	public void handle(RoutingContext context) {
+		context.response().putHeader(HttpHeaders.CONTENT_TYPE, RequestMappingMetricsRegistry.CONTENT_TYPE).end(this.registry.writePrometheus());
+	}
+
+}
@@ -0,0 +1,212 @@
+package roman.vertx.web.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+
+import org.springframework.util.Assert;
+
+/**
+ * Reads the request body into a single buffer from a pooled allocator before
+ * passing the request on to the next route, or to a given handler, so that argument resolvers can
+ * parse it without first turning it into a {@code String}. The buffer is
+ * released once the response has been written, or when the connection is
+ * closed or fails before that.
+ *
+ * <p>
+ * Bodies larger than {@link #getMaxBodySize()} are rejected with status 413,
+ * up front if the {@code Content-Length} header already exceeds the limit, or
+ * as soon as the received content does. If the body has already been read,
+ * for example by a Vert.x {@code BodyHandler} on an earlier route, that body is
+ * used as is.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see #getBody(RoutingContext)
+ */
+public class RequestBodyHandler implements Handler<RoutingContext> {
+
+	/**
+	 * Default limit for the body size in bytes: 10 MB.
+	 */
+	public static final long DEFAULT_MAX_BODY_SIZE = 10 * 1024 * 1024;
+
+	private static final String BODY_KEY = RequestBodyHandler.class.getName() + ".body";
+
+	private static final int REQUEST_ENTITY_TOO_LARGE = 413;
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+	private static final int MAX_INITIAL_CAPACITY = 8 * 1024;
+
+	private final long maxBodySize;
+
+	private final ByteBufAllocator allocator;
+
+	/**
+	 * Create a handler with the {@link #DEFAULT_MAX_BODY_SIZE default} size
+	 * limit.
+	 */
+	public RequestBodyHandler() {
+		this(DEFAULT_MAX_BODY_SIZE);
+	}
+
+	/**
+	 * Create a handler with the given size limit, or no limit if negative.
+	 */
+	public RequestBodyHandler(long maxBodySize) {
+		this(maxBodySize, PooledByteBufAllocator.DEFAULT);
+	}
+
+	/**
+	 * Create a handler with the given size limit, allocating body buffers
+	 * from the given allocator.
+	 */
+	public RequestBodyHandler(long maxBodySize, ByteBufAllocator allocator) {
+		Assert.notNull(allocator, "ByteBufAllocator must not be null");
+		this.maxBodySize = maxBodySize;
+		this.allocator = allocator;
+	}
+
+	/**
+	 * Return the body size limit in bytes; negative if unlimited.
+	 */
+	public long getMaxBodySize() {
+		return this.maxBodySize;
+	}
+
+	@Override
+	public void handle(RoutingContext context) {
+		handle(context, RoutingContext::next);
+	}
+
+	/**
+	 * Read the body and pass the request on to the given handler rather than
+	 * to the next route.
+	 */
+	public void handle(RoutingContext context, Handler<RoutingContext> next) {
+		HttpServerRequest request = context.request();
+		if (context.getBody() != null || context.get(BODY_KEY) != null || request.isEnded()) {
+			next.handle(context);
+			return;
+		}
+		long contentLength = getContentLength(request);
+		if (exceedsLimit(contentLength)) {
+			context.fail(REQUEST_ENTITY_TOO_LARGE);
+			return;
+		}
+		// Do not trust the client with more than a few KB up front; the buffer grows as content arrives
+		int initialCapacity = (contentLength >= 0 ? (int) Math.min(contentLength, MAX_INITIAL_CAPACITY) : DEFAULT_INITIAL_CAPACITY);
+		new BodyReader(context, this.allocator.heapBuffer(initialCapacity), next).read();
+	}
+
+	private boolean exceedsLimit(long size) {
+		return (this.maxBodySize >= 0 && size > this.maxBodySize);
+	}
+
+	private static long getContentLength(HttpServerRequest request) {
+		String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+		if (contentLength != null) {
+			try {
+				return Long.parseLong(contentLength.trim());
+			} catch (NumberFormatException ex) {
+				// leave it to the limit check while reading
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the body of the current request: the buffer read by this handler
+	 * or, failing that, the body set on the context by another handler.
+	 * 
+	 * @return the body, or {@code null} if it has not been read
+	 */
+	public static ByteBuf getBody(RoutingContext context) {
+		ByteBuf body = context.get(BODY_KEY);
+		if (body != null) {
+			return body;
+		}
+		Buffer buffer = context.getBody();
+		return (buffer != null ? buffer.getByteBuf() : null);
+	}
+
+
+	/**
+	 * Accumulates the chunks of one request body.
+	 */
+	private class BodyReader {
+
+		private final RoutingContext context;
+
+		private final ByteBuf body;
+
+		private final Handler<RoutingContext> next;
+
+		private boolean failed;
+
+		private boolean released;
+
+		public BodyReader(RoutingContext context, ByteBuf body, Handler<RoutingContext> next) {
+			this.context = context;
+			this.body = body;
+			this.next = next;
+		}
+
+		public void read() {
+			HttpServerRequest request = this.context.request();
+			request.handler(this::handleChunk);
+			request.exceptionHandler(this::handleException);
+			request.endHandler(this::handleEnd);
+			// The response may never end, e.g. if the client goes away while an asynchronous handler runs
+			this.context.response().closeHandler(v -> release());
+			this.context.response().exceptionHandler(ex -> release());
+		}
+
+		private void handleChunk(Buffer chunk) {
+			if (this.failed) {
+				return;
+			}
+			if (exceedsLimit((long) this.body.readableBytes() + chunk.length())) {
+				fail();
+				this.context.fail(REQUEST_ENTITY_TOO_LARGE);
+				return;
+			}
+			this.body.writeBytes(chunk.getByteBuf());
+		}
+
+		private void handleException(Throwable ex) {
+			if (!this.failed) {
+				fail();
+				this.context.fail(ex);
+			}
+		}
+
+		private void handleEnd(Void v) {
+			if (this.failed) {
+				return;
+			}
+			this.context.put(BODY_KEY, this.body);
+			this.context.addBodyEndHandler(end -> release());
+			this.next.handle(this.context);
+		}
+
+		private void fail() {
+			this.failed = true;
+			release();
+		}
+
+		private void release() {
+			if (!this.released) {
+				this.released = true;
+				this.body.release();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,241 @@
+package roman.vertx.web.handler;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import roman.vertx.web.http.MediaType;
+import roman.vertx.web.method.RequestMappingInfo;
+import roman.vertx.web.util.UriUtils;
+
+/**
+ * Dispatches requests to handler methods through a trie of path segments,
+ * from a single catch-all route, instead of one Vert.x route per mapping that
+ * the router would have to test in turn.
+ *
+ * <p>
+ * Each node of the trie has children keyed by literal path segment and at most
+ * one child for a {@code :name} path variable, whose value is captured. The
+ * mappings ending at a node are discriminated by HTTP method, 'Content-Type'
+ * and 'Accept' header, in registration order. A lookup therefore walks the
+ * request path once, independent of the number of mappings. Literal segments
+ * take precedence over path variables at the same position.
+ *
+ * <p>
+ * Only mappings whose pattern consists of literal segments and whole-segment
+ * {@code :name} variables are {@linkplain #supports supported}; others are
+ * registered as regular routes. Requests without a match are passed on to the
+ * next route. The trie must be fully populated before the first request.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see AbstractHandlerMapping#setUseRequestMappingTrie(boolean)
+ */
+public class RequestMappingTrie implements Handler<RoutingContext> {
+
+	private static final char PATH_SEPARATOR = '/';
+
+	private static final char VARIABLE_PREFIX = ':';
+
+	private final Node root = new Node();
+
+	private int size;
+
+	private int maxVariables;
+
+	/**
+	 * Return the number of mappings held in the trie.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Whether the pattern of the given mapping can be held in the trie, i.e.
+	 * consists only of literal segments and whole-segment {@code :name}
+	 * variables.
+	 */
+	public boolean supports(RequestMappingInfo mapping) {
+		String pattern = mapping.getPatternsCondition().getPattern();
+		if (pattern == null || mapping.getPatternsCondition().isPattern()) {
+			return false;
+		}
+		for (String segment : StringUtils.tokenizeToStringArray(pattern, "/", false, true)) {
+			int index = segment.indexOf(VARIABLE_PREFIX);
+			if (index > 0 || (index == 0 && !isVariableName(segment))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isVariableName(String segment) {
+		if (segment.length() < 2 || !Character.isLetter(segment.charAt(1))) {
+			return false;
+		}
+		for (int i = 2; i < segment.length(); i++) {
+			char ch = segment.charAt(i);
+			if (!Character.isLetterOrDigit(ch) && ch != '_') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Add the given mapping and the handler to invoke for it.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the mapping is not {@linkplain #supports supported}
+	 */
+	public void add(RequestMappingInfo mapping, Handler<RoutingContext> handler) {
+		Assert.isTrue(supports(mapping), "Pattern not supported by RequestMappingTrie: " + mapping);
+		List<String> variableNames = new ArrayList<String>();
+		Node node = this.root;
+		for (String segment : StringUtils.tokenizeToStringArray(mapping.getPatternsCondition().getPattern(), "/", false, true)) {
+			if (segment.charAt(0) == VARIABLE_PREFIX) {
+				variableNames.add(segment.substring(1));
+				node = node.getOrCreateVariableChild();
+			} else {
+				node = node.getOrCreateChild(segment);
+			}
+		}
+		node.entries.add(new Entry(mapping, variableNames.toArray(new String[variableNames.size()]), handler));
+		this.maxVariables = Math.max(this.maxVariables, variableNames.size());
+		this.size++;
+	}
+
+	@Override
+	public void handle(RoutingContext context) {
+		String path = getLookupPath(context);
+		String[] values = (this.maxVariables > 0 ? new String[this.maxVariables] : null);
+		if (path == null || !match(context, this.root, path, 0, values, 0)) {
+			context.next();
+		}
+	}
+
+	private static String getLookupPath(RoutingContext context) {
+		String path = context.normalisedPath();
+		String mountPoint = context.mountPoint();
+		if (path != null && mountPoint != null) {
+			path = (path.startsWith(mountPoint) ? path.substring(mountPoint.length()) : null);
+		}
+		return path;
+	}
+
+	private boolean match(RoutingContext context, Node node, String path, int index, String[] values, int count) {
+		int length = path.length();
+		while (index < length && path.charAt(index) == PATH_SEPARATOR) {
+			index++;
+		}
+		if (index == length) {
+			return dispatch(context, node, values, count);
+		}
+		int end = path.indexOf(PATH_SEPARATOR, index);
+		if (end == -1) {
+			end = length;
+		}
+		String segment = path.substring(index, end);
+		if (node.children != null) {
+			Node child = node.children.get(segment);
+			if (child != null && match(context, child, path, end, values, count)) {
+				return true;
+			}
+		}
+		if (node.variableChild != null) {
+			values[count] = segment;
+			if (match(context, node.variableChild, path, end, values, count + 1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean dispatch(RoutingContext context, Node node, String[] values, int count) {
+		HttpServerRequest request = context.request();
+		for (Entry entry : node.entries) {
+			RequestMappingInfo mapping = entry.mapping;
+			if (!mapping.getMethodsCondition().matches(request.method())) {
+				continue;
+			}
+			if (!mapping.getConsumesCondition().matches(request.getHeader(HttpHeaders.CONTENT_TYPE))) {
+				continue;
+			}
+			if (!mapping.getProducesCondition().isEmpty()) {
+				MediaType mediaType = mapping.getProducesCondition().getProducibleMediaType(request.getHeader(HttpHeaders.ACCEPT));
+				if (mediaType == null) {
+					continue;
+				}
+				context.setAcceptableContentType(mediaType.toString());
+			}
+			for (int i = 0; i < count; i++) {
+				request.params().add(entry.variableNames[i], UriUtils.decodePathSegment(values[i]));
+			}
+			entry.handler.handle(context);
+			return true;
+		}
+		return false;
+	}
+
+
+	/**
+	 * A trie node, for one path segment.
+	 */
+	private static class Node {
+
+		private Map<String, Node> children;
+
+		private Node variableChild;
+
+		private final List<Entry> entries = new ArrayList<Entry>(1);
+
+		public Node getOrCreateChild(String segment) {
+			if (this.children == null) {
+				this.children = new HashMap<String, Node>();
+			}
+			Node child = this.children.get(segment);
+			if (child == null) {
+				child = new Node();
+				this.children.put(segment, child);
+			}
+			return child;
+		}
+
+		public Node getOrCreateVariableChild() {
+			if (this.variableChild == null) {
+				this.variableChild = new Node();
+			}
+			return this.variableChild;
+		}
+	}
+
+
+	/**
+	 * A mapping ending at a node, with the names of the variables captured
+	 * on the way there.
+	 */
+	private static class Entry {
+
+		private final RequestMappingInfo mapping;
+
+		private final String[] variableNames;
+
+		private final Handler<RoutingContext> handler;
+
+		public Entry(RequestMappingInfo mapping, String[] variableNames, Handler<RoutingContext> handler) {
+			this.mapping = mapping;
+			this.variableNames = variableNames;
+			this.handler = handler;
+		}
+	}
+
+}
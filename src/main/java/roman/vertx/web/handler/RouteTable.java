@@ -0,0 +1,103 @@
+package roman.vertx.web.handler;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * An immutable, ordered list of routes and their handlers, built once by a
+ * handler mapping and registered with any number of {@link Router}s, e.g. one
+ * per verticle instance. The handlers are shared by all routers and must
+ * therefore be safe to call from several event loops at once; those created by
+ * {@link AbstractHandlerMapping} are.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see AbstractHandlerMapping#getRouteTable()
+ */
+public final class RouteTable {
+
+	private final List<Entry> entries;
+
+	private RouteTable(List<Entry> entries) {
+		this.entries = Collections.unmodifiableList(new ArrayList<Entry>(entries));
+	}
+
+	/**
+	 * Return the number of routes in the table.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Add the routes of this table to the given router, in order.
+	 */
+	public Router registerRoutes(Router router) {
+		Assert.notNull(router, "Router must not be null");
+		for (Entry entry : this.entries) {
+			entry.routeFactory.apply(router).handler(entry.handler);
+		}
+		return router;
+	}
+
+	/**
+	 * Return a builder to add routes to in order.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+
+	/**
+	 * Collects the routes of a {@link RouteTable}.
+	 */
+	public static final class Builder {
+
+		private final List<Entry> entries = new ArrayList<Entry>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Add a route.
+		 * 
+		 * @param routeFactory
+		 *            creates and configures the route on a given router
+		 * @param handler
+		 *            the handler of the route
+		 */
+		public Builder route(Function<Router, Route> routeFactory, Handler<RoutingContext> handler) {
+			Assert.notNull(routeFactory, "Route factory must not be null");
+			Assert.notNull(handler, "Handler must not be null");
+			this.entries.add(new Entry(routeFactory, handler));
+			return this;
+		}
+
+		public RouteTable build() {
+			return new RouteTable(this.entries);
+		}
+	}
+
+
+	private static final class Entry {
+
+		private final Function<Router, Route> routeFactory;
+
+		private final Handler<RoutingContext> handler;
+
+		public Entry(Function<Router, Route> routeFactory, Handler<RoutingContext> handler) {
+			this.routeFactory = routeFactory;
+			this.handler = handler;
+		}
+	}
+
+}
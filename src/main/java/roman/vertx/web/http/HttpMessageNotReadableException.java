@@ -0,0 +1,36 @@
+package roman.vertx.web.http;
+
+/**
+ * Thrown by argument resolvers when the request body cannot be read, for
+ * example when it is missing or is not valid JSON for the target type. Results
+ * in a 400 response.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+@SuppressWarnings("serial")
+public class HttpMessageNotReadableException extends RuntimeException {
+
+	/**
+	 * Create a new HttpMessageNotReadableException.
+	 * 
+	 * @param msg
+	 *            the detail message
+	 */
+	public HttpMessageNotReadableException(String msg) {
+		super(msg);
+	}
+
+	/**
+	 * Create a new HttpMessageNotReadableException.
+	 * 
+	 * @param msg
+	 *            the detail message
+	 * @param cause
+	 *            the root cause (if any)
+	 */
+	public HttpMessageNotReadableException(String msg, Throwable cause) {
+		super(msg, cause);
+	}
+
+}
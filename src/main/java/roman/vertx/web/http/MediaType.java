@@ -17,9 +17,18 @@ import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.comparator.CompoundComparator;
 
+import roman.vertx.web.util.ConcurrentLruCache;
+
 /**
  * A sub-class of {@link MimeType} that adds support for quality parameters as
  * defined in the HTTP specification.
+ *
+ * <p>
+ * Instances are immutable. {@link #parseMediaType(String)} and
+ * {@link #valueOf(String)} return interned instances from a bounded cache
+ * keyed by the string value, so repeated parsing of the same header value
+ * neither tokenizes nor allocates, and equal values usually share the same
+ * instance.
  * 
  * @author RomanLuo
  * @email 530827804@qq.com
@@ -172,6 +181,15 @@ public class MediaType extends MimeType implements Serializable {
 
 	private static final String PARAM_QUALITY_FACTOR = "q";
 
+	private static final int CACHE_LIMIT = 256;
+
+	private static final ConcurrentLruCache<String, MediaType> cachedMediaTypes =
+			new ConcurrentLruCache<String, MediaType>(CACHE_LIMIT, MediaType::parseMediaTypeInternal);
+
+	private transient volatile String stringValue;
+
+	private transient volatile int hashCodeValue;
+
 	static {
 		ALL = valueOf(ALL_VALUE);
 		APPLICATION_ATOM_XML = valueOf(APPLICATION_ATOM_XML_VALUE);
@@ -320,6 +338,9 @@ public class MediaType extends MimeType implements Serializable {
 	 *         {@code false} otherwise
 	 */
 	public boolean includes(MediaType other) {
+		if (this == other) {
+			return true;
+		}
 		return super.includes(other);
 	}
 
@@ -337,9 +358,46 @@ public class MediaType extends MimeType implements Serializable {
 	 *         media type; {@code false} otherwise
 	 */
 	public boolean isCompatibleWith(MediaType other) {
+		if (this == other) {
+			return true;
+		}
 		return super.isCompatibleWith(other);
 	}
 
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		return super.equals(other);
+	}
+
+	/**
+	 * Computed once, as instances are immutable.
+	 */
+	@Override
+	public int hashCode() {
+		int hashCode = this.hashCodeValue;
+		if (hashCode == 0) {
+			hashCode = super.hashCode();
+			this.hashCodeValue = hashCode;
+		}
+		return hashCode;
+	}
+
+	/**
+	 * Computed once, as instances are immutable.
+	 */
+	@Override
+	public String toString() {
+		String stringValue = this.stringValue;
+		if (stringValue == null) {
+			stringValue = super.toString();
+			this.stringValue = stringValue;
+		}
+		return stringValue;
+	}
+
 	/**
 	 * Return a replica of this instance with the quality value of the given
 	 * MediaType.
@@ -383,7 +441,8 @@ public class MediaType extends MimeType implements Serializable {
 	}
 
 	/**
-	 * Parse the given String into a single {@code MediaType}.
+	 * Parse the given String into a single {@code MediaType}. The result is
+	 * taken from, or added to, the cache of interned media types.
 	 * 
 	 * @param mediaType
 	 *            the string to parse
@@ -392,6 +451,13 @@ public class MediaType extends MimeType implements Serializable {
 	 *             if the string cannot be parsed
 	 */
 	public static MediaType parseMediaType(String mediaType) {
+		if (!StringUtils.hasLength(mediaType)) {
+			throw new InvalidMediaTypeException(mediaType, "'mediaType' must not be empty");
+		}
+		return cachedMediaTypes.get(mediaType);
+	}
+
+	private static MediaType parseMediaTypeInternal(String mediaType) {
 		MimeType type;
 		try {
 			type = MimeTypeUtils.parseMimeType(mediaType);
@@ -409,7 +475,10 @@ public class MediaType extends MimeType implements Serializable {
 	 * Parse the given, comma-separated string into a list of {@code MediaType}
 	 * objects.
 	 * <p>
-	 * This method can be used to parse an Accept or Content-Type header.
+	 * This method can be used to parse an Accept or Content-Type header. A
+	 * header with a single media type, the common case, is parsed without
+	 * tokenizing, into an immutable single-element list. Commas within quoted
+	 * parameter values do not separate media types.
 	 * 
 	 * @param mediaTypes
 	 *            the string to parse
@@ -421,14 +490,39 @@ public class MediaType extends MimeType implements Serializable {
 		if (!StringUtils.hasLength(mediaTypes)) {
 			return Collections.emptyList();
 		}
-		String[] tokens = mediaTypes.split(",\\s*");
-		List<MediaType> result = new ArrayList<MediaType>(tokens.length);
-		for (String token : tokens) {
-			result.add(parseMediaType(token));
+		if (mediaTypes.indexOf(',') == -1) {
+			return Collections.singletonList(parseMediaType(mediaTypes.trim()));
+		}
+		List<MediaType> result = new ArrayList<MediaType>();
+		boolean inQuotes = false;
+		int startIndex = 0;
+		for (int i = 0; i < mediaTypes.length(); i++) {
+			char ch = mediaTypes.charAt(i);
+			if (ch == '"') {
+				inQuotes = !inQuotes;
+			} else if (ch == ',' && !inQuotes) {
+				addMediaType(mediaTypes, startIndex, i, result);
+				startIndex = i + 1;
+			} else if (ch == '\\' && inQuotes) {
+				i++;
+			}
 		}
+		addMediaType(mediaTypes, startIndex, mediaTypes.length(), result);
 		return result;
 	}
 
+	private static void addMediaType(String mediaTypes, int beginIndex, int endIndex, List<MediaType> result) {
+		while (beginIndex < endIndex && Character.isWhitespace(mediaTypes.charAt(beginIndex))) {
+			beginIndex++;
+		}
+		while (endIndex > beginIndex && Character.isWhitespace(mediaTypes.charAt(endIndex - 1))) {
+			endIndex--;
+		}
+		if (beginIndex < endIndex) {
+			result.add(parseMediaType(mediaTypes.substring(beginIndex, endIndex)));
+		}
+	}
+
 	/**
 	 * Return a string representation of the given list of {@code MediaType}
 	 * objects.
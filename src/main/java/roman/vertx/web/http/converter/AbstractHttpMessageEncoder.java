@@ -0,0 +1,169 @@
+package roman.vertx.web.http.converter;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import roman.vertx.web.http.MediaType;
+import roman.vertx.web.util.ConcurrentLruCache;
+
+/**
+ * Abstract base class for most {@link HttpMessageEncoder} implementations.
+ *
+ * <p>
+ * This base class adds support for setting supported {@code MediaTypes},
+ * through the constructor. It also sets the {@code Content-Type} and
+ * {@code Content-Length} headers, and writes the encoded value as a single
+ * {@link Buffer}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public abstract class AbstractHttpMessageEncoder implements HttpMessageEncoder {
+
+	private static final String PARAM_CHARSET = "charset";
+
+	private static final int CONTENT_TYPE_CACHE_LIMIT = 64;
+
+	private final List<MediaType> supportedMediaTypes;
+
+	private final Charset defaultCharset;
+
+	private final ConcurrentLruCache<MediaType, MediaType> contentTypeCache =
+			new ConcurrentLruCache<MediaType, MediaType>(CONTENT_TYPE_CACHE_LIMIT, this::resolveContentType);
+
+	/**
+	 * Construct an {@code AbstractHttpMessageEncoder} with multiple supported
+	 * media types.
+	 */
+	protected AbstractHttpMessageEncoder(MediaType... supportedMediaTypes) {
+		this(null, supportedMediaTypes);
+	}
+
+	/**
+	 * Construct an {@code AbstractHttpMessageEncoder} with a default charset,
+	 * added to the content type if it does not specify one, and multiple
+	 * supported media types.
+	 */
+	protected AbstractHttpMessageEncoder(Charset defaultCharset, MediaType... supportedMediaTypes) {
+		this.defaultCharset = defaultCharset;
+		this.supportedMediaTypes = Collections.unmodifiableList(Arrays.asList(supportedMediaTypes));
+	}
+
+	@Override
+	public List<MediaType> getSupportedMediaTypes() {
+		return this.supportedMediaTypes;
+	}
+
+	/**
+	 * Return the default charset, if any.
+	 */
+	public Charset getDefaultCharset() {
+		return this.defaultCharset;
+	}
+
+	/**
+	 * This implementation checks if the given class is
+	 * {@linkplain #supports(Class) supported}, and if the
+	 * {@linkplain #getSupportedMediaTypes() supported media types}
+	 * {@linkplain MediaType#includes(MediaType) include} the given media type.
+	 */
+	@Override
+	public boolean canEncode(Class<?> clazz, MediaType mediaType) {
+		return supports(clazz) && canEncode(mediaType);
+	}
+
+	/**
+	 * Returns {@code true} if the given media type includes any of the
+	 * {@linkplain #getSupportedMediaTypes() supported media types}.
+	 */
+	protected boolean canEncode(MediaType mediaType) {
+		if (mediaType == null || MediaType.ALL.equals(mediaType)) {
+			return true;
+		}
+		for (MediaType supportedMediaType : getSupportedMediaTypes()) {
+			if (supportedMediaType.isCompatibleWith(mediaType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This implementation sets the default headers by calling
+	 * {@link #getDefaultContentType}, encodes the value by calling
+	 * {@link #encodeInternal}, and ends the response with the result.
+	 */
+	@Override
+	public final void encode(Object value, MediaType contentType, HttpServerResponse response) throws IOException {
+		MediaType contentTypeToUse = this.contentTypeCache.get(contentType != null ? contentType : MediaType.ALL);
+		Buffer buffer = encodeInternal(value, contentTypeToUse);
+		if (!response.headers().contains(HttpHeaders.CONTENT_TYPE)) {
+			response.putHeader(HttpHeaders.CONTENT_TYPE, contentTypeToUse.toString());
+		}
+		if (!response.isChunked() && !response.headers().contains(HttpHeaders.CONTENT_LENGTH)) {
+			response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(buffer.length()));
+		}
+		response.end(buffer);
+	}
+
+	/**
+	 * Resolve the concrete content type to write for the given requested
+	 * one. Results are cached per requested content type.
+	 */
+	private MediaType resolveContentType(MediaType contentType) {
+		MediaType contentTypeToUse = contentType;
+		if (contentTypeToUse.isWildcardType() || contentTypeToUse.isWildcardSubtype()) {
+			contentTypeToUse = getDefaultContentType();
+		}
+		if (contentTypeToUse.getCharSet() == null && this.defaultCharset != null) {
+			Map<String, String> parameters = new LinkedHashMap<String, String>(contentTypeToUse.getParameters());
+			parameters.put(PARAM_CHARSET, this.defaultCharset.name());
+			contentTypeToUse = new MediaType(contentTypeToUse, parameters);
+		}
+		return contentTypeToUse;
+	}
+
+	/**
+	 * Returns the default content type for the given type. Called when
+	 * {@link #encode} is invoked without a specified, concrete content type.
+	 * <p>
+	 * By default, this returns the first element of the
+	 * {@link #getSupportedMediaTypes() supportedMediaTypes} property, if any.
+	 */
+	protected MediaType getDefaultContentType() {
+		List<MediaType> mediaTypes = getSupportedMediaTypes();
+		return (!mediaTypes.isEmpty() ? mediaTypes.get(0) : MediaType.APPLICATION_OCTET_STREAM);
+	}
+
+	/**
+	 * Indicates whether the given class is supported by this encoder.
+	 * 
+	 * @param clazz
+	 *            the class to test for support
+	 * @return {@code true} if supported; {@code false} otherwise
+	 */
+	protected abstract boolean supports(Class<?> clazz);
+
+	/**
+	 * Abstract template method that encodes the given value.
+	 * 
+	 * @param value
+	 *            the value to encode
+	 * @param contentType
+	 *            the concrete content type to encode for
+	 * @return the encoded value
+	 * @throws IOException
+	 *             in case of I/O or encoding errors
+	 */
+	protected abstract Buffer encodeInternal(Object value, MediaType contentType) throws IOException;
+
+}
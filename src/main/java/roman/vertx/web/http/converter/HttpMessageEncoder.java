@@ -0,0 +1,55 @@
+package roman.vertx.web.http.converter;
+
+import io.vertx.core.http.HttpServerResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import roman.vertx.web.http.MediaType;
+
+/**
+ * Strategy interface that specifies an encoder that can write a value of a
+ * given class and media type to the response.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.method.annotation.HttpMessageEncoderReturnValueHandler
+ */
+public interface HttpMessageEncoder {
+
+	/**
+	 * Indicates whether the given class can be written by this encoder.
+	 * 
+	 * @param clazz
+	 *            the class to test for writability
+	 * @param mediaType
+	 *            the media type to write, can be {@code null} if not
+	 *            specified. Typically the value of an {@code Accept} header.
+	 * @return {@code true} if writable; {@code false} otherwise
+	 */
+	boolean canEncode(Class<?> clazz, MediaType mediaType);
+
+	/**
+	 * Return the list of {@link MediaType} objects supported by this encoder.
+	 */
+	List<MediaType> getSupportedMediaTypes();
+
+	/**
+	 * Write the given value to the response, and end the response.
+	 * 
+	 * @param value
+	 *            the value to write. The type of this object must have
+	 *            previously been passed to {@link #canEncode} which must have
+	 *            returned {@code true}.
+	 * @param contentType
+	 *            the content type to use when writing. May be {@code null} or
+	 *            a wildcard type to indicate that the default content type of
+	 *            the encoder must be used.
+	 * @param response
+	 *            the response to write to
+	 * @throws IOException
+	 *             in case of I/O or encoding errors
+	 */
+	void encode(Object value, MediaType contentType, HttpServerResponse response) throws IOException;
+
+}
@@ -0,0 +1,68 @@
+package roman.vertx.web.http.converter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+
+import java.io.IOException;
+
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import roman.vertx.web.http.MediaType;
+
+/**
+ * Implementation of {@link HttpMessageEncoder} that can write JSON using
+ * Jackson's {@link ObjectMapper}, straight into the response buffer.
+ *
+ * <p>
+ * By default, this encoder supports {@code application/json} and
+ * {@code application/*+json}, and uses the Vert.x {@link Json#mapper}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class JsonHttpMessageEncoder extends AbstractHttpMessageEncoder {
+
+	private static final int INITIAL_BUFFER_SIZE = 256;
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Construct a new {@code JsonHttpMessageEncoder} using the Vert.x
+	 * {@link Json#mapper}.
+	 */
+	public JsonHttpMessageEncoder() {
+		this(Json.mapper);
+	}
+
+	/**
+	 * Construct a new {@code JsonHttpMessageEncoder} with a custom
+	 * {@link ObjectMapper}.
+	 */
+	public JsonHttpMessageEncoder(ObjectMapper objectMapper) {
+		super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+	}
+
+	public ObjectMapper getObjectMapper() {
+		return this.objectMapper;
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return this.objectMapper.canSerialize(clazz);
+	}
+
+	@Override
+	protected Buffer encodeInternal(Object value, MediaType contentType) throws IOException {
+		ByteBuf buffer = Unpooled.buffer(INITIAL_BUFFER_SIZE);
+		this.objectMapper.writeValue(new ByteBufOutputStream(buffer), value);
+		return Buffer.buffer(buffer);
+	}
+
+}
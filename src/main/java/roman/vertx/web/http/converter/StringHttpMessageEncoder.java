@@ -0,0 +1,50 @@
+package roman.vertx.web.http.converter;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import roman.vertx.web.http.MediaType;
+
+/**
+ * Implementation of {@link HttpMessageEncoder} that writes the {@code String}
+ * value of any object as {@code text/plain}, in the charset of the content
+ * type or UTF-8 by default.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class StringHttpMessageEncoder extends AbstractHttpMessageEncoder {
+
+	/**
+	 * A default constructor that uses {@code "UTF-8"} as the default charset.
+	 */
+	public StringHttpMessageEncoder() {
+		this(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A constructor accepting a default charset to use if the requested
+	 * content type does not specify one.
+	 */
+	public StringHttpMessageEncoder(Charset defaultCharset) {
+		super(defaultCharset, MediaType.TEXT_PLAIN);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return true;
+	}
+
+	@Override
+	protected Buffer encodeInternal(Object value, MediaType contentType) throws IOException {
+		Charset charset = contentType.getCharSet();
+		if (charset == null) {
+			charset = (getDefaultCharset() != null ? getDefaultCharset() : StandardCharsets.UTF_8);
+		}
+		return Buffer.buffer(String.valueOf(value).getBytes(charset));
+	}
+
+}
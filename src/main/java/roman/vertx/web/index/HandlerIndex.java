@@ -0,0 +1,31 @@
+package roman.vertx.web.index;
+
+import java.util.List;
+
+/**
+ * The request mappings of one handler class, generated at compile time by
+ * {@link RequestMappingIndexProcessor} so that they can be registered without
+ * scanning the application context and reflecting over every bean type.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see RequestMappingIndexLoader
+ */
+public interface HandlerIndex {
+
+	/**
+	 * Return the binary name of the handler class.
+	 */
+	String getHandlerTypeName();
+
+	/**
+	 * Return the type-level mapping, or {@code null} if there is none.
+	 */
+	RequestMappingMetadata getTypeMapping();
+
+	/**
+	 * Return the handler methods of the class, including inherited ones.
+	 */
+	List<HandlerMethodMetadata> getHandlerMethods();
+
+}
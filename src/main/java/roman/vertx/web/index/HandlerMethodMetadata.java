@@ -0,0 +1,55 @@
+package roman.vertx.web.index;
+
+import org.springframework.util.Assert;
+
+/**
+ * A handler method recorded in a {@link HandlerIndex}: its name, the erased
+ * types of its parameters and its method-level {@code @RequestMapping}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public final class HandlerMethodMetadata {
+
+	private final String name;
+
+	private final String[] parameterTypeNames;
+
+	private final RequestMappingMetadata mapping;
+
+	/**
+	 * @param name
+	 *            the method name
+	 * @param parameterTypeNames
+	 *            the parameter types, in the format understood by
+	 *            {@link org.springframework.util.ClassUtils#forName}
+	 * @param mapping
+	 *            the method-level mapping
+	 */
+	public HandlerMethodMetadata(String name, String[] parameterTypeNames, RequestMappingMetadata mapping) {
+		Assert.hasText(name, "Name must not be empty");
+		Assert.notNull(parameterTypeNames, "Parameter type names must not be null");
+		Assert.notNull(mapping, "RequestMappingMetadata must not be null");
+		this.name = name;
+		this.parameterTypeNames = parameterTypeNames;
+		this.mapping = mapping;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public String[] getParameterTypeNames() {
+		return this.parameterTypeNames;
+	}
+
+	public RequestMappingMetadata getMapping() {
+		return this.mapping;
+	}
+
+	@Override
+	public String toString() {
+		return this.name + "(" + String.join(",", this.parameterTypeNames) + ")";
+	}
+
+}
@@ -0,0 +1,80 @@
+package roman.vertx.web.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Loads the {@link HandlerIndex} classes listed in the
+ * {@value #INDEX_LOCATION} files on the class path, as written by
+ * {@link RequestMappingIndexProcessor}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public abstract class RequestMappingIndexLoader {
+
+	/**
+	 * The location of the index files, listing one generated
+	 * {@link HandlerIndex} class per line.
+	 */
+	public static final String INDEX_LOCATION = "META-INF/vertx-request-mapping.index";
+
+	private static final Log logger = LogFactory.getLog(RequestMappingIndexLoader.class);
+
+	/**
+	 * Load the index from the given class loader.
+	 *
+	 * @return the handler indexes, or {@code null} if there are no index files
+	 * @throws IllegalStateException
+	 *             if an index file cannot be read or lists a class that cannot
+	 *             be instantiated
+	 */
+	public static List<HandlerIndex> load(ClassLoader classLoader) {
+		Set<String> classNames = new LinkedHashSet<String>();
+		try {
+			Enumeration<URL> urls = (classLoader != null ? classLoader.getResources(INDEX_LOCATION) : ClassLoader.getSystemResources(INDEX_LOCATION));
+			if (!urls.hasMoreElements()) {
+				return null;
+			}
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Loading request mapping index from " + url);
+				}
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						line = line.trim();
+						if (!line.isEmpty() && !line.startsWith("#")) {
+							classNames.add(line);
+						}
+					}
+				}
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException("Unable to load request mapping index from location [" + INDEX_LOCATION + "]", ex);
+		}
+		List<HandlerIndex> result = new ArrayList<HandlerIndex>(classNames.size());
+		for (String className : classNames) {
+			try {
+				result.add((HandlerIndex) ClassUtils.forName(className, classLoader).newInstance());
+			} catch (Throwable ex) {
+				throw new IllegalStateException("Unable to instantiate request mapping index [" + className + "]", ex);
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,363 @@
+package roman.vertx.web.index;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes a {@link HandlerIndex} class for every
+ * concrete handler class being compiled, that is every class annotated with
+ * {@code @Controller} or {@code @RequestMapping} directly, as a
+ * meta-annotation or on a super type, and lists the generated classes in
+ * {@value RequestMappingIndexLoader#INDEX_LOCATION}.
+ *
+ * <p>
+ * Handler methods are found the way they are at runtime: all methods of the
+ * class including inherited ones, with a {@code @RequestMapping} on the
+ * method itself or on a method it overrides.
+ *
+ * <p>
+ * Entries of an existing index in the class output are kept for handler
+ * classes that still exist and were not processed again, so that incremental
+ * compilation does not drop the classes it leaves alone. Classes compiled
+ * without the processor on the class path are not listed.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class RequestMappingIndexProcessor extends AbstractProcessor {
+
+	private static final String CONTROLLER = "org.springframework.stereotype.Controller";
+
+	private static final String REQUEST_MAPPING = "roman.vertx.web.bind.annotation.RequestMapping";
+
+	private static final String CLASS_NAME_SUFFIX = "$$RequestMappingIndex";
+
+	private final Set<String> indexClassNames = new LinkedHashSet<String>();
+
+	private final Set<String> processedTypeNames = new HashSet<String>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton("*");
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeIndexFile();
+			return false;
+		}
+		for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+			processType(type);
+		}
+		return false;
+	}
+
+	private void processType(TypeElement type) {
+		this.processedTypeNames.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+		if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+				&& (!type.getNestingKind().isNested() || type.getModifiers().contains(Modifier.STATIC)) && isHandler(type)) {
+			List<ExecutableElement> handlerMethods = new ArrayList<ExecutableElement>();
+			List<AnnotationMirror> methodMappings = new ArrayList<AnnotationMirror>();
+			for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+				AnnotationMirror mapping = findMethodAnnotation(method, type);
+				if (mapping != null) {
+					handlerMethods.add(method);
+					methodMappings.add(mapping);
+				}
+			}
+			if (!handlerMethods.isEmpty()) {
+				writeHandlerIndex(type, findTypeAnnotation(type, REQUEST_MAPPING, new HashSet<String>()), handlerMethods, methodMappings);
+			}
+		}
+		for (TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements())) {
+			processType(nestedType);
+		}
+	}
+
+	private boolean isHandler(TypeElement type) {
+		return (findTypeAnnotation(type, CONTROLLER, new HashSet<String>()) != null || findTypeAnnotation(type, REQUEST_MAPPING, new HashSet<String>()) != null);
+	}
+
+	/**
+	 * Find the given annotation on the type, as a meta-annotation, or on a
+	 * super class or interface, like
+	 * {@link org.springframework.core.annotation.AnnotationUtils#findAnnotation(Class, Class)}
+	 * does.
+	 */
+	private AnnotationMirror findTypeAnnotation(TypeElement type, String annotationName, Set<String> visited) {
+		if (!visited.add(type.getQualifiedName().toString())) {
+			return null;
+		}
+		AnnotationMirror annotation = findAnnotation(type, annotationName, visited);
+		if (annotation != null) {
+			return annotation;
+		}
+		for (TypeMirror interfaceType : type.getInterfaces()) {
+			annotation = findTypeAnnotation(asTypeElement(interfaceType), annotationName, visited);
+			if (annotation != null) {
+				return annotation;
+			}
+		}
+		TypeElement superclass = asTypeElement(type.getSuperclass());
+		return (superclass != null ? findTypeAnnotation(superclass, annotationName, visited) : null);
+	}
+
+	/**
+	 * Find the given annotation on the element or as a meta-annotation of
+	 * its annotations.
+	 */
+	private AnnotationMirror findAnnotation(Element element, String annotationName, Set<String> visited) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (annotationType(annotation).getQualifiedName().contentEquals(annotationName)) {
+				return annotation;
+			}
+		}
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			TypeElement annotationType = annotationType(annotation);
+			if (!annotationType.getQualifiedName().toString().startsWith("java.lang.annotation") && visited.add(annotationType.getQualifiedName().toString())) {
+				AnnotationMirror metaAnnotation = findAnnotation(annotationType, annotationName, visited);
+				if (metaAnnotation != null) {
+					return metaAnnotation;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find {@code @RequestMapping} on the method or on a method of a super
+	 * type that it overrides.
+	 */
+	private AnnotationMirror findMethodAnnotation(ExecutableElement method, TypeElement type) {
+		AnnotationMirror annotation = findAnnotation(method, REQUEST_MAPPING, new HashSet<String>());
+		if (annotation != null) {
+			return annotation;
+		}
+		Elements elements = processingEnv.getElementUtils();
+		for (TypeElement superType : getSuperTypes(type)) {
+			for (ExecutableElement candidate : ElementFilter.methodsIn(superType.getEnclosedElements())) {
+				if (candidate != method && elements.overrides(method, candidate, type)) {
+					annotation = findAnnotation(candidate, REQUEST_MAPPING, new HashSet<String>());
+					if (annotation != null) {
+						return annotation;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private Set<TypeElement> getSuperTypes(TypeElement type) {
+		Set<TypeElement> result = new LinkedHashSet<TypeElement>();
+		collectSuperTypes(type, result);
+		result.remove(type);
+		return result;
+	}
+
+	private void collectSuperTypes(TypeElement type, Set<TypeElement> result) {
+		if (type == null || !result.add(type)) {
+			return;
+		}
+		collectSuperTypes(asTypeElement(type.getSuperclass()), result);
+		for (TypeMirror interfaceType : type.getInterfaces()) {
+			collectSuperTypes(asTypeElement(interfaceType), result);
+		}
+	}
+
+	private static TypeElement asTypeElement(TypeMirror type) {
+		return (type.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) type).asElement() : null);
+	}
+
+	private static TypeElement annotationType(AnnotationMirror annotation) {
+		return (TypeElement) annotation.getAnnotationType().asElement();
+	}
+
+	private void writeHandlerIndex(TypeElement type, AnnotationMirror typeMapping, List<ExecutableElement> handlerMethods, List<AnnotationMirror> methodMappings) {
+		Elements elements = processingEnv.getElementUtils();
+		String binaryName = elements.getBinaryName(type).toString();
+		PackageElement packageElement = elements.getPackageOf(type);
+		String packageName = packageElement.getQualifiedName().toString();
+		String simpleName = (packageElement.isUnnamed() ? binaryName : binaryName.substring(packageName.length() + 1)) + CLASS_NAME_SUFFIX;
+		String className = (packageElement.isUnnamed() ? simpleName : packageName + "." + simpleName);
+
+		StringBuilder source = new StringBuilder();
+		if (!packageElement.isUnnamed()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("/**\n * Request mappings of {@code ").append(type.getQualifiedName()).append("}, generated by {@code ")
+				.append(getClass().getName()).append("}.\n */\n");
+		source.append("public final class ").append(simpleName).append(" implements roman.vertx.web.index.HandlerIndex {\n\n");
+		source.append("\t@Override\n\tpublic String getHandlerTypeName() {\n\t\treturn ").append(elements.getConstantExpression(binaryName))
+				.append(";\n\t}\n\n");
+		source.append("\t@Override\n\tpublic roman.vertx.web.index.RequestMappingMetadata getTypeMapping() {\n\t\treturn ")
+				.append(typeMapping != null ? mappingExpression(typeMapping) : "null").append(";\n\t}\n\n");
+		source.append("\t@Override\n\tpublic java.util.List<roman.vertx.web.index.HandlerMethodMetadata> getHandlerMethods() {\n");
+		source.append("\t\treturn java.util.Arrays.asList(");
+		for (int i = 0; i < handlerMethods.size(); i++) {
+			ExecutableElement method = handlerMethods.get(i);
+			source.append(i == 0 ? "\n" : ",\n");
+			source.append("\t\t\t\tnew roman.vertx.web.index.HandlerMethodMetadata(").append(elements.getConstantExpression(method.getSimpleName().toString()))
+					.append(", new String[] {");
+			List<? extends VariableElement> parameters = method.getParameters();
+			for (int j = 0; j < parameters.size(); j++) {
+				source.append(j == 0 ? " " : ", ").append(elements.getConstantExpression(typeName(parameters.get(j).asType())));
+			}
+			source.append(parameters.isEmpty() ? "}, " : " }, ").append(mappingExpression(methodMappings.get(i))).append(")");
+		}
+		source.append(");\n\t}\n\n}\n");
+
+		try {
+			try (Writer writer = processingEnv.getFiler().createSourceFile(className, type).openWriter()) {
+				writer.write(source.toString());
+			}
+			this.indexClassNames.add(className);
+		} catch (IOException ex) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Unable to write request mapping index " + className + ": " + ex, type);
+		}
+	}
+
+	private String mappingExpression(AnnotationMirror annotation) {
+		Elements elements = processingEnv.getElementUtils();
+		String value = "";
+		List<String> methods = new ArrayList<String>();
+		List<String> consumes = new ArrayList<String>();
+		List<String> produces = new ArrayList<String>();
+		String execution = "DEFAULT";
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+			String name = entry.getKey().getSimpleName().toString();
+			Object attribute = entry.getValue().getValue();
+			if (name.equals("value")) {
+				value = (String) attribute;
+			} else if (name.equals("method")) {
+				for (AnnotationValue method : asList(attribute)) {
+					methods.add("io.vertx.core.http.HttpMethod." + ((VariableElement) method.getValue()).getSimpleName());
+				}
+			} else if (name.equals("consumes")) {
+				for (AnnotationValue mediaType : asList(attribute)) {
+					consumes.add(elements.getConstantExpression(mediaType.getValue()));
+				}
+			} else if (name.equals("produces")) {
+				for (AnnotationValue mediaType : asList(attribute)) {
+					produces.add(elements.getConstantExpression(mediaType.getValue()));
+				}
+			} else if (name.equals("execution")) {
+				execution = ((VariableElement) attribute).getSimpleName().toString();
+			}
+		}
+		return "new roman.vertx.web.index.RequestMappingMetadata(" + elements.getConstantExpression(value) + ", new io.vertx.core.http.HttpMethod[] {"
+				+ String.join(", ", methods) + "}, new String[] {" + String.join(", ", consumes) + "}, new String[] {" + String.join(", ", produces)
+				+ "}, roman.vertx.web.bind.annotation.ExecutionMode." + execution + ")";
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<? extends AnnotationValue> asList(Object attribute) {
+		return (List<? extends AnnotationValue>) attribute;
+	}
+
+	/**
+	 * Return the name of the erased type as understood by
+	 * {@link org.springframework.util.ClassUtils#forName}.
+	 */
+	private String typeName(TypeMirror type) {
+		Types types = processingEnv.getTypeUtils();
+		TypeMirror erasure = types.erasure(type);
+		if (erasure.getKind().isPrimitive()) {
+			return erasure.getKind().name().toLowerCase();
+		}
+		if (erasure.getKind() == TypeKind.ARRAY) {
+			return typeName(((ArrayType) erasure).getComponentType()) + "[]";
+		}
+		return processingEnv.getElementUtils().getBinaryName(asTypeElement(erasure)).toString();
+	}
+
+	private void writeIndexFile() {
+		Set<String> existingClassNames = readExistingIndexFile();
+		for (String className : existingClassNames) {
+			String typeName = className.substring(0, className.length() - CLASS_NAME_SUFFIX.length());
+			if (!this.processedTypeNames.contains(typeName) && processingEnv.getElementUtils().getTypeElement(typeName.replace('$', '.')) != null) {
+				this.indexClassNames.add(className);
+			}
+		}
+		if (this.indexClassNames.isEmpty() && existingClassNames.isEmpty()) {
+			return;
+		}
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", RequestMappingIndexLoader.INDEX_LOCATION);
+			try (Writer writer = file.openWriter()) {
+				for (String className : this.indexClassNames) {
+					writer.write(className);
+					writer.write("\n");
+				}
+			}
+		} catch (IOException ex) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Unable to write " + RequestMappingIndexLoader.INDEX_LOCATION + ": " + ex);
+		}
+	}
+
+	/**
+	 * Read the index classes listed by an index file left in the class output
+	 * by an earlier compilation, like Spring's
+	 * {@code CandidateComponentsIndexer} does.
+	 */
+	private Set<String> readExistingIndexFile() {
+		Set<String> classNames = new LinkedHashSet<String>();
+		try {
+			FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", RequestMappingIndexLoader.INDEX_LOCATION);
+			try (Reader reader = file.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+				String line;
+				while ((line = lines.readLine()) != null) {
+					line = line.trim();
+					if (line.endsWith(CLASS_NAME_SUFFIX)) {
+						classNames.add(line);
+					}
+				}
+			}
+		} catch (FileNotFoundException | NoSuchFileException ex) {
+			// No index from an earlier compilation
+		} catch (IOException ex) {
+			processingEnv.getMessager().printMessage(Kind.WARNING, "Unable to read existing " + RequestMappingIndexLoader.INDEX_LOCATION + ": " + ex);
+		}
+		return classNames;
+	}
+
+}
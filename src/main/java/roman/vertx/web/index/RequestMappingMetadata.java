@@ -0,0 +1,67 @@
+package roman.vertx.web.index;
+
+import io.vertx.core.http.HttpMethod;
+
+import org.springframework.util.Assert;
+
+import roman.vertx.web.bind.annotation.ExecutionMode;
+import roman.vertx.web.bind.annotation.RequestMapping;
+
+/**
+ * The attributes of a {@link RequestMapping @RequestMapping} annotation,
+ * either read from the annotation at runtime or recorded in a
+ * {@link HandlerIndex} at compile time.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public final class RequestMappingMetadata {
+
+	private final String value;
+
+	private final HttpMethod[] method;
+
+	private final String[] consumes;
+
+	private final String[] produces;
+
+	private final ExecutionMode execution;
+
+	public RequestMappingMetadata(String value, HttpMethod[] method, String[] consumes, String[] produces, ExecutionMode execution) {
+		Assert.notNull(value, "Value must not be null");
+		Assert.notNull(method, "Methods must not be null");
+		Assert.notNull(consumes, "Consumes must not be null");
+		Assert.notNull(produces, "Produces must not be null");
+		Assert.notNull(execution, "ExecutionMode must not be null");
+		this.value = value;
+		this.method = method;
+		this.consumes = consumes;
+		this.produces = produces;
+		this.execution = execution;
+	}
+
+	public RequestMappingMetadata(RequestMapping annotation) {
+		this(annotation.value(), annotation.method(), annotation.consumes(), annotation.produces(), annotation.execution());
+	}
+
+	public String getValue() {
+		return this.value;
+	}
+
+	public HttpMethod[] getMethod() {
+		return this.method;
+	}
+
+	public String[] getConsumes() {
+		return this.consumes;
+	}
+
+	public String[] getProduces() {
+		return this.produces;
+	}
+
+	public ExecutionMode getExecution() {
+		return this.execution;
+	}
+
+}
@@ -33,6 +33,8 @@ public class HandlerMethod {
 
 	private final Object bean;
 
+	private final BeanFactory beanFactory;
+
 	private final Method method;
 
 	private final Method bridgedMethod;
@@ -47,6 +49,7 @@ public class HandlerMethod {
 		Assert.notNull(bean, "Bean is required");
 		Assert.notNull(method, "Method is required");
 		this.bean = bean;
+		this.beanFactory = null;
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
 		this.parameters = initMethodParameters();
@@ -60,6 +63,7 @@ public class HandlerMethod {
 		Assert.notNull(bean, "Bean is required");
 		Assert.notNull(methodName, "Method name is required");
 		this.bean = bean;
+		this.beanFactory = null;
 		this.method = bean.getClass().getMethod(methodName, parameterTypes);
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(this.method);
 		this.parameters = initMethodParameters();
@@ -77,6 +81,7 @@ public class HandlerMethod {
 		Assert.isTrue(beanFactory.containsBean(beanName),
 				"BeanFactory [" + beanFactory + "] does not contain bean [" + beanName + "]");
 		this.bean = beanName;
+		this.beanFactory = beanFactory;
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
 		this.parameters = initMethodParameters();
@@ -88,6 +93,7 @@ public class HandlerMethod {
 	protected HandlerMethod(HandlerMethod handlerMethod) {
 		Assert.notNull(handlerMethod, "HandlerMethod is required");
 		this.bean = handlerMethod.bean;
+		this.beanFactory = handlerMethod.beanFactory;
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
 		this.parameters = handlerMethod.parameters;
@@ -100,6 +106,7 @@ public class HandlerMethod {
 		Assert.notNull(handlerMethod, "HandlerMethod is required");
 		Assert.notNull(handler, "Handler object is required");
 		this.bean = handler;
+		this.beanFactory = handlerMethod.beanFactory;
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
 		this.parameters = handlerMethod.parameters;
@@ -134,10 +141,27 @@ public class HandlerMethod {
 	 * Note that if the bean type is a CGLIB-generated class, the original, user-defined class is returned.
 	 */
 	public Class<?> getBeanType() {
-		Class<?> clazz =this.bean.getClass();
+		Class<?> clazz = (this.bean instanceof String && this.beanFactory != null ?
+				this.beanFactory.getType((String) this.bean) : this.bean.getClass());
 		return ClassUtils.getUserClass(clazz);
 	}
 
+	/**
+	 * Returns {@code true} if this handler method was created with a bean name
+	 * whose bean has not been resolved yet, see {@link #createWithResolvedBean()}.
+	 */
+	public boolean isBeanNameOnly() {
+		return (this.bean instanceof String && this.beanFactory != null);
+	}
+
+	/**
+	 * Returns {@code true} if the bean is a singleton, so that a bean resolved
+	 * through {@link #createWithResolvedBean()} may be kept for later use.
+	 */
+	public boolean isSingletonBean() {
+		return (!isBeanNameOnly() || this.beanFactory.isSingleton((String) this.bean));
+	}
+
 	/**
 	 * If the bean method is a bridge method, this method returns the bridged (user-defined) method.
 	 * Otherwise it returns the same method as {@link #getMethod()}.
@@ -190,6 +214,10 @@ public class HandlerMethod {
 	 */
 	public HandlerMethod createWithResolvedBean() {
 		Object handler = this.bean;
+		if (this.bean instanceof String && this.beanFactory != null) {
+			String beanName = (String) this.bean;
+			handler = this.beanFactory.getBean(beanName);
+		}
 		return new HandlerMethod(this, handler);
 	}
 
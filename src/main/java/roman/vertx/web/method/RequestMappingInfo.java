@@ -16,22 +16,29 @@
 
 package roman.vertx.web.method;
 
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
 
-import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.ClassUtils;
 
+import roman.vertx.web.bind.RequestBindingException;
+import roman.vertx.web.bind.annotation.ExecutionMode;
 import roman.vertx.web.condition.ConsumesRequestCondition;
 import roman.vertx.web.condition.PatternRequestCondition;
 import roman.vertx.web.condition.ProducesRequestCondition;
 import roman.vertx.web.condition.RequestCondition;
 import roman.vertx.web.condition.RequestMethodsRequestCondition;
-import roman.vertx.web.method.support.HandlerMethodArgumentResolver;
+import roman.vertx.web.handler.HandlerExecutor;
+import roman.vertx.web.http.HttpMessageNotReadableException;
 import roman.vertx.web.method.support.HandlerMethodArgumentResolverComposite;
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandlerComposite;
 import roman.vertx.web.method.support.InvocableHandlerMethod;
+import roman.vertx.web.metrics.RequestMappingMetrics;
 
 /**
  * Encapsulates the following request mapping conditions:
@@ -48,7 +55,9 @@ import roman.vertx.web.method.support.InvocableHandlerMethod;
  * @email 530827804@qq.com
  * @date 2016年3月17日 下午1:57:37
  */
-public final class RequestMappingInfo implements RequestCondition<RequestMappingInfo> ,InitializingBean{
+public final class RequestMappingInfo implements RequestCondition<RequestMappingInfo> {
+
+	private static final int BAD_REQUEST = 400;
 
 	private final Object object;
 
@@ -61,17 +70,73 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 	private final ConsumesRequestCondition consumesCondition;
 
 	private final ProducesRequestCondition producesCondition;
-	
-	private HandlerMethodArgumentResolverComposite argumentResolvers;
+
+	private final ExecutionMode executionMode;
 
 	public RequestMappingInfo(Object object, Method method, PatternRequestCondition patterns, RequestMethodsRequestCondition methods, ConsumesRequestCondition consumes,
 			ProducesRequestCondition produces) {
+		this(object, method, patterns, methods, consumes, produces, null);
+	}
+
+	public RequestMappingInfo(Object object, Method method, PatternRequestCondition patterns, RequestMethodsRequestCondition methods, ConsumesRequestCondition consumes,
+			ProducesRequestCondition produces, ExecutionMode executionMode) {
 		this.object = object;
 		this.method = method;
 		this.patternsCondition = (patterns != null ? patterns : new PatternRequestCondition());
 		this.methodsCondition = (methods != null ? methods : new RequestMethodsRequestCondition());
 		this.consumesCondition = (consumes != null ? consumes : new ConsumesRequestCondition());
 		this.producesCondition = (produces != null ? produces : new ProducesRequestCondition());
+		this.executionMode = (executionMode != null ? executionMode : ExecutionMode.DEFAULT);
+	}
+
+	/**
+	 * Returns the handler, or the bean name of the handler.
+	 */
+	public Object getHandler() {
+		return this.object;
+	}
+
+	/**
+	 * Returns the handler method.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Returns the URL patterns of this {@link RequestMappingInfo}.
+	 */
+	public PatternRequestCondition getPatternsCondition() {
+		return this.patternsCondition;
+	}
+
+	/**
+	 * Returns the HTTP request methods of this {@link RequestMappingInfo}.
+	 */
+	public RequestMethodsRequestCondition getMethodsCondition() {
+		return this.methodsCondition;
+	}
+
+	/**
+	 * Returns the "consumes" condition of this {@link RequestMappingInfo}.
+	 */
+	public ConsumesRequestCondition getConsumesCondition() {
+		return this.consumesCondition;
+	}
+
+	/**
+	 * Returns the "produces" condition of this {@link RequestMappingInfo}.
+	 */
+	public ProducesRequestCondition getProducesCondition() {
+		return this.producesCondition;
+	}
+
+	/**
+	 * Returns where the handler method is executed; may be
+	 * {@link ExecutionMode#DEFAULT}.
+	 */
+	public ExecutionMode getExecutionMode() {
+		return this.executionMode;
 	}
 
 	/**
@@ -88,8 +153,41 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		RequestMethodsRequestCondition methods = this.methodsCondition.combine(other.methodsCondition);
 		ConsumesRequestCondition consumes = this.consumesCondition.combine(other.consumesCondition);
 		ProducesRequestCondition produces = this.producesCondition.combine(other.producesCondition);
+		ExecutionMode executionMode = (other.executionMode != ExecutionMode.DEFAULT ? other.executionMode : this.executionMode);
 
-		return new RequestMappingInfo(object, method, patterns, methods, consumes, produces);
+		return new RequestMappingInfo(object, method, patterns, methods, consumes, produces, executionMode);
+	}
+
+	/**
+	 * Compares "this" info (i.e. the current instance) with another info in
+	 * the order of patterns, consumes, produces and HTTP request methods, as
+	 * Spring MVC does.
+	 */
+	@Override
+	public int compareTo(RequestMappingInfo other) {
+		int result = this.patternsCondition.compareTo(other.patternsCondition);
+		if (result != 0) {
+			return result;
+		}
+		result = this.consumesCondition.compareTo(other.consumesCondition);
+		if (result != 0) {
+			return result;
+		}
+		result = this.producesCondition.compareTo(other.producesCondition);
+		if (result != 0) {
+			return result;
+		}
+		return this.methodsCondition.compareTo(other.methodsCondition);
+	}
+
+	/**
+	 * Whether a request could be matched by both "this" info and the other
+	 * info, i.e. whether all of their conditions overlap.
+	 */
+	@Override
+	public boolean overlaps(RequestMappingInfo other) {
+		return (this.patternsCondition.overlaps(other.patternsCondition) && this.methodsCondition.overlaps(other.methodsCondition)
+				&& this.consumesCondition.overlaps(other.consumesCondition) && this.producesCondition.overlaps(other.producesCondition));
 	}
 
 	@Override
@@ -107,7 +205,7 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 
 	@Override
 	public int hashCode() {
-		return (this.object.hashCode() + method.hashCode() + this.patternsCondition.hashCode() * 31 + // primary
+		return (this.patternsCondition.hashCode() * 31 + // primary
 				this.methodsCondition.hashCode() + this.consumesCondition.hashCode() + this.producesCondition.hashCode());
 	}
 
@@ -118,72 +216,131 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		builder.append(",methods=").append(this.methodsCondition);
 		builder.append(",consumes=").append(this.consumesCondition);
 		builder.append(",produces=").append(this.producesCondition);
+		if (this.executionMode != ExecutionMode.DEFAULT) {
+			builder.append(",execution=").append(this.executionMode);
+		}
 		builder.append('}');
 		return builder.toString();
 	}
 
 	@Override
 	public Route Router(Route route) {
-		route = consumesCondition.Router(consumesCondition.Router(methodsCondition.Router(patternsCondition.Router(route))));
-		route.handler(r -> {
+		return producesCondition.Router(consumesCondition.Router(methodsCondition.Router(patternsCondition.Router(route))));
+	}
+
+	/**
+	 * Create the handler that invokes the given handler method for each
+	 * request routed to this mapping, and passes a non-{@code null} return
+	 * value on to the matching {@link HandlerMethodReturnValueHandler}.
+	 * Argument resolution and the return value handler for the declared
+	 * return type are worked out here, once, rather than on each request. A
+	 * request body that cannot be read fails the request with status 400.
+	 *
+	 * <p>
+	 * The handler method is passed in rather than built from
+	 * {@link #getHandler()}, which may be a bean name; see
+	 * {@code AbstractHandlerMapping#createHandlerMethod}.
+	 *
+	 * <p>
+	 * If metrics are given, each request is recorded with the time spent
+	 * resolving arguments, in the handler method and handling the return
+	 * value measured separately. Methods invoked through a generated
+	 * {@link roman.vertx.web.method.support.HandlerMethodRequestInvoker}
+	 * resolve their arguments as part of the invocation, which is then
+	 * recorded as time spent in the handler method.
+	 *
+	 * @param metrics
+	 *            the metrics to record requests in, or {@code null}
+	 */
+	public Handler<RoutingContext> createHandler(HandlerMethod method, HandlerMethodArgumentResolverComposite argumentResolvers,
+			HandlerMethodReturnValueHandlerComposite returnValueHandlers, RequestMappingMetrics metrics) {
+		final InvocableHandlerMethod handlerMethod = new InvocableHandlerMethod(method, argumentResolvers);
+		final HandlerMethodReturnValueHandler returnValueHandler = getReturnValueHandler(returnValueHandlers);
+		if (metrics != null) {
+			final boolean hasRequestInvoker = handlerMethod.hasRequestInvoker();
+			return r -> {
+				long startTime = metrics.requestStarted(r);
+				Object returnValue;
+				try {
+					if (hasRequestInvoker) {
+						returnValue = handlerMethod.invokeForRequest(r);
+						metrics.recordHandler(System.nanoTime() - startTime);
+					} else {
+						Object[] args = handlerMethod.resolveArguments(r);
+						long resolvedTime = System.nanoTime();
+						metrics.recordArgumentResolution(resolvedTime - startTime);
+						returnValue = handlerMethod.invokeWithArguments(args);
+						metrics.recordHandler(System.nanoTime() - resolvedTime);
+					}
+				} catch (Throwable e) {
+					complete(r, null, null, e, null);
+					return;
+				}
+				if (returnValue != null) {
+					complete(r, returnValueHandler, returnValue, null, metrics);
+				}
+			};
+		}
+		return r -> {
+			Object returnValue;
 			try {
-				InvocableHandlerMethod binderMethod = new InvocableHandlerMethod(object, method);
-				binderMethod.setHandlerMethodArgumentResolvers(argumentResolvers);
-				binderMethod.invokeForRequest(r.request());
-			} catch (Exception e) {
-				e.printStackTrace();
+				returnValue = handlerMethod.invokeForRequest(r);
+			} catch (Throwable e) {
+				complete(r, null, null, e, null);
+				return;
 			}
-		});
-		return route;
+			if (returnValue != null) {
+				complete(r, returnValueHandler, returnValue, null, null);
+			}
+		};
 	}
 
-	
-	@Override
-	public void afterPropertiesSet() throws Exception {
-		if (this.argumentResolvers == null) {
-			List<HandlerMethodArgumentResolver> resolvers = getDefaultArgumentResolvers();
-			this.argumentResolvers = new HandlerMethodArgumentResolverComposite().addResolvers(resolvers);
+	/**
+	 * Handle the return value, or fail the request, on the Vert.x context of
+	 * the request. A handler method run on a thread of an
+	 * {@link ExecutionMode#EXECUTOR} pool returns outside of any context, so
+	 * the rest of the request is handed back to the context captured by the
+	 * {@link HandlerExecutor}.
+	 */
+	private static void complete(RoutingContext context, HandlerMethodReturnValueHandler returnValueHandler, Object returnValue, Throwable failure,
+			RequestMappingMetrics metrics) {
+		if (Vertx.currentContext() == null) {
+			HandlerExecutor.getVertxContext(context).runOnContext(v -> doComplete(context, returnValueHandler, returnValue, failure, metrics));
+		} else {
+			doComplete(context, returnValueHandler, returnValue, failure, metrics);
 		}
 	}
 
-	private List<HandlerMethodArgumentResolver> getDefaultArgumentResolvers() {
-		List<HandlerMethodArgumentResolver> resolvers = new ArrayList<HandlerMethodArgumentResolver>();
-
-		// Annotation-based argument resolution
-		resolvers.add(new RequestParamMethodArgumentResolver(getBeanFactory(), false));
-		resolvers.add(new RequestParamMapMethodArgumentResolver());
-		resolvers.add(new PathVariableMethodArgumentResolver());
-		resolvers.add(new PathVariableMapMethodArgumentResolver());
-		resolvers.add(new MatrixVariableMethodArgumentResolver());
-		resolvers.add(new MatrixVariableMapMethodArgumentResolver());
-		resolvers.add(new ServletModelAttributeMethodProcessor(false));
-		resolvers.add(new RequestResponseBodyMethodProcessor(getMessageConverters()));
-		resolvers.add(new RequestPartMethodArgumentResolver(getMessageConverters()));
-		resolvers.add(new RequestHeaderMethodArgumentResolver(getBeanFactory()));
-		resolvers.add(new RequestHeaderMapMethodArgumentResolver());
-		resolvers.add(new ServletCookieValueMethodArgumentResolver(getBeanFactory()));
-		resolvers.add(new ExpressionValueMethodArgumentResolver(getBeanFactory()));
-
-		// Type-based argument resolution
-		resolvers.add(new ServletRequestMethodArgumentResolver());
-		resolvers.add(new ServletResponseMethodArgumentResolver());
-		resolvers.add(new HttpEntityMethodProcessor(getMessageConverters()));
-		resolvers.add(new RedirectAttributesMethodArgumentResolver());
-		resolvers.add(new ModelMethodProcessor());
-		resolvers.add(new MapMethodProcessor());
-		resolvers.add(new ErrorsMethodArgumentResolver());
-		resolvers.add(new SessionStatusMethodArgumentResolver());
-		resolvers.add(new UriComponentsBuilderMethodArgumentResolver());
-
-		// Custom arguments
-		if (getCustomArgumentResolvers() != null) {
-			resolvers.addAll(getCustomArgumentResolvers());
+	private static void doComplete(RoutingContext context, HandlerMethodReturnValueHandler returnValueHandler, Object returnValue, Throwable failure,
+			RequestMappingMetrics metrics) {
+		try {
+			if (failure != null) {
+				throw failure;
+			}
+			long startTime = (metrics != null ? System.nanoTime() : 0);
+			returnValueHandler.handleReturnValue(returnValue, context);
+			if (metrics != null) {
+				metrics.recordWrite(System.nanoTime() - startTime);
+			}
+		} catch (HttpMessageNotReadableException | RequestBindingException e) {
+			context.fail(BAD_REQUEST);
+		} catch (Throwable e) {
+			context.fail(e);
 		}
+	}
 
-		// Catch-all
-		resolvers.add(new RequestParamMethodArgumentResolver(getBeanFactory(), true));
-		resolvers.add(new ServletModelAttributeMethodProcessor(true));
-
-		return resolvers;
+	/**
+	 * Select the return value handler for the declared return type, or the
+	 * composite itself if the declared type is {@code Object} and the
+	 * handler can only be chosen by the class of the actual value.
+	 */
+	private HandlerMethodReturnValueHandler getReturnValueHandler(HandlerMethodReturnValueHandlerComposite returnValueHandlers) {
+		Class<?> returnType = method.getReturnType();
+		if (returnType == void.class || returnType == Object.class) {
+			return returnValueHandlers;
+		}
+		HandlerMethodReturnValueHandler returnValueHandler = returnValueHandlers.getReturnValueHandler(ClassUtils.resolvePrimitiveIfNecessary(returnType));
+		return (returnValueHandler != null ? returnValueHandler : returnValueHandlers);
 	}
+
 }
@@ -0,0 +1,81 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.RoutingContext;
+
+import org.springframework.util.Assert;
+
+import roman.vertx.web.handler.HandlerExecutor;
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+
+/**
+ * Base class for {@link HandlerMethodReturnValueHandler}s that handle a value
+ * which becomes available later, such as a {@code CompletionStage}. Once the
+ * value is available, it is passed on to the value handler on the Vert.x
+ * context that received the request, so the event loop is never blocked while
+ * waiting for it.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public abstract class AbstractAsyncReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+	private final HandlerMethodReturnValueHandler valueHandler;
+
+	/**
+	 * Create a new instance.
+	 *
+	 * @param valueHandler
+	 *            the handler for the eventual value, typically the composite
+	 *            this handler is registered with
+	 */
+	protected AbstractAsyncReturnValueHandler(HandlerMethodReturnValueHandler valueHandler) {
+		Assert.notNull(valueHandler, "HandlerMethodReturnValueHandler must not be null");
+		this.valueHandler = valueHandler;
+	}
+
+	/**
+	 * Return the Vert.x context that received the request, to complete it on.
+	 * Must be called while handling the return value, not once it completes.
+	 *
+	 * @see HandlerExecutor#getVertxContext(RoutingContext)
+	 */
+	protected Context getVertxContext(RoutingContext context) {
+		return HandlerExecutor.getVertxContext(context);
+	}
+
+	/**
+	 * Complete the request with the eventual value or failure. May be called
+	 * from any thread; a {@code null} value ends the response if the handler
+	 * method has not done so already.
+	 *
+	 * @param vertxContext
+	 *            the Vert.x context that received the request, as returned
+	 *            by {@link #getVertxContext(RoutingContext)}
+	 */
+	protected void complete(final RoutingContext context, Context vertxContext, final Object value, final Throwable failure) {
+		if (Vertx.currentContext() == vertxContext) {
+			doComplete(context, value, failure);
+		} else {
+			vertxContext.runOnContext(v -> doComplete(context, value, failure));
+		}
+	}
+
+	private void doComplete(RoutingContext context, Object value, Throwable failure) {
+		if (failure != null) {
+			context.fail(failure);
+			return;
+		}
+		try {
+			if (value != null) {
+				this.valueHandler.handleReturnValue(value, context);
+			} else if (!context.response().ended()) {
+				context.response().end();
+			}
+		} catch (Throwable ex) {
+			context.fail(ex);
+		}
+	}
+
+}
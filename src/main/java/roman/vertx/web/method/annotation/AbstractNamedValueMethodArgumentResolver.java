@@ -0,0 +1,372 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.DataBinder;
+
+import roman.vertx.web.bind.PrimitiveParsers;
+import roman.vertx.web.bind.RequestBindingException;
+import roman.vertx.web.bind.StringValueConverter;
+import roman.vertx.web.bind.StringValueConverters;
+import roman.vertx.web.bind.annotation.ValueConstants;
+import roman.vertx.web.method.support.IndexedArgumentResolver;
+import roman.vertx.web.method.support.MethodParameterKey;
+import roman.vertx.web.method.support.PrimitiveArgumentResolver;
+
+/**
+ * Abstract base class for resolving method arguments from a named value of
+ * the request, such as a path variable, request parameter, header or cookie.
+ *
+ * <p>
+ * The name, whether the value is required, the default value and the
+ * {@link StringValueConverter} for the parameter type are worked out once per
+ * parameter, when the resolver is selected for it at registration, so that
+ * resolving an argument only looks up and converts the request value. The
+ * {@link roman.vertx.web.method.support.InvocableHandlerMethod} keeps this
+ * state in its argument plan, as {@link #prepareParameter prepared} for the
+ * parameter, and passes it back on each request. A missing required value,
+ * or one that cannot be converted, raises a {@link RequestBindingException}.
+ *
+ * <p>
+ * Resolvers that {@link #supportsMultipleValues() support multiple values}
+ * also bind array and {@link List} parameters, with all values of the name, or
+ * the comma-separated elements of a single value.
+ *
+ * <p>
+ * Single {@code int}, {@code long}, {@code double} and {@code boolean}
+ * parameters can also be resolved without boxing through the
+ * {@link PrimitiveArgumentResolver} methods, which parse the request value
+ * with {@link PrimitiveParsers}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public abstract class AbstractNamedValueMethodArgumentResolver<A extends Annotation> implements PrimitiveArgumentResolver, IndexedArgumentResolver {
+
+	private final Class<A> annotationType;
+
+	private final Map<MethodParameterKey, NamedValueInfo> namedValueInfoCache = new ConcurrentHashMap<MethodParameterKey, NamedValueInfo>(64);
+
+	protected AbstractNamedValueMethodArgumentResolver(Class<A> annotationType) {
+		this.annotationType = annotationType;
+	}
+
+	@Override
+	public Class<? extends Annotation> getParameterAnnotationType() {
+		return this.annotationType;
+	}
+
+	@Override
+	public Class<?> getParameterType() {
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Also prepares the resolution of supported parameters.
+	 * 
+	 * @throws IllegalStateException
+	 *             if the parameter is annotated but cannot be bound, e.g.
+	 *             because its type is not supported
+	 */
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		if (!parameter.hasParameterAnnotation(this.annotationType)) {
+			return false;
+		}
+		getNamedValueInfo(parameter);
+		return true;
+	}
+
+	@Override
+	public Object prepareParameter(MethodParameter parameter) {
+		return getNamedValueInfo(parameter);
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, RoutingContext context, DataBinder binder) throws Exception {
+		return resolveArgument(parameter, getNamedValueInfo(parameter), context, binder);
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, Object prepared, RoutingContext context, DataBinder binder) throws Exception {
+		NamedValueInfo info = (NamedValueInfo) prepared;
+		if (info.multiValued) {
+			List<String> values = resolveValues(info.name, context);
+			if (values.size() == 1) {
+				values = Arrays.asList(StringUtils.commaDelimitedListToStringArray(values.get(0)));
+			}
+			if (values.isEmpty()) {
+				return handleMissingValue(info, parameter);
+			}
+			return info.collect(convertValues(info, values));
+		}
+		String value = resolveValue(info.name, context);
+		if (value == null || (value.isEmpty() && (info.defaultValue != null || info.elementType != String.class))) {
+			return handleMissingValue(info, parameter);
+		}
+		return convert(info, value);
+	}
+
+	@Override
+	public boolean supportsPrimitive(MethodParameter parameter) {
+		NamedValueInfo info = getNamedValueInfo(parameter);
+		Class<?> type = info.elementType;
+		return (!info.multiValued && (type == int.class || type == long.class || type == double.class || type == boolean.class));
+	}
+
+	@Override
+	public int resolveInt(MethodParameter parameter, Object prepared, RoutingContext context) throws Exception {
+		NamedValueInfo info = (NamedValueInfo) prepared;
+		String value = resolveValue(info.name, context);
+		if (value == null || value.isEmpty()) {
+			return (Integer) handleMissingValue(info, parameter);
+		}
+		try {
+			return PrimitiveParsers.parseInt(value);
+		} catch (NumberFormatException ex) {
+			throw conversionFailure(info, value, ex);
+		}
+	}
+
+	@Override
+	public long resolveLong(MethodParameter parameter, Object prepared, RoutingContext context) throws Exception {
+		NamedValueInfo info = (NamedValueInfo) prepared;
+		String value = resolveValue(info.name, context);
+		if (value == null || value.isEmpty()) {
+			return (Long) handleMissingValue(info, parameter);
+		}
+		try {
+			return PrimitiveParsers.parseLong(value);
+		} catch (NumberFormatException ex) {
+			throw conversionFailure(info, value, ex);
+		}
+	}
+
+	@Override
+	public double resolveDouble(MethodParameter parameter, Object prepared, RoutingContext context) throws Exception {
+		NamedValueInfo info = (NamedValueInfo) prepared;
+		String value = resolveValue(info.name, context);
+		if (value == null || value.isEmpty()) {
+			return (Double) handleMissingValue(info, parameter);
+		}
+		try {
+			return PrimitiveParsers.parseDouble(value);
+		} catch (NumberFormatException ex) {
+			throw conversionFailure(info, value, ex);
+		}
+	}
+
+	@Override
+	public boolean resolveBoolean(MethodParameter parameter, Object prepared, RoutingContext context) throws Exception {
+		NamedValueInfo info = (NamedValueInfo) prepared;
+		String value = resolveValue(info.name, context);
+		if (value == null || value.isEmpty()) {
+			return (Boolean) handleMissingValue(info, parameter);
+		}
+		try {
+			return PrimitiveParsers.parseBoolean(value);
+		} catch (IllegalArgumentException ex) {
+			throw conversionFailure(info, value, ex);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object handleMissingValue(NamedValueInfo info, MethodParameter parameter) {
+		if (info.defaultValue != null) {
+			// Hand out a fresh array or list for each request
+			return (info.multiValued ? info.collect(new ArrayList<Object>((List<Object>) info.defaultValue)) : info.defaultValue);
+		}
+		if (info.required) {
+			throw new RequestBindingException("Missing " + getValueDescription() + " '" + info.name + "' for method parameter of type "
+					+ parameter.getParameterType().getSimpleName());
+		}
+		return null;
+	}
+
+	private List<Object> convertValues(NamedValueInfo info, List<String> values) {
+		List<Object> result = new ArrayList<Object>(values.size());
+		for (String value : values) {
+			result.add(convert(info, value));
+		}
+		return result;
+	}
+
+	private Object convert(NamedValueInfo info, String value) {
+		try {
+			return info.converter.convert(value);
+		} catch (RuntimeException ex) {
+			throw conversionFailure(info, value, ex);
+		}
+	}
+
+	private RequestBindingException conversionFailure(NamedValueInfo info, String value, RuntimeException ex) {
+		return new RequestBindingException("Failed to convert " + getValueDescription() + " '" + info.name + "' with value '" + value + "' to "
+				+ info.elementType.getSimpleName(), ex);
+	}
+
+	/**
+	 * Return the {@link NamedValueInfo} for the given parameter, cached by
+	 * method and parameter index. Only used while preparing parameters and
+	 * for resolving without a prepared argument plan.
+	 */
+	private NamedValueInfo getNamedValueInfo(MethodParameter parameter) {
+		MethodParameterKey key = new MethodParameterKey(parameter);
+		NamedValueInfo info = this.namedValueInfoCache.get(key);
+		if (info == null) {
+			info = this.namedValueInfoCache.computeIfAbsent(key, k -> createNamedValueInfo(parameter));
+		}
+		return info;
+	}
+
+	private NamedValueInfo createNamedValueInfo(MethodParameter parameter) {
+		A annotation = parameter.getParameterAnnotation(this.annotationType);
+		String name = getName(annotation);
+		if (name.isEmpty()) {
+			name = parameter.getParameterName();
+			if (name == null) {
+				throw new IllegalStateException("No name given for " + getValueDescription() + " argument of type [" + parameter.getParameterType().getName()
+						+ "], and parameter name information not found in class file either: " + parameter.getMethod().toGenericString());
+			}
+		}
+		Class<?> parameterType = parameter.getParameterType();
+		boolean multiValued = supportsMultipleValues() && (parameterType.isArray() || parameterType == List.class || parameterType == Collection.class);
+		Class<?> elementType = parameterType;
+		if (multiValued && parameterType.isArray()) {
+			elementType = parameterType.getComponentType();
+		} else if (multiValued) {
+			parameter.increaseNestingLevel();
+			elementType = parameter.getNestedParameterType();
+			parameter.decreaseNestingLevel();
+		}
+		StringValueConverter converter = StringValueConverters.getConverter(elementType);
+		if (converter == null) {
+			throw new IllegalStateException("Cannot bind " + getValueDescription() + " '" + name + "' to parameter type [" + parameterType.getName() + "]: "
+					+ parameter.getMethod().toGenericString());
+		}
+		String defaultValue = getDefaultValue(annotation);
+		boolean required = isRequired(annotation) && ValueConstants.DEFAULT_NONE.equals(defaultValue);
+		NamedValueInfo info = new NamedValueInfo(name, required, converter, elementType, multiValued, parameterType.isArray());
+		if (!ValueConstants.DEFAULT_NONE.equals(defaultValue)) {
+			info.defaultValue = (multiValued ? convertValues(info, Arrays.asList(StringUtils.commaDelimitedListToStringArray(defaultValue))) : convert(
+					info, defaultValue));
+		} else if (!required && parameterType.isPrimitive()) {
+			throw new IllegalStateException("Optional " + parameterType.getName() + " " + getValueDescription() + " '" + name
+					+ "' cannot be translated into a null value; consider declaring it as object wrapper or providing a default value: "
+					+ parameter.getMethod().toGenericString());
+		}
+		return info;
+	}
+
+	/**
+	 * Return the name given by the annotation, or an empty String.
+	 */
+	protected abstract String getName(A annotation);
+
+	/**
+	 * Whether the annotation marks the value as required. Default is
+	 * {@code true}.
+	 */
+	protected boolean isRequired(A annotation) {
+		return true;
+	}
+
+	/**
+	 * Return the default value of the annotation, or
+	 * {@link ValueConstants#DEFAULT_NONE}. Default is to have none.
+	 */
+	protected String getDefaultValue(A annotation) {
+		return ValueConstants.DEFAULT_NONE;
+	}
+
+	/**
+	 * Whether array and {@link List} parameters are bound to all values of the
+	 * name. Default is {@code false}.
+	 */
+	protected boolean supportsMultipleValues() {
+		return false;
+	}
+
+	/**
+	 * Describe the kind of value for error messages, e.g. "request parameter".
+	 */
+	protected abstract String getValueDescription();
+
+	/**
+	 * Resolve the value of the given name in the request.
+	 * 
+	 * @return the value, or {@code null} if there is none
+	 */
+	protected abstract String resolveValue(String name, RoutingContext context);
+
+	/**
+	 * Resolve all values of the given name in the request, if
+	 * {@link #supportsMultipleValues() supported}. The default implementation
+	 * returns the single value from {@link #resolveValue}, if any.
+	 * 
+	 * @return the values, or an empty list if there are none
+	 */
+	protected List<String> resolveValues(String name, RoutingContext context) {
+		String value = resolveValue(name, context);
+		return (value != null ? Collections.singletonList(value) : Collections.<String> emptyList());
+	}
+
+
+	/**
+	 * What is known about a parameter ahead of resolving it.
+	 */
+	private static final class NamedValueInfo {
+
+		private final String name;
+
+		private final boolean required;
+
+		private final StringValueConverter converter;
+
+		private final Class<?> elementType;
+
+		private final boolean multiValued;
+
+		private final boolean array;
+
+		private Object defaultValue;
+
+		public NamedValueInfo(String name, boolean required, StringValueConverter converter, Class<?> elementType, boolean multiValued, boolean array) {
+			this.name = name;
+			this.required = required;
+			this.converter = converter;
+			this.elementType = elementType;
+			this.multiValued = multiValued;
+			this.array = array;
+		}
+
+		/**
+		 * Turn converted values into an array or list, as the parameter type
+		 * requires.
+		 */
+		public Object collect(List<Object> values) {
+			if (!this.array) {
+				return values;
+			}
+			Object result = Array.newInstance(this.elementType, values.size());
+			for (int i = 0; i < values.size(); i++) {
+				Array.set(result, i, values.get(i));
+			}
+			return result;
+		}
+	}
+
+}
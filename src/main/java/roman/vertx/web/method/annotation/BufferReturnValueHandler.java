@@ -0,0 +1,73 @@
+package roman.vertx.web.method.annotation;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.nio.ByteBuffer;
+
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+
+/**
+ * Writes {@link Buffer}, {@code byte[]} and {@link ByteBuffer} return values to
+ * the response as a single {@link Buffer}. Arrays and byte buffers are wrapped
+ * rather than copied, and the {@code Content-Length} header is set up front so
+ * the response is not sent chunked.
+ *
+ * <p>
+ * Unless the handler method has set a {@code Content-Type} already, the type
+ * negotiated from the route's {@code produces} media types is used, or
+ * {@code application/octet-stream} if there are none.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class BufferReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+	private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+	@Override
+	public boolean supportsReturnType(Class<?> returnType) {
+		return (Buffer.class.isAssignableFrom(returnType) || byte[].class == returnType || ByteBuffer.class.isAssignableFrom(returnType));
+	}
+
+	@Override
+	public void handleReturnValue(Object returnValue, RoutingContext context) throws Exception {
+		HttpServerResponse response = context.response();
+		Buffer buffer = toBuffer(returnValue);
+		if (!response.isChunked() && !response.headers().contains(HttpHeaders.CONTENT_LENGTH)) {
+			response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(buffer.length()));
+		}
+		if (!response.headers().contains(HttpHeaders.CONTENT_TYPE)) {
+			String contentType = context.getAcceptableContentType();
+			response.putHeader(HttpHeaders.CONTENT_TYPE, (contentType != null ? contentType : getDefaultContentType()));
+		}
+		response.end(buffer);
+	}
+
+	/**
+	 * Convert the return value to the {@link Buffer} to write. The default
+	 * implementation wraps {@code byte[]} and {@link ByteBuffer} values
+	 * without copying their content.
+	 */
+	protected Buffer toBuffer(Object returnValue) {
+		if (returnValue instanceof Buffer) {
+			return (Buffer) returnValue;
+		}
+		if (returnValue instanceof byte[]) {
+			return Buffer.buffer(Unpooled.wrappedBuffer((byte[]) returnValue));
+		}
+		return Buffer.buffer(Unpooled.wrappedBuffer((ByteBuffer) returnValue));
+	}
+
+	/**
+	 * Return the {@code Content-Type} to use when the handler method has not
+	 * set one.
+	 */
+	protected String getDefaultContentType() {
+		return DEFAULT_CONTENT_TYPE;
+	}
+
+}
@@ -0,0 +1,41 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.core.Context;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+
+/**
+ * Handles return values of type {@link CompletionStage}, including
+ * {@link java.util.concurrent.CompletableFuture}, by handling the value they
+ * complete with.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class CompletionStageReturnValueHandler extends AbstractAsyncReturnValueHandler {
+
+	public CompletionStageReturnValueHandler(HandlerMethodReturnValueHandler valueHandler) {
+		super(valueHandler);
+	}
+
+	@Override
+	public boolean supportsReturnType(Class<?> returnType) {
+		return CompletionStage.class.isAssignableFrom(returnType);
+	}
+
+	@Override
+	public void handleReturnValue(Object returnValue, RoutingContext context) throws Exception {
+		Context vertxContext = getVertxContext(context);
+		((CompletionStage<?>) returnValue).whenComplete((value, failure) -> {
+			if (failure instanceof CompletionException && failure.getCause() != null) {
+				failure = failure.getCause();
+			}
+			complete(context, vertxContext, value, failure);
+		});
+	}
+
+}
@@ -0,0 +1,64 @@
+package roman.vertx.web.method.annotation;
+
+import io.netty.handler.codec.http.cookie.Cookie;
+import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.List;
+
+import roman.vertx.web.bind.annotation.CookieValue;
+
+/**
+ * Resolves method arguments annotated with {@link CookieValue @CookieValue}
+ * from the cookies of the request. Cookies parsed by a Vert.x
+ * {@code CookieHandler} are used if there is one in front of the handler;
+ * otherwise the {@code Cookie} headers are decoded directly.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class CookieValueMethodArgumentResolver extends AbstractNamedValueMethodArgumentResolver<CookieValue> {
+
+	public CookieValueMethodArgumentResolver() {
+		super(CookieValue.class);
+	}
+
+	@Override
+	protected String getName(CookieValue annotation) {
+		return annotation.value();
+	}
+
+	@Override
+	protected boolean isRequired(CookieValue annotation) {
+		return annotation.required();
+	}
+
+	@Override
+	protected String getDefaultValue(CookieValue annotation) {
+		return annotation.defaultValue();
+	}
+
+	@Override
+	protected String getValueDescription() {
+		return "cookie";
+	}
+
+	@Override
+	protected String resolveValue(String name, RoutingContext context) {
+		io.vertx.ext.web.Cookie cookie = context.getCookie(name);
+		if (cookie != null) {
+			return cookie.getValue();
+		}
+		List<String> headers = context.request().headers().getAll(HttpHeaders.COOKIE);
+		for (String header : headers) {
+			for (Cookie decoded : ServerCookieDecoder.LAX.decode(header)) {
+				if (name.equals(decoded.name())) {
+					return decoded.value();
+				}
+			}
+		}
+		return null;
+	}
+
+}
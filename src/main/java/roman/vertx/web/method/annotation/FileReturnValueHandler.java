@@ -0,0 +1,49 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+
+/**
+ * Sends {@link File} and {@link Path} return values with
+ * {@link HttpServerResponse#sendFile(String, io.vertx.core.Handler)}, which
+ * lets the transport use {@code sendfile} instead of copying the content
+ * through the heap. Vert.x sets the {@code Content-Length} and, unless already
+ * present, a {@code Content-Type} derived from the file extension.
+ *
+ * <p>
+ * A file that does not exist or is not a regular file fails the request with
+ * status 404.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class FileReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+	private static final int NOT_FOUND = 404;
+
+	@Override
+	public boolean supportsReturnType(Class<?> returnType) {
+		return (File.class.isAssignableFrom(returnType) || Path.class.isAssignableFrom(returnType));
+	}
+
+	@Override
+	public void handleReturnValue(Object returnValue, RoutingContext context) throws Exception {
+		File file = (returnValue instanceof Path ? ((Path) returnValue).toFile() : (File) returnValue);
+		if (!file.isFile()) {
+			context.fail(NOT_FOUND);
+			return;
+		}
+		HttpServerResponse response = context.response();
+		response.sendFile(file.getAbsolutePath(), result -> {
+			if (result.failed() && !response.headWritten()) {
+				context.fail(result.cause());
+			}
+		});
+	}
+
+}
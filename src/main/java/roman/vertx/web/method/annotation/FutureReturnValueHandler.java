@@ -0,0 +1,33 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.ext.web.RoutingContext;
+
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+
+/**
+ * Handles return values of type {@link Future io.vertx.core.Future} by
+ * handling the value they complete with.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class FutureReturnValueHandler extends AbstractAsyncReturnValueHandler {
+
+	public FutureReturnValueHandler(HandlerMethodReturnValueHandler valueHandler) {
+		super(valueHandler);
+	}
+
+	@Override
+	public boolean supportsReturnType(Class<?> returnType) {
+		return Future.class.isAssignableFrom(returnType);
+	}
+
+	@Override
+	public void handleReturnValue(Object returnValue, RoutingContext context) throws Exception {
+		Context vertxContext = getVertxContext(context);
+		((Future<?>) returnValue).setHandler(result -> complete(context, vertxContext, result.result(), result.cause()));
+	}
+
+}
@@ -0,0 +1,92 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+import roman.vertx.web.condition.ProducesRequestCondition;
+import roman.vertx.web.http.MediaType;
+import roman.vertx.web.http.converter.HttpMessageEncoder;
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+
+/**
+ * Catch-all {@link HandlerMethodReturnValueHandler} that writes return values
+ * with the first {@link HttpMessageEncoder} that can write the value in the
+ * negotiated media type. Should be registered last.
+ *
+ * <p>
+ * If the route declares {@link roman.vertx.web.bind.annotation.RequestMapping#produces()
+ * produces} media types, the type Vert.x selected from them is used, as
+ * returned by {@link RoutingContext#getAcceptableContentType()}. Otherwise the
+ * request's 'Accept' header is negotiated against the media types of all
+ * encoders through a {@link ProducesRequestCondition}, which caches the
+ * decision per header value. That condition is shared by all routes: without
+ * declared media types the decision only depends on the encoders, while
+ * routes that declare them negotiate through, and cache in, their own
+ * condition when they are matched. Requests for which no encoder fits are
+ * failed with status 406.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class HttpMessageEncoderReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+	private static final int NOT_ACCEPTABLE = 406;
+
+	private final List<HttpMessageEncoder> encoders;
+
+	private final ProducesRequestCondition producibleCondition;
+
+	public HttpMessageEncoderReturnValueHandler(List<HttpMessageEncoder> encoders) {
+		Assert.notEmpty(encoders, "At least one HttpMessageEncoder required");
+		this.encoders = Collections.unmodifiableList(new ArrayList<HttpMessageEncoder>(encoders));
+		this.producibleCondition = new ProducesRequestCondition(getProducibleMediaTypes(encoders));
+	}
+
+	private static String[] getProducibleMediaTypes(List<HttpMessageEncoder> encoders) {
+		Set<String> mediaTypes = new LinkedHashSet<String>();
+		for (HttpMessageEncoder encoder : encoders) {
+			for (MediaType mediaType : encoder.getSupportedMediaTypes()) {
+				mediaTypes.add(mediaType.toString());
+			}
+		}
+		return mediaTypes.toArray(new String[mediaTypes.size()]);
+	}
+
+	/**
+	 * Return the configured encoders.
+	 */
+	public List<HttpMessageEncoder> getEncoders() {
+		return this.encoders;
+	}
+
+	@Override
+	public boolean supportsReturnType(Class<?> returnType) {
+		return true;
+	}
+
+	@Override
+	public void handleReturnValue(Object returnValue, RoutingContext context) throws Exception {
+		String acceptableContentType = context.getAcceptableContentType();
+		String accept = (acceptableContentType != null ? acceptableContentType : context.request().getHeader(HttpHeaders.ACCEPT));
+		MediaType mediaType = this.producibleCondition.getProducibleMediaType(accept);
+		if (mediaType != null) {
+			Class<?> valueClass = returnValue.getClass();
+			for (HttpMessageEncoder encoder : this.encoders) {
+				if (encoder.canEncode(valueClass, mediaType)) {
+					encoder.encode(returnValue, mediaType, context.response());
+					return;
+				}
+			}
+		}
+		context.fail(NOT_ACCEPTABLE);
+	}
+
+}
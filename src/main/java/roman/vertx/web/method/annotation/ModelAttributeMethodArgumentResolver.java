@@ -0,0 +1,140 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.core.MultiMap;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DataBinder;
+import org.springframework.validation.FieldError;
+
+import roman.vertx.web.bind.BeanBinder;
+import roman.vertx.web.bind.RequestBindingException;
+import roman.vertx.web.bind.WebDataBinder;
+import roman.vertx.web.bind.annotation.ModelAttribute;
+import roman.vertx.web.method.support.DataBinderArgumentResolver;
+import roman.vertx.web.method.support.IndexedArgumentResolver;
+import roman.vertx.web.method.support.PreparedArgumentResolver;
+
+/**
+ * Resolves method arguments annotated with {@link ModelAttribute
+ * @ModelAttribute} by binding the request parameters onto a new instance of
+ * the parameter type.
+ *
+ * <p>
+ * By default binding goes through the {@link BeanBinder} of the parameter
+ * type, {@link #prepareParameter prepared} once and kept in the argument plan
+ * of the handler method, which sets properties through
+ * generated code instead of a {@link org.springframework.beans.BeanWrapper}.
+ * Alternatively the resolver can require a {@link WebDataBinder} and bind
+ * through it. Either way, a value that cannot be converted raises a
+ * {@link RequestBindingException}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class ModelAttributeMethodArgumentResolver implements DataBinderArgumentResolver, PreparedArgumentResolver, IndexedArgumentResolver {
+
+	private final boolean useBeanBinder;
+
+	/**
+	 * Create a resolver that binds through a {@link BeanBinder}.
+	 */
+	public ModelAttributeMethodArgumentResolver() {
+		this(true);
+	}
+
+	/**
+	 * Create a resolver that binds through a {@link BeanBinder}, or, if
+	 * {@code false}, through a {@link WebDataBinder}.
+	 */
+	public ModelAttributeMethodArgumentResolver(boolean useBeanBinder) {
+		this.useBeanBinder = useBeanBinder;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IllegalStateException
+	 *             if the parameter is annotated but its type cannot be
+	 *             instantiated
+	 */
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		if (!parameter.hasParameterAnnotation(ModelAttribute.class)) {
+			return false;
+		}
+		Class<?> parameterType = parameter.getParameterType();
+		if (parameterType.isPrimitive() || parameterType.isArray() || parameterType.isInterface() || Modifier.isAbstract(parameterType.getModifiers())) {
+			throw new IllegalStateException("Cannot bind model attribute to parameter type [" + parameterType.getName() + "]: "
+					+ parameter.getMethod().toGenericString());
+		}
+		return true;
+	}
+
+	@Override
+	public Class<? extends Annotation> getParameterAnnotationType() {
+		return ModelAttribute.class;
+	}
+
+	@Override
+	public Class<?> getParameterType() {
+		return null;
+	}
+
+	@Override
+	public boolean requiresDataBinder(MethodParameter parameter) {
+		return !this.useBeanBinder;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Prepares the {@link BeanBinder} of the parameter type, unless binding
+	 * goes through a {@link WebDataBinder}.
+	 */
+	@Override
+	public Object prepareParameter(MethodParameter parameter) {
+		return (this.useBeanBinder ? BeanBinder.forClass(parameter.getParameterType()) : null);
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, RoutingContext context, DataBinder binder) throws Exception {
+		return resolveArgument(parameter, (binder == null ? BeanBinder.forClass(parameter.getParameterType()) : null), context, binder);
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, Object prepared, RoutingContext context, DataBinder binder) throws Exception {
+		MultiMap parameters = context.request().params();
+		if (binder == null) {
+			BeanBinder beanBinder = (BeanBinder) prepared;
+			Object target = BeanUtils.instantiateClass(parameter.getParameterType());
+			beanBinder.bind(target, parameters);
+			return target;
+		}
+		binder.bind(getPropertyValues(parameters));
+		BindingResult bindingResult = binder.getBindingResult();
+		if (bindingResult.hasFieldErrors()) {
+			FieldError error = bindingResult.getFieldError();
+			throw new RequestBindingException("Failed to bind request parameter '" + error.getField() + "' with value '" + error.getRejectedValue()
+					+ "' to " + binder.getObjectName());
+		}
+		return binder.getTarget();
+	}
+
+	private MutablePropertyValues getPropertyValues(MultiMap parameters) {
+		MutablePropertyValues propertyValues = new MutablePropertyValues();
+		for (String name : parameters.names()) {
+			List<String> values = parameters.getAll(name);
+			propertyValues.add(name, (values.size() == 1 ? values.get(0) : values.toArray(new String[values.size()])));
+		}
+		return propertyValues;
+	}
+
+}
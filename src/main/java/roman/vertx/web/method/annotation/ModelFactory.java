@@ -20,6 +20,8 @@ import org.springframework.ui.ModelMap;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 
+import roman.vertx.web.bind.annotation.ModelAttribute;
+
 /**
  * Provides methods to initialize the {@link Model} before controller method
  * invocation and to update it afterwards.
@@ -46,8 +48,8 @@ public final class ModelFactory {
 	 * @return the derived name; never {@code null} or an empty string
 	 */
 	public static String getNameForParameter(MethodParameter parameter) {
-//		ModelAttribute annot = parameter.getParameterAnnotation(ModelAttribute.class);
-		String attrName = parameter.getParameterName();
+		ModelAttribute annot = parameter.getParameterAnnotation(ModelAttribute.class);
+		String attrName = (annot != null && StringUtils.hasText(annot.value()) ? annot.value() : parameter.getParameterName());
 		return StringUtils.hasText(attrName) ? attrName :  Conventions.getVariableNameForParameter(parameter);
 	}
 
@@ -0,0 +1,36 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.ext.web.RoutingContext;
+
+import roman.vertx.web.bind.annotation.PathVariable;
+
+/**
+ * Resolves method arguments annotated with {@link PathVariable @PathVariable}
+ * from the variables of the matched path pattern, which are added to the
+ * request parameters by the router. Path variables are always required.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class PathVariableMethodArgumentResolver extends AbstractNamedValueMethodArgumentResolver<PathVariable> {
+
+	public PathVariableMethodArgumentResolver() {
+		super(PathVariable.class);
+	}
+
+	@Override
+	protected String getName(PathVariable annotation) {
+		return annotation.value();
+	}
+
+	@Override
+	protected String getValueDescription() {
+		return "path variable";
+	}
+
+	@Override
+	protected String resolveValue(String name, RoutingContext context) {
+		return context.request().getParam(name);
+	}
+
+}
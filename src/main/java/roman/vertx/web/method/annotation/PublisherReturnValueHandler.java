@@ -0,0 +1,152 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import roman.vertx.web.handler.HandlerExecutor;
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
+
+/**
+ * Handles return values of type {@link Publisher} by streaming each element to
+ * the response as a chunk, as {@link Buffer}, {@code byte[]} or the element's
+ * {@code String} value.
+ *
+ * <p>
+ * Elements are requested one at a time, and only while the response write
+ * queue is not full; otherwise the next element is requested from the
+ * response's drain handler. The subscription is cancelled when the connection
+ * is closed.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class PublisherReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+	@Override
+	public boolean supportsReturnType(Class<?> returnType) {
+		return Publisher.class.isAssignableFrom(returnType);
+	}
+
+	@Override
+	public void handleReturnValue(Object returnValue, RoutingContext context) throws Exception {
+		Context vertxContext = HandlerExecutor.getVertxContext(context);
+		((Publisher<?>) returnValue).subscribe(new ResponseSubscriber(context, vertxContext));
+	}
+
+	/**
+	 * Convert a stream element to a response chunk.
+	 */
+	protected Buffer toBuffer(Object element) {
+		if (element instanceof Buffer) {
+			return (Buffer) element;
+		}
+		if (element instanceof byte[]) {
+			return Buffer.buffer((byte[]) element);
+		}
+		return Buffer.buffer(String.valueOf(element), "UTF-8");
+	}
+
+
+	/**
+	 * Writes the elements of a publisher to the response of a request.
+	 */
+	private class ResponseSubscriber implements Subscriber<Object> {
+
+		private final RoutingContext context;
+
+		private final Context vertxContext;
+
+		private final HttpServerResponse response;
+
+		private Subscription subscription;
+
+		private boolean done;
+
+		public ResponseSubscriber(RoutingContext context, Context vertxContext) {
+			this.context = context;
+			this.vertxContext = vertxContext;
+			this.response = context.response();
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			runOnContext(() -> {
+				this.subscription = subscription;
+				if (!this.response.headers().contains(HttpHeaders.CONTENT_LENGTH)) {
+					this.response.setChunked(true);
+				}
+				this.response.closeHandler(v -> cancel());
+				subscription.request(1);
+			});
+		}
+
+		@Override
+		public void onNext(Object element) {
+			runOnContext(() -> {
+				if (this.done) {
+					return;
+				}
+				this.response.write(toBuffer(element));
+				if (this.response.writeQueueFull()) {
+					this.response.drainHandler(v -> {
+						if (!this.done) {
+							this.subscription.request(1);
+						}
+					});
+				} else {
+					this.subscription.request(1);
+				}
+			});
+		}
+
+		@Override
+		public void onError(Throwable failure) {
+			runOnContext(() -> {
+				if (this.done) {
+					return;
+				}
+				this.done = true;
+				if (this.response.headWritten()) {
+					this.response.close();
+				} else {
+					this.context.fail(failure);
+				}
+			});
+		}
+
+		@Override
+		public void onComplete() {
+			runOnContext(() -> {
+				if (this.done) {
+					return;
+				}
+				this.done = true;
+				this.response.end();
+			});
+		}
+
+		private void cancel() {
+			if (!this.done) {
+				this.done = true;
+				this.subscription.cancel();
+			}
+		}
+
+		private void runOnContext(Runnable task) {
+			if (Vertx.currentContext() == this.vertxContext) {
+				task.run();
+			} else {
+				this.vertxContext.runOnContext(v -> task.run());
+			}
+		}
+	}
+
+}
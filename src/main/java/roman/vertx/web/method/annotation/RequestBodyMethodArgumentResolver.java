@@ -0,0 +1,132 @@
+package roman.vertx.web.method.annotation;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.util.Assert;
+import org.springframework.validation.DataBinder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import roman.vertx.web.bind.annotation.RequestBody;
+import roman.vertx.web.handler.RequestBodyHandler;
+import roman.vertx.web.http.HttpMessageNotReadableException;
+import roman.vertx.web.method.support.IndexedArgumentResolver;
+import roman.vertx.web.method.support.MethodParameterKey;
+import roman.vertx.web.method.support.PreparedArgumentResolver;
+
+/**
+ * Resolves method arguments annotated with {@link RequestBody @RequestBody} by
+ * parsing the request body as JSON with Jackson, straight from the bytes read
+ * by {@link RequestBodyHandler}. An {@link ObjectReader} for the generic
+ * parameter type is {@link #prepareParameter prepared} once per parameter and
+ * kept in the argument plan of the handler method.
+ *
+ * <p>
+ * A missing body for a required parameter, or content that cannot be parsed
+ * into the parameter type, raises an {@link HttpMessageNotReadableException}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class RequestBodyMethodArgumentResolver implements PreparedArgumentResolver, IndexedArgumentResolver {
+
+	private final ObjectMapper objectMapper;
+
+	private final Map<MethodParameterKey, ObjectReader> objectReaderCache = new ConcurrentHashMap<MethodParameterKey, ObjectReader>(64);
+
+	/**
+	 * Create a resolver using the Vert.x {@link Json#mapper}.
+	 */
+	public RequestBodyMethodArgumentResolver() {
+		this(Json.mapper);
+	}
+
+	/**
+	 * Create a resolver using the given {@link ObjectMapper}.
+	 */
+	public RequestBodyMethodArgumentResolver(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return parameter.hasParameterAnnotation(RequestBody.class);
+	}
+
+	@Override
+	public Class<? extends Annotation> getParameterAnnotationType() {
+		return RequestBody.class;
+	}
+
+	@Override
+	public Class<?> getParameterType() {
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Prepares the {@link ObjectReader} for the generic parameter type.
+	 */
+	@Override
+	public Object prepareParameter(MethodParameter parameter) {
+		return createObjectReader(parameter);
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, RoutingContext context, DataBinder binder) throws Exception {
+		return resolveArgument(parameter, getObjectReader(parameter), context, binder);
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, Object prepared, RoutingContext context, DataBinder binder) throws Exception {
+		ByteBuf body = RequestBodyHandler.getBody(context);
+		if (body == null || !body.isReadable()) {
+			if (parameter.getParameterAnnotation(RequestBody.class).required()) {
+				throw new HttpMessageNotReadableException("Required request body is missing: " + parameter.getMethod().toGenericString());
+			}
+			return null;
+		}
+		ObjectReader objectReader = (ObjectReader) prepared;
+		try {
+			if (body.hasArray()) {
+				return objectReader.readValue(body.array(), body.arrayOffset() + body.readerIndex(), body.readableBytes());
+			}
+			return objectReader.readValue(new ByteBufInputStream(body.duplicate()));
+		} catch (JsonProcessingException ex) {
+			throw new HttpMessageNotReadableException("Could not read JSON: " + ex.getOriginalMessage(), ex);
+		}
+	}
+
+	/**
+	 * Return the {@link ObjectReader} for the given parameter, cached by method
+	 * and parameter index, for resolving without a prepared argument plan.
+	 */
+	private ObjectReader getObjectReader(MethodParameter parameter) {
+		MethodParameterKey key = new MethodParameterKey(parameter);
+		ObjectReader objectReader = this.objectReaderCache.get(key);
+		if (objectReader == null) {
+			objectReader = createObjectReader(parameter);
+			this.objectReaderCache.put(key, objectReader);
+		}
+		return objectReader;
+	}
+
+	private ObjectReader createObjectReader(MethodParameter parameter) {
+		JavaType javaType = this.objectMapper.getTypeFactory().constructType(parameter.getGenericParameterType());
+		return this.objectMapper.readerFor(javaType);
+	}
+
+}
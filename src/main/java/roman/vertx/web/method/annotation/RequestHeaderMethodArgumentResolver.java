@@ -0,0 +1,58 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.List;
+
+import roman.vertx.web.bind.annotation.RequestHeader;
+
+/**
+ * Resolves method arguments annotated with {@link RequestHeader @RequestHeader}
+ * from the request headers, including all values for array and {@link List}
+ * parameters.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class RequestHeaderMethodArgumentResolver extends AbstractNamedValueMethodArgumentResolver<RequestHeader> {
+
+	public RequestHeaderMethodArgumentResolver() {
+		super(RequestHeader.class);
+	}
+
+	@Override
+	protected String getName(RequestHeader annotation) {
+		return annotation.value();
+	}
+
+	@Override
+	protected boolean isRequired(RequestHeader annotation) {
+		return annotation.required();
+	}
+
+	@Override
+	protected String getDefaultValue(RequestHeader annotation) {
+		return annotation.defaultValue();
+	}
+
+	@Override
+	protected boolean supportsMultipleValues() {
+		return true;
+	}
+
+	@Override
+	protected String getValueDescription() {
+		return "request header";
+	}
+
+	@Override
+	protected String resolveValue(String name, RoutingContext context) {
+		return context.request().getHeader(name);
+	}
+
+	@Override
+	protected List<String> resolveValues(String name, RoutingContext context) {
+		return context.request().headers().getAll(name);
+	}
+
+}
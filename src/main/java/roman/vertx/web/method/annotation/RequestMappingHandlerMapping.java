@@ -1,22 +1,45 @@
 package roman.vertx.web.method.annotation;
 
-import io.vertx.ext.web.Router;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
-import javax.annotation.PostConstruct;
-
-import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import roman.vertx.web.bind.annotation.RequestBody;
 import roman.vertx.web.bind.annotation.RequestMapping;
 import roman.vertx.web.condition.ConsumesRequestCondition;
 import roman.vertx.web.condition.PatternRequestCondition;
 import roman.vertx.web.condition.ProducesRequestCondition;
 import roman.vertx.web.condition.RequestMethodsRequestCondition;
 import roman.vertx.web.handler.AbstractHandlerMapping;
+import roman.vertx.web.handler.RequestBodyHandler;
+import roman.vertx.web.index.HandlerIndex;
+import roman.vertx.web.index.HandlerMethodMetadata;
+import roman.vertx.web.index.RequestMappingIndexLoader;
+import roman.vertx.web.index.RequestMappingIndexProcessor;
+import roman.vertx.web.index.RequestMappingMetadata;
+import roman.vertx.web.http.converter.HttpMessageEncoder;
+import roman.vertx.web.http.converter.JsonHttpMessageEncoder;
+import roman.vertx.web.http.converter.StringHttpMessageEncoder;
 import roman.vertx.web.method.RequestMappingInfo;
+import roman.vertx.web.method.support.HandlerMethodArgumentResolver;
+import roman.vertx.web.method.support.HandlerMethodReturnValueHandler;
 
 /**
  * Creates {@link RequestMappingInfo} instances from type and method-level
@@ -29,6 +52,89 @@ import roman.vertx.web.method.RequestMappingInfo;
  */
 public class RequestMappingHandlerMapping extends AbstractHandlerMapping {
 
+	private static final boolean reactiveStreamsPresent = ClassUtils.isPresent("org.reactivestreams.Publisher",
+			RequestMappingHandlerMapping.class.getClassLoader());
+
+	private long maxBodySize = RequestBodyHandler.DEFAULT_MAX_BODY_SIZE;
+
+	private ObjectMapper objectMapper;
+
+	private List<HttpMessageEncoder> messageEncoders;
+
+	private RequestBodyHandler requestBodyHandler;
+
+	private boolean useRequestMappingIndex = false;
+
+	/**
+	 * Set the maximum size in bytes of request bodies read for
+	 * {@link RequestBody @RequestBody} arguments; larger bodies are rejected
+	 * with status 413. A negative value means no limit. Default is
+	 * {@link RequestBodyHandler#DEFAULT_MAX_BODY_SIZE}.
+	 */
+	public void setMaxBodySize(long maxBodySize) {
+		this.maxBodySize = maxBodySize;
+	}
+
+	public long getMaxBodySize() {
+		return this.maxBodySize;
+	}
+
+	/**
+	 * Whether to register the handler methods listed in the
+	 * {@link RequestMappingIndexLoader#INDEX_LOCATION request mapping index}
+	 * written by the {@link RequestMappingIndexProcessor} at compile time,
+	 * when there is one on the class path. Handler beans are then looked up
+	 * by the indexed types only, and their methods without reflecting over
+	 * each one for annotations.
+	 * <p>
+	 * Handler beans whose type is not indexed, e.g. from a jar built without
+	 * the processor, are still found by scanning, with a warning.
+	 * <p>
+	 * Default is "false".
+	 */
+	public void setUseRequestMappingIndex(boolean useRequestMappingIndex) {
+		this.useRequestMappingIndex = useRequestMappingIndex;
+	}
+
+	public boolean isUseRequestMappingIndex() {
+		return this.useRequestMappingIndex;
+	}
+
+	/**
+	 * Set the {@link ObjectMapper} used to read {@link RequestBody
+	 * @RequestBody} arguments. Default is the Vert.x
+	 * {@link io.vertx.core.json.Json#mapper}.
+	 */
+	public void setObjectMapper(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	public ObjectMapper getObjectMapper() {
+		return this.objectMapper;
+	}
+
+	/**
+	 * Provide the encoders used to write return values that are not handled
+	 * by a more specific return value handler, in order of preference.
+	 * Default is JSON, then plain text.
+	 */
+	public void setMessageEncoders(List<HttpMessageEncoder> messageEncoders) {
+		this.messageEncoders = messageEncoders;
+	}
+
+	/**
+	 * Return the configured encoders, or the default ones if none are set.
+	 */
+	public List<HttpMessageEncoder> getMessageEncoders() {
+		if (this.messageEncoders != null) {
+			return this.messageEncoders;
+		}
+		List<HttpMessageEncoder> encoders = new ArrayList<HttpMessageEncoder>();
+		encoders.add(this.objectMapper != null ? new JsonHttpMessageEncoder(this.objectMapper) : new JsonHttpMessageEncoder());
+		encoders.add(new StringHttpMessageEncoder());
+		return encoders;
+	}
+
 	/**
 	 * {@inheritDoc} Expects a handler to have a type-level @{@link Controller}
 	 * annotation.
@@ -38,6 +144,72 @@ public class RequestMappingHandlerMapping extends AbstractHandlerMapping {
 		return ((AnnotationUtils.findAnnotation(beanType, Controller.class) != null) || (AnnotationUtils.findAnnotation(beanType, RequestMapping.class) != null));
 	}
 
+	/**
+	 * Detect handler methods from the {@link #setUseRequestMappingIndex
+	 * request mapping index} if there is one, or else by scanning the
+	 * application context.
+	 */
+	@Override
+	protected List<RequestMappingInfo> detectHandlerMethods() {
+		List<HandlerIndex> index = (this.useRequestMappingIndex ? RequestMappingIndexLoader.load(getApplicationContext().getClassLoader()) : null);
+		if (index == null) {
+			return super.detectHandlerMethods();
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Using request mapping index of " + index.size() + " handler types");
+		}
+		Map<Class<?>, HandlerIndex> indexedTypes = new LinkedHashMap<Class<?>, HandlerIndex>();
+		for (HandlerIndex handlerIndex : index) {
+			try {
+				indexedTypes.put(ClassUtils.forName(handlerIndex.getHandlerTypeName(), getApplicationContext().getClassLoader()), handlerIndex);
+			} catch (ClassNotFoundException ex) {
+				throw new IllegalStateException("Handler type of request mapping index not found: " + handlerIndex.getHandlerTypeName(), ex);
+			}
+		}
+		List<Callable<? extends Collection<RequestMappingInfo>>> detections = new ArrayList<Callable<? extends Collection<RequestMappingInfo>>>();
+		Set<String> indexedBeanNames = new HashSet<String>();
+		for (Map.Entry<Class<?>, HandlerIndex> entry : indexedTypes.entrySet()) {
+			for (String beanName : getCandidateBeanNames(entry.getKey())) {
+				// Beans of indexed sub-classes are registered with their own index
+				Class<?> userType = ClassUtils.getUserClass(getApplicationContext().getType(beanName));
+				if (userType == entry.getKey() || !indexedTypes.containsKey(userType)) {
+					detections.add(() -> getMappingsForIndex(entry.getValue(), beanName, userType));
+					indexedBeanNames.add(beanName);
+				}
+			}
+		}
+		for (String beanName : getCandidateBeanNames(Object.class)) {
+			Class<?> beanType = getApplicationContext().getType(beanName);
+			if (!indexedBeanNames.contains(beanName) && beanType != null && isHandler(beanType)) {
+				logger.warn("Handler type " + ClassUtils.getUserClass(beanType).getName() + " of bean '" + beanName
+						+ "' is not in the request mapping index; scanning it instead");
+				detections.add(() -> detectHandlerMethods(beanName));
+			}
+		}
+		return collectHandlerMethods(detections);
+	}
+
+	private List<RequestMappingInfo> getMappingsForIndex(HandlerIndex index, String beanName, Class<?> handlerType) {
+		List<RequestMappingInfo> mappings = new ArrayList<RequestMappingInfo>();
+		for (HandlerMethodMetadata handlerMethod : index.getHandlerMethods()) {
+			Class<?>[] parameterTypes = new Class<?>[handlerMethod.getParameterTypeNames().length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				parameterTypes[i] = ClassUtils.resolveClassName(handlerMethod.getParameterTypeNames()[i], handlerType.getClassLoader());
+			}
+			Method method = ReflectionUtils.findMethod(handlerType, handlerMethod.getName(), parameterTypes);
+			if (method == null) {
+				throw new IllegalStateException("Handler method " + handlerMethod + " of request mapping index not found on " + handlerType.getName()
+						+ "; the index is out of date");
+			}
+			RequestMappingInfo info = createRequestMappingInfo(beanName, method, handlerMethod.getMapping());
+			if (index.getTypeMapping() != null) {
+				info = createRequestMappingInfo(beanName, method, index.getTypeMapping()).combine(info);
+			}
+			mappings.add(info);
+		}
+		return mappings;
+	}
+
 	/**
 	 * Uses method and type-level @{@link RequestMapping} annotations to create
 	 * the RequestMappingInfo.
@@ -48,15 +220,14 @@ public class RequestMappingHandlerMapping extends AbstractHandlerMapping {
 	 * @see #getCustomTypeCondition(Class)
 	 */
 	@Override
-	protected RequestMappingInfo getMappingForMethod(Method method, Class<?> handlerType) {
+	protected RequestMappingInfo getMappingForMethod(Object handler, Method method, Class<?> handlerType) {
 		RequestMappingInfo info = null;
 		RequestMapping methodAnnotation = AnnotationUtils.findAnnotation(method, RequestMapping.class);
-		Object object = getApplicationContext().getBean(handlerType);
 		if (methodAnnotation != null) {
-			info = createRequestMappingInfo(object, method, methodAnnotation);
+			info = createRequestMappingInfo(handler, method, methodAnnotation);
 			RequestMapping typeAnnotation = AnnotationUtils.findAnnotation(handlerType, RequestMapping.class);
 			if (typeAnnotation != null) {
-				info = createRequestMappingInfo(object, method, typeAnnotation).combine(info);
+				info = createRequestMappingInfo(handler, method, typeAnnotation).combine(info);
 			}
 		}
 		return info;
@@ -66,13 +237,96 @@ public class RequestMappingHandlerMapping extends AbstractHandlerMapping {
 	 * Created a RequestMappingInfo from a RequestMapping annotation.
 	 */
 	protected RequestMappingInfo createRequestMappingInfo(Object object, Method method, RequestMapping annotation) {
-		String pattern = annotation.value();
-		Router router = getApplicationContext().getBean(Router.class);
-		if (router == null) {
-			throw new IllegalStateException("The Router bean does not exist!");
+		return createRequestMappingInfo(object, method, new RequestMappingMetadata(annotation));
+	}
+
+	/**
+	 * Created a RequestMappingInfo from the attributes of a RequestMapping
+	 * annotation.
+	 */
+	protected RequestMappingInfo createRequestMappingInfo(Object object, Method method, RequestMappingMetadata metadata) {
+		return new RequestMappingInfo(object, method, new PatternRequestCondition(metadata.getValue(), getPathMatcher()), new RequestMethodsRequestCondition(
+				metadata.getMethod()), new ConsumesRequestCondition(metadata.getConsumes()), new ProducesRequestCondition(metadata.getProduces()),
+				metadata.getExecution());
+	}
+
+	/**
+	 * Reads the request body with a {@link RequestBodyHandler} ahead of the
+	 * handler if the method has a {@link RequestBody @RequestBody} parameter,
+	 * so the body is available when the method is invoked.
+	 */
+	@Override
+	protected Handler<RoutingContext> getHandler(RequestMappingInfo mapping) {
+		Handler<RoutingContext> handler = super.getHandler(mapping);
+		if (!hasRequestBody(mapping.getMethod())) {
+			return handler;
+		}
+		if (this.requestBodyHandler == null) {
+			this.requestBodyHandler = new RequestBodyHandler(this.maxBodySize);
+		}
+		RequestBodyHandler requestBodyHandler = this.requestBodyHandler;
+		return context -> requestBodyHandler.handle(context, handler);
+	}
+
+	private static boolean hasRequestBody(Method method) {
+		for (Annotation[] annotations : method.getParameterAnnotations()) {
+			for (Annotation annotation : annotations) {
+				if (annotation instanceof RequestBody) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the list of built-in argument resolvers, used unless the complete
+	 * list is configured via {@link #setArgumentResolvers}.
+	 */
+	@Override
+	protected List<HandlerMethodArgumentResolver> getDefaultArgumentResolvers() {
+		List<HandlerMethodArgumentResolver> resolvers = new ArrayList<HandlerMethodArgumentResolver>();
+
+		// Annotation-based argument resolution
+		resolvers.add(this.objectMapper != null ? new RequestBodyMethodArgumentResolver(this.objectMapper) : new RequestBodyMethodArgumentResolver());
+		resolvers.add(new PathVariableMethodArgumentResolver());
+		resolvers.add(new RequestParamMethodArgumentResolver());
+		resolvers.add(new RequestHeaderMethodArgumentResolver());
+		resolvers.add(new CookieValueMethodArgumentResolver());
+		resolvers.add(new ModelAttributeMethodArgumentResolver());
+
+		// Custom arguments
+		if (getCustomArgumentResolvers() != null) {
+			resolvers.addAll(getCustomArgumentResolvers());
 		}
-		return new RequestMappingInfo(object, method, new PatternRequestCondition(pattern, getPathMatcher()), new RequestMethodsRequestCondition(annotation.method()), new ConsumesRequestCondition(
-				annotation.consumes()), new ProducesRequestCondition(annotation.produces()));
+
+		return resolvers;
+	}
+
+	/**
+	 * Return the list of built-in return value handlers, used unless the
+	 * complete list is configured via {@link #setReturnValueHandlers}.
+	 */
+	@Override
+	protected List<HandlerMethodReturnValueHandler> getDefaultReturnValueHandlers(HandlerMethodReturnValueHandler valueHandler) {
+		List<HandlerMethodReturnValueHandler> handlers = new ArrayList<HandlerMethodReturnValueHandler>();
+
+		// Asynchronous results
+		handlers.add(new CompletionStageReturnValueHandler(valueHandler));
+		handlers.add(new FutureReturnValueHandler(valueHandler));
+		if (reactiveStreamsPresent) {
+			handlers.add(new PublisherReturnValueHandler());
+		}
+
+		// Single-buffer and file results
+		handlers.add(new BufferReturnValueHandler());
+		handlers.add(new StringReturnValueHandler());
+		handlers.add(new FileReturnValueHandler());
+
+		// Catch-all
+		handlers.add(new HttpMessageEncoderReturnValueHandler(getMessageEncoders()));
+
+		return handlers;
 	}
 
 }
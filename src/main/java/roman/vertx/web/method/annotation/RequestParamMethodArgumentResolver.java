@@ -0,0 +1,58 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.List;
+
+import roman.vertx.web.bind.annotation.RequestParam;
+
+/**
+ * Resolves method arguments annotated with {@link RequestParam @RequestParam}
+ * from the request parameters, including all values for array and
+ * {@link List} parameters.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class RequestParamMethodArgumentResolver extends AbstractNamedValueMethodArgumentResolver<RequestParam> {
+
+	public RequestParamMethodArgumentResolver() {
+		super(RequestParam.class);
+	}
+
+	@Override
+	protected String getName(RequestParam annotation) {
+		return annotation.value();
+	}
+
+	@Override
+	protected boolean isRequired(RequestParam annotation) {
+		return annotation.required();
+	}
+
+	@Override
+	protected String getDefaultValue(RequestParam annotation) {
+		return annotation.defaultValue();
+	}
+
+	@Override
+	protected boolean supportsMultipleValues() {
+		return true;
+	}
+
+	@Override
+	protected String getValueDescription() {
+		return "request parameter";
+	}
+
+	@Override
+	protected String resolveValue(String name, RoutingContext context) {
+		return context.request().getParam(name);
+	}
+
+	@Override
+	protected List<String> resolveValues(String name, RoutingContext context) {
+		return context.request().params().getAll(name);
+	}
+
+}
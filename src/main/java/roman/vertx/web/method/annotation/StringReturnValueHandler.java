@@ -0,0 +1,39 @@
+package roman.vertx.web.method.annotation;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes {@link CharSequence} return values to the response, encoded once as
+ * UTF-8 into a single {@link Buffer} with the {@code Content-Length} header
+ * set up front.
+ *
+ * <p>
+ * Unless the handler method has set a {@code Content-Type} already, the type
+ * negotiated from the route's {@code produces} media types is used, or
+ * {@code text/plain;charset=UTF-8} if there are none.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class StringReturnValueHandler extends BufferReturnValueHandler {
+
+	private static final String DEFAULT_CONTENT_TYPE = "text/plain;charset=UTF-8";
+
+	@Override
+	public boolean supportsReturnType(Class<?> returnType) {
+		return CharSequence.class.isAssignableFrom(returnType);
+	}
+
+	@Override
+	protected Buffer toBuffer(Object returnValue) {
+		return Buffer.buffer(returnValue.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	protected String getDefaultContentType() {
+		return DEFAULT_CONTENT_TYPE;
+	}
+
+}
@@ -0,0 +1,31 @@
+package roman.vertx.web.method.support;
+
+import org.springframework.core.MethodParameter;
+
+import roman.vertx.web.bind.BindingMetadata;
+import roman.vertx.web.bind.WebDataBinder;
+
+/**
+ * Extension of {@link HandlerMethodArgumentResolver} for resolvers that bind
+ * request values onto the argument through a {@link WebDataBinder}.
+ *
+ * <p>
+ * Other resolvers are passed {@code null} instead of a binder. For parameters
+ * that {@link #requiresDataBinder require one}, the
+ * {@link InvocableHandlerMethod} works out the model attribute name and the
+ * {@link BindingMetadata} of the parameter type when it is created, and
+ * creates a binder onto a new instance of the parameter type for each
+ * request.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public interface DataBinderArgumentResolver extends HandlerMethodArgumentResolver {
+
+	/**
+	 * Whether resolving the given parameter, which this resolver
+	 * {@link #supportsParameter supports}, requires a {@link WebDataBinder}.
+	 */
+	boolean requiresDataBinder(MethodParameter parameter);
+
+}
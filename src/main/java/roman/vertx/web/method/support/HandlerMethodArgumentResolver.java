@@ -1,6 +1,6 @@
 package roman.vertx.web.method.support;
 
-import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
 
 import org.springframework.core.MethodParameter;
 import org.springframework.validation.DataBinder;
@@ -30,23 +30,24 @@ public interface HandlerMethodArgumentResolver {
 
 	/**
 	 * Resolves a method parameter into an argument value from a given request.
-	 * A {@link ModelAndViewContainer} provides access to the model for the
-	 * request. A {@link WebDataBinderFactory} provides a way to create a
-	 * {@link WebDataBinder} instance when needed for data binding and type
-	 * conversion purposes.
+	 * A {@link WebDataBinder} onto a new instance of the parameter type is
+	 * only passed to resolvers that declare they need one, as a
+	 * {@link DataBinderArgumentResolver}.
 	 * 
 	 * @param parameter
 	 *            the method parameter to resolve. This parameter must have
 	 *            previously been passed to {@link #supportsParameter} which
 	 *            must have returned {@code true}.
-	 * @param webRequest
-	 *            the current request
-	 * @param binderFactory
-	 *            a factory for creating {@link WebDataBinder} instances
+	 * @param context
+	 *            the routing context of the current request
+	 * @param binder
+	 *            the binder for the argument, or {@code null} if the resolver
+	 *            does not {@link DataBinderArgumentResolver#requiresDataBinder
+	 *            require} one
 	 * @return the resolved argument value, or {@code null}
 	 * @throws Exception
 	 *             in case of errors with the preparation of argument values
 	 */
-	Object resolveArgument(MethodParameter parameter, HttpServerRequest webRequest, DataBinder binder) throws Exception;
+	Object resolveArgument(MethodParameter parameter, RoutingContext context, DataBinder binder) throws Exception;
 
 }
@@ -1,9 +1,11 @@
 package roman.vertx.web.method.support;
 
-import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
 
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,10 +15,17 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.core.MethodParameter;
 import org.springframework.util.Assert;
 import org.springframework.validation.DataBinder;
+
 /**
  * Resolves method parameters by delegating to a list of registered {@link HandlerMethodArgumentResolver}s.
  * Previously resolved method parameters are cached for faster lookups.
  *
+ * <p>{@link IndexedArgumentResolver}s are indexed by their annotation or parameter type, so that a lookup
+ * only asks the resolvers indexed under the annotations and the type of the parameter, plus the resolvers
+ * that are not indexed, in the order they were registered. The cache is keyed on the method and index of
+ * the parameter rather than on the mutable {@link MethodParameter}. Registration replaces the index and
+ * cache as a whole, so lookups running at the same time see either the old or the new resolvers.
+ *
  * @author Rossen Stoyanchev
  * @since 3.1
  */
@@ -24,18 +33,14 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
-	private final List<HandlerMethodArgumentResolver> argumentResolvers =
-			new LinkedList<HandlerMethodArgumentResolver>();
-
-	private final Map<MethodParameter, HandlerMethodArgumentResolver> argumentResolverCache =
-			new ConcurrentHashMap<MethodParameter, HandlerMethodArgumentResolver>(256);
+	private volatile ResolverIndex index = new ResolverIndex(Collections.<HandlerMethodArgumentResolver> emptyList());
 
 
 	/**
 	 * Return a read-only list with the contained resolvers, or an empty list.
 	 */
 	public List<HandlerMethodArgumentResolver> getResolvers() {
-		return Collections.unmodifiableList(this.argumentResolvers);
+		return Collections.unmodifiableList(this.index.resolvers);
 	}
 
 	/**
@@ -53,27 +58,30 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	 */
 	@Override
 	public Object resolveArgument(MethodParameter parameter,
-			HttpServerRequest webRequest, DataBinder binder) throws Exception {
+			RoutingContext context, DataBinder binder) throws Exception {
 
 		HandlerMethodArgumentResolver resolver = getArgumentResolver(parameter);
 		Assert.notNull(resolver, "Unknown parameter type [" + parameter.getParameterType().getName() + "]");
-		return resolver.resolveArgument(parameter, webRequest, binder);
+		return resolver.resolveArgument(parameter, context, binder);
 	}
 
 	/**
 	 * Find a registered {@link HandlerMethodArgumentResolver} that supports the given method parameter.
+	 * @return the matching resolver, or {@code null} if none supports the parameter
 	 */
-	private HandlerMethodArgumentResolver getArgumentResolver(MethodParameter parameter) {
-		HandlerMethodArgumentResolver result = this.argumentResolverCache.get(parameter);
+	public HandlerMethodArgumentResolver getArgumentResolver(MethodParameter parameter) {
+		ResolverIndex index = this.index;
+		MethodParameterKey key = new MethodParameterKey(parameter);
+		HandlerMethodArgumentResolver result = index.cache.get(key);
 		if (result == null) {
-			for (HandlerMethodArgumentResolver methodArgumentResolver : this.argumentResolvers) {
+			for (HandlerMethodArgumentResolver methodArgumentResolver : index.getCandidates(parameter)) {
 				if (logger.isTraceEnabled()) {
 					logger.trace("Testing if argument resolver [" + methodArgumentResolver + "] supports [" +
 							parameter.getGenericParameterType() + "]");
 				}
 				if (methodArgumentResolver.supportsParameter(parameter)) {
 					result = methodArgumentResolver;
-					this.argumentResolverCache.put(parameter, result);
+					index.cache.put(key, result);
 					break;
 				}
 			}
@@ -85,8 +93,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	 * Add the given {@link HandlerMethodArgumentResolver}.
 	 */
 	public HandlerMethodArgumentResolverComposite addResolver(HandlerMethodArgumentResolver resolver) {
-		this.argumentResolvers.add(resolver);
-		return this;
+		return addResolvers(Collections.singletonList(resolver));
 	}
 
 	/**
@@ -94,11 +101,88 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	 */
 	public HandlerMethodArgumentResolverComposite addResolvers(List<? extends HandlerMethodArgumentResolver> resolvers) {
 		if (resolvers != null) {
-			for (HandlerMethodArgumentResolver resolver : resolvers) {
-				this.argumentResolvers.add(resolver);
+			synchronized (this) {
+				List<HandlerMethodArgumentResolver> allResolvers = new ArrayList<HandlerMethodArgumentResolver>(this.index.resolvers);
+				allResolvers.addAll(resolvers);
+				this.index = new ResolverIndex(allResolvers);
 			}
 		}
 		return this;
 	}
 
+
+	/**
+	 * An immutable snapshot of the registered resolvers, indexed by annotation
+	 * and parameter type, with its own cache of selected resolvers.
+	 */
+	private static final class ResolverIndex {
+
+		private final List<HandlerMethodArgumentResolver> resolvers;
+
+		private final Map<Class<? extends Annotation>, List<Integer>> byAnnotationType =
+				new HashMap<Class<? extends Annotation>, List<Integer>>();
+
+		private final Map<Class<?>, List<Integer>> byParameterType = new HashMap<Class<?>, List<Integer>>();
+
+		private final List<Integer> unindexed = new ArrayList<Integer>();
+
+		private final Map<MethodParameterKey, HandlerMethodArgumentResolver> cache =
+				new ConcurrentHashMap<MethodParameterKey, HandlerMethodArgumentResolver>(256);
+
+		public ResolverIndex(List<HandlerMethodArgumentResolver> resolvers) {
+			this.resolvers = resolvers;
+			for (int i = 0; i < resolvers.size(); i++) {
+				HandlerMethodArgumentResolver resolver = resolvers.get(i);
+				Class<? extends Annotation> annotationType = null;
+				Class<?> parameterType = null;
+				if (resolver instanceof IndexedArgumentResolver) {
+					annotationType = ((IndexedArgumentResolver) resolver).getParameterAnnotationType();
+					parameterType = ((IndexedArgumentResolver) resolver).getParameterType();
+				}
+				if (annotationType != null) {
+					add(this.byAnnotationType, annotationType, i);
+				}
+				else if (parameterType != null) {
+					add(this.byParameterType, parameterType, i);
+				}
+				else {
+					this.unindexed.add(i);
+				}
+			}
+		}
+
+		private static <K> void add(Map<K, List<Integer>> map, K key, int position) {
+			List<Integer> positions = map.get(key);
+			if (positions == null) {
+				positions = new ArrayList<Integer>(2);
+				map.put(key, positions);
+			}
+			positions.add(position);
+		}
+
+		/**
+		 * Return the resolvers that may support the given parameter, in the
+		 * order they were registered.
+		 */
+		public List<HandlerMethodArgumentResolver> getCandidates(MethodParameter parameter) {
+			List<Integer> positions = new ArrayList<Integer>(this.unindexed);
+			for (Annotation annotation : parameter.getParameterAnnotations()) {
+				List<Integer> annotated = this.byAnnotationType.get(annotation.annotationType());
+				if (annotated != null) {
+					positions.addAll(annotated);
+				}
+			}
+			List<Integer> typed = this.byParameterType.get(parameter.getParameterType());
+			if (typed != null) {
+				positions.addAll(typed);
+			}
+			Collections.sort(positions);
+			List<HandlerMethodArgumentResolver> candidates = new ArrayList<HandlerMethodArgumentResolver>(positions.size());
+			for (Integer position : positions) {
+				candidates.add(this.resolvers.get(position));
+			}
+			return candidates;
+		}
+	}
+
 }
@@ -0,0 +1,33 @@
+package roman.vertx.web.method.support;
+
+/**
+ * Strategy interface for calling a handler method on a bean once its argument
+ * values have been resolved.
+ *
+ * <p>
+ * Implementations are generated per handler method at registration time by
+ * {@link HandlerMethodInvokerGenerator}, and call the method directly rather
+ * than through {@link java.lang.reflect.Method#invoke}. Exceptions thrown by
+ * the handler method propagate as they are, without being wrapped.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see InvocableHandlerMethod
+ */
+public interface HandlerMethodInvoker {
+
+	/**
+	 * Invoke the handler method.
+	 *
+	 * @param bean
+	 *            the handler instance, or {@code null} for a static method
+	 * @param args
+	 *            the resolved argument values, matching the method signature
+	 * @return the value returned by the handler method, boxed if primitive,
+	 *         or {@code null} for a {@code void} method
+	 * @throws Exception
+	 *             any exception thrown by the handler method itself
+	 */
+	Object invoke(Object bean, Object[] args) throws Exception;
+
+}
@@ -0,0 +1,402 @@
+package roman.vertx.web.method.support;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.MethodParameter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+/**
+ * Generates a {@link HandlerMethodInvoker} class per handler method, using
+ * Spring's repackaged ASM. The generated {@code invoke} method casts the bean
+ * and each argument to the declared types and calls the handler method with a
+ * plain {@code invokevirtual}, {@code invokeinterface} or {@code invokestatic}
+ * instruction, so the JIT can inline through to the controller code.
+ *
+ * <p>
+ * Generation is only possible for public methods of public classes whose
+ * parameter types are public as well, since the generated class lives in its
+ * own class loader. {@link #generate(Method)} returns {@code null} in all other
+ * cases, and callers are expected to fall back to reflection.
+ *
+ * <p>
+ * For handler methods whose parameters are all primitives resolved by a
+ * {@link PrimitiveArgumentResolver} or Vert.x types taken from the routing
+ * context, {@link #generate(Method, PrimitiveArgumentResolver[], MethodParameter[], Object[])}
+ * generates a {@link HandlerMethodRequestInvoker} that resolves each argument
+ * onto the operand stack and calls the method, without an argument array and
+ * without boxing.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see InvocableHandlerMethod
+ */
+public abstract class HandlerMethodInvokerGenerator {
+
+	private static final Log logger = LogFactory.getLog(HandlerMethodInvokerGenerator.class);
+
+	private static final String CLASS_NAME_INFIX = "$$HandlerMethodInvoker$$";
+
+	private static final String REQUEST_CLASS_NAME_INFIX = "$$HandlerMethodRequestInvoker$$";
+
+	private static final String INVOKER_INTERNAL_NAME = Type.getInternalName(HandlerMethodInvoker.class);
+
+	private static final String INVOKE_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+	private static final String REQUEST_INVOKER_INTERNAL_NAME = Type.getInternalName(HandlerMethodRequestInvoker.class);
+
+	private static final String REQUEST_INVOKE_DESCRIPTOR = "(Ljava/lang/Object;" + Type.getDescriptor(RoutingContext.class) + ")Ljava/lang/Object;";
+
+	private static final String RESOLVER_INTERNAL_NAME = Type.getInternalName(PrimitiveArgumentResolver.class);
+
+	private static final String RESOLVERS_DESCRIPTOR = Type.getDescriptor(PrimitiveArgumentResolver[].class);
+
+	private static final String PARAMETERS_DESCRIPTOR = Type.getDescriptor(MethodParameter[].class);
+
+	private static final String PREPARED_DESCRIPTOR = Type.getDescriptor(Object[].class);
+
+	private static final String CONTEXT_INTERNAL_NAME = Type.getInternalName(RoutingContext.class);
+
+	private static final AtomicInteger counter = new AtomicInteger();
+
+	private static final Map<ClassLoader, InvokerClassLoader> classLoaderCache =
+			new ConcurrentReferenceHashMap<ClassLoader, InvokerClassLoader>(16, ReferenceType.WEAK);
+
+	/**
+	 * Generate a {@link HandlerMethodInvoker} for the given method.
+	 *
+	 * @param method
+	 *            the (bridged) handler method to invoke
+	 * @return the generated invoker, or {@code null} if the method cannot be
+	 *         called from generated code
+	 */
+	public static HandlerMethodInvoker generate(Method method) {
+		ClassLoader parent = method.getDeclaringClass().getClassLoader();
+		if (!isAccessible(method) || parent == null || !ClassUtils.isVisible(HandlerMethodInvoker.class, parent)) {
+			return null;
+		}
+		String className = method.getDeclaringClass().getName() + CLASS_NAME_INFIX + counter.incrementAndGet();
+		try {
+			byte[] bytes = generateClass(className.replace('.', '/'), method);
+			Class<?> invokerClass = getClassLoader(parent).defineClass(className, bytes);
+			return (HandlerMethodInvoker) invokerClass.newInstance();
+		} catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate invoker for [" + method.toGenericString() + "], falling back to reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Generate a {@link HandlerMethodRequestInvoker} for the given method.
+	 *
+	 * @param method
+	 *            the (bridged) handler method to invoke
+	 * @param resolvers
+	 *            the resolver for each primitive parameter, or {@code null}
+	 *            for parameters of type {@link HttpServerRequest},
+	 *            {@link HttpServerResponse}, {@link RoutingContext} or
+	 *            {@link Vertx}
+	 * @param parameters
+	 *            the method parameters to pass to the resolvers
+	 * @param prepared
+	 *            the state {@link PreparedArgumentResolver#prepareParameter
+	 *            prepared} by each resolver for its parameter
+	 * @return the generated invoker, or {@code null} if the method cannot be
+	 *         called from generated code or has other parameters
+	 */
+	public static HandlerMethodRequestInvoker generate(Method method, PrimitiveArgumentResolver[] resolvers, MethodParameter[] parameters, Object[] prepared) {
+		ClassLoader parent = method.getDeclaringClass().getClassLoader();
+		if (!isAccessible(method) || parent == null || !ClassUtils.isVisible(HandlerMethodRequestInvoker.class, parent)
+				|| !ClassUtils.isVisible(MethodParameter.class, parent) || !ClassUtils.isVisible(RoutingContext.class, parent)) {
+			return null;
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (resolvers[i] != null ? getResolveMethodName(parameterTypes[i]) == null : getContextMethodName(parameterTypes[i]) == null) {
+				return null;
+			}
+		}
+		String className = method.getDeclaringClass().getName() + REQUEST_CLASS_NAME_INFIX + counter.incrementAndGet();
+		try {
+			byte[] bytes = generateRequestInvokerClass(className.replace('.', '/'), method, resolvers);
+			Class<?> invokerClass = getClassLoader(parent).defineClass(className, bytes);
+			Constructor<?> constructor = invokerClass.getConstructor(PrimitiveArgumentResolver[].class, MethodParameter[].class, Object[].class);
+			return (HandlerMethodRequestInvoker) constructor.newInstance(resolvers.clone(), parameters.clone(), prepared.clone());
+		} catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate request invoker for [" + method.toGenericString() + "]", ex);
+			}
+			return null;
+		}
+	}
+
+	private static boolean isAccessible(Method method) {
+		if (!Modifier.isPublic(method.getModifiers()) || !isPublic(method.getDeclaringClass())) {
+			return false;
+		}
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (!isPublic(parameterType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isPublic(Class<?> type) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		return type.isPrimitive() || Modifier.isPublic(type.getModifiers());
+	}
+
+	private static InvokerClassLoader getClassLoader(ClassLoader parent) {
+		InvokerClassLoader classLoader = classLoaderCache.get(parent);
+		if (classLoader == null) {
+			synchronized (classLoaderCache) {
+				classLoader = classLoaderCache.get(parent);
+				if (classLoader == null) {
+					classLoader = new InvokerClassLoader(parent);
+					classLoaderCache.put(parent, classLoader);
+				}
+			}
+		}
+		return classLoader;
+	}
+
+	private static byte[] generateClass(String internalName, Method method) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, internalName, null,
+				"java/lang/Object", new String[] { INVOKER_INTERNAL_NAME });
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null, new String[] { "java/lang/Exception" });
+		mv.visitCode();
+		Class<?> declaringClass = method.getDeclaringClass();
+		String owner = Type.getInternalName(declaringClass);
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		if (!isStatic) {
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			pushInt(mv, i);
+			mv.visitInsn(Opcodes.AALOAD);
+			unbox(mv, parameterTypes[i]);
+		}
+		if (isStatic) {
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, owner, method.getName(), Type.getMethodDescriptor(method), declaringClass.isInterface());
+		} else if (declaringClass.isInterface()) {
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, owner, method.getName(), Type.getMethodDescriptor(method), true);
+		} else {
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, method.getName(), Type.getMethodDescriptor(method), false);
+		}
+		box(mv, method.getReturnType());
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static byte[] generateRequestInvokerClass(String internalName, Method method, PrimitiveArgumentResolver[] resolvers) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, internalName, null,
+				"java/lang/Object", new String[] { REQUEST_INVOKER_INTERNAL_NAME });
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "resolvers", RESOLVERS_DESCRIPTOR, null, null).visitEnd();
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "parameters", PARAMETERS_DESCRIPTOR, null, null).visitEnd();
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "prepared", PREPARED_DESCRIPTOR, null, null).visitEnd();
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "(" + RESOLVERS_DESCRIPTOR + PARAMETERS_DESCRIPTOR + PREPARED_DESCRIPTOR + ")V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, internalName, "resolvers", RESOLVERS_DESCRIPTOR);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, internalName, "parameters", PARAMETERS_DESCRIPTOR);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 3);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, internalName, "prepared", PREPARED_DESCRIPTOR);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invoke", REQUEST_INVOKE_DESCRIPTOR, null, new String[] { "java/lang/Exception" });
+		mv.visitCode();
+		Class<?> declaringClass = method.getDeclaringClass();
+		String owner = Type.getInternalName(declaringClass);
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		if (!isStatic) {
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			Class<?> type = parameterTypes[i];
+			if (resolvers[i] != null) {
+				// resolvers[i].resolveXxx(parameters[i], prepared[i], context)
+				mv.visitVarInsn(Opcodes.ALOAD, 0);
+				mv.visitFieldInsn(Opcodes.GETFIELD, internalName, "resolvers", RESOLVERS_DESCRIPTOR);
+				pushInt(mv, i);
+				mv.visitInsn(Opcodes.AALOAD);
+				mv.visitVarInsn(Opcodes.ALOAD, 0);
+				mv.visitFieldInsn(Opcodes.GETFIELD, internalName, "parameters", PARAMETERS_DESCRIPTOR);
+				pushInt(mv, i);
+				mv.visitInsn(Opcodes.AALOAD);
+				mv.visitVarInsn(Opcodes.ALOAD, 0);
+				mv.visitFieldInsn(Opcodes.GETFIELD, internalName, "prepared", PREPARED_DESCRIPTOR);
+				pushInt(mv, i);
+				mv.visitInsn(Opcodes.AALOAD);
+				mv.visitVarInsn(Opcodes.ALOAD, 2);
+				mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RESOLVER_INTERNAL_NAME, getResolveMethodName(type),
+						"(" + Type.getDescriptor(MethodParameter.class) + "Ljava/lang/Object;" + Type.getDescriptor(RoutingContext.class) + ")" + Type.getDescriptor(type), true);
+			} else {
+				mv.visitVarInsn(Opcodes.ALOAD, 2);
+				String contextMethodName = getContextMethodName(type);
+				if (!contextMethodName.isEmpty()) {
+					mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, CONTEXT_INTERNAL_NAME, contextMethodName, "()" + Type.getDescriptor(type), true);
+				}
+			}
+		}
+		if (isStatic) {
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, owner, method.getName(), Type.getMethodDescriptor(method), declaringClass.isInterface());
+		} else if (declaringClass.isInterface()) {
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, owner, method.getName(), Type.getMethodDescriptor(method), true);
+		} else {
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, method.getName(), Type.getMethodDescriptor(method), false);
+		}
+		box(mv, method.getReturnType());
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Return the {@link PrimitiveArgumentResolver} method for the given
+	 * parameter type, or {@code null} if there is none.
+	 */
+	private static String getResolveMethodName(Class<?> type) {
+		if (type == int.class) {
+			return "resolveInt";
+		}
+		if (type == long.class) {
+			return "resolveLong";
+		}
+		if (type == double.class) {
+			return "resolveDouble";
+		}
+		if (type == boolean.class) {
+			return "resolveBoolean";
+		}
+		return null;
+	}
+
+	/**
+	 * Return the {@link RoutingContext} method that returns the given
+	 * parameter type, an empty String for the context itself, or {@code null}
+	 * if the type is not taken from the context.
+	 */
+	private static String getContextMethodName(Class<?> type) {
+		if (type == HttpServerRequest.class) {
+			return "request";
+		}
+		if (type == HttpServerResponse.class) {
+			return "response";
+		}
+		if (type == Vertx.class) {
+			return "vertx";
+		}
+		if (type == RoutingContext.class) {
+			return "";
+		}
+		return null;
+	}
+
+	private static void pushInt(MethodVisitor mv, int value) {
+		if (value <= 5) {
+			mv.visitInsn(Opcodes.ICONST_0 + value);
+		} else if (value <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(Opcodes.BIPUSH, value);
+		} else {
+			mv.visitIntInsn(Opcodes.SIPUSH, value);
+		}
+	}
+
+	/**
+	 * Convert the {@code Object} on top of the stack to the given parameter
+	 * type.
+	 */
+	private static void unbox(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+			String wrapperName = Type.getInternalName(wrapper);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperName);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, type.getName() + "Value", "()" + Type.getDescriptor(type), false);
+		} else if (type != Object.class) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+	/**
+	 * Convert the return value on top of the stack to an {@code Object}.
+	 */
+	private static void box(MethodVisitor mv, Class<?> type) {
+		if (type == void.class) {
+			mv.visitInsn(Opcodes.ACONST_NULL);
+		} else if (type.isPrimitive()) {
+			Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+			String wrapperName = Type.getInternalName(wrapper);
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapperName, "valueOf", "(" + Type.getDescriptor(type) + ")L" + wrapperName + ";", false);
+		}
+	}
+
+
+	/**
+	 * Class loader for generated invokers, delegating to the class loader of
+	 * the handler classes they call.
+	 */
+	private static class InvokerClassLoader extends ClassLoader {
+
+		public InvokerClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		public Class<?> defineClass(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
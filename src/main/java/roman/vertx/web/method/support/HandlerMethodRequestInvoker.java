@@ -0,0 +1,38 @@
+package roman.vertx.web.method.support;
+
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Strategy interface for calling a handler method on a bean with argument
+ * values resolved by the invoker itself from the routing context, without an
+ * intermediate argument array.
+ *
+ * <p>
+ * Implementations are generated by {@link HandlerMethodInvokerGenerator} for
+ * handler methods whose parameters are all primitives resolved by a
+ * {@link PrimitiveArgumentResolver} or Vert.x types taken from the routing
+ * context.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see HandlerMethodInvoker
+ */
+public interface HandlerMethodRequestInvoker {
+
+	/**
+	 * Resolve the arguments for the given request and invoke the handler
+	 * method.
+	 *
+	 * @param bean
+	 *            the handler instance, or {@code null} for a static method
+	 * @param context
+	 *            the routing context of the current request
+	 * @return the value returned by the handler method, boxed if primitive,
+	 *         or {@code null} for a {@code void} method
+	 * @throws Exception
+	 *             any exception thrown while resolving the arguments or by the
+	 *             handler method itself
+	 */
+	Object invoke(Object bean, RoutingContext context) throws Exception;
+
+}
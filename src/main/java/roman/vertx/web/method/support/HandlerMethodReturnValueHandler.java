@@ -0,0 +1,45 @@
+package roman.vertx.web.method.support;
+
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Strategy interface to handle the value returned from the invocation of a
+ * handler method, typically by writing it to the response.
+ *
+ * <p>
+ * Handlers are selected by the class of the value: the declared return type
+ * of the handler method at registration time, or the runtime class of the
+ * value when the declared type is too general to decide.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see HandlerMethodArgumentResolver
+ */
+public interface HandlerMethodReturnValueHandler {
+
+	/**
+	 * Whether values of the given type are supported by this handler.
+	 *
+	 * @param returnType
+	 *            the declared return type, or the class of an actual value
+	 * @return {@code true} if this handler supports the supplied type;
+	 *         {@code false} otherwise
+	 */
+	boolean supportsReturnType(Class<?> returnType);
+
+	/**
+	 * Handle the given return value, typically by writing it to the response
+	 * of the given context. Handlers that complete asynchronously are
+	 * responsible for failing the context if the value cannot be written.
+	 *
+	 * @param returnValue
+	 *            the value returned from the handler method, never
+	 *            {@code null}
+	 * @param context
+	 *            the routing context of the current request
+	 * @throws Exception
+	 *             if the return value handling results in an error
+	 */
+	void handleReturnValue(Object returnValue, RoutingContext context) throws Exception;
+
+}
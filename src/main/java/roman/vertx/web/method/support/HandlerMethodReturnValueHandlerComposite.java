@@ -0,0 +1,113 @@
+package roman.vertx.web.method.support;
+
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Handles method return values by delegating to a list of registered
+ * {@link HandlerMethodReturnValueHandler}s. Previously resolved return types
+ * are cached for faster lookups.
+ *
+ * <p>
+ * A {@code null} return value is taken to mean that the handler method has
+ * written the response itself, and is ignored.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class HandlerMethodReturnValueHandlerComposite implements HandlerMethodReturnValueHandler {
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final List<HandlerMethodReturnValueHandler> returnValueHandlers = new ArrayList<HandlerMethodReturnValueHandler>();
+
+	private final Map<Class<?>, HandlerMethodReturnValueHandler> returnValueHandlerCache =
+			new ConcurrentHashMap<Class<?>, HandlerMethodReturnValueHandler>(64);
+
+	/**
+	 * Return a read-only list with the registered handlers, or an empty list.
+	 */
+	public List<HandlerMethodReturnValueHandler> getHandlers() {
+		return Collections.unmodifiableList(this.returnValueHandlers);
+	}
+
+	/**
+	 * Whether the given return type is supported by any registered
+	 * {@link HandlerMethodReturnValueHandler}.
+	 */
+	@Override
+	public boolean supportsReturnType(Class<?> returnType) {
+		return getReturnValueHandler(returnType) != null;
+	}
+
+	/**
+	 * Iterate over registered {@link HandlerMethodReturnValueHandler}s and
+	 * invoke the one that supports the class of the given value.
+	 *
+	 * @throws IllegalStateException
+	 *             if no suitable {@link HandlerMethodReturnValueHandler} is
+	 *             found.
+	 */
+	@Override
+	public void handleReturnValue(Object returnValue, RoutingContext context) throws Exception {
+		if (returnValue == null) {
+			return;
+		}
+		HandlerMethodReturnValueHandler handler = getReturnValueHandler(returnValue.getClass());
+		Assert.state(handler != null, "Unknown return value type [" + returnValue.getClass().getName() + "]");
+		handler.handleReturnValue(returnValue, context);
+	}
+
+	/**
+	 * Find a registered {@link HandlerMethodReturnValueHandler} that supports
+	 * the given return type.
+	 *
+	 * @return the matching handler, or {@code null} if none supports the type
+	 */
+	public HandlerMethodReturnValueHandler getReturnValueHandler(Class<?> returnType) {
+		HandlerMethodReturnValueHandler result = this.returnValueHandlerCache.get(returnType);
+		if (result == null) {
+			for (HandlerMethodReturnValueHandler returnValueHandler : this.returnValueHandlers) {
+				if (logger.isTraceEnabled()) {
+					logger.trace("Testing if return value handler [" + returnValueHandler + "] supports [" + returnType.getName() + "]");
+				}
+				if (returnValueHandler.supportsReturnType(returnType)) {
+					result = returnValueHandler;
+					this.returnValueHandlerCache.put(returnType, result);
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Add the given {@link HandlerMethodReturnValueHandler}.
+	 */
+	public HandlerMethodReturnValueHandlerComposite addHandler(HandlerMethodReturnValueHandler returnValueHandler) {
+		this.returnValueHandlers.add(returnValueHandler);
+		return this;
+	}
+
+	/**
+	 * Add the given {@link HandlerMethodReturnValueHandler}s.
+	 */
+	public HandlerMethodReturnValueHandlerComposite addHandlers(List<? extends HandlerMethodReturnValueHandler> returnValueHandlers) {
+		if (returnValueHandlers != null) {
+			for (HandlerMethodReturnValueHandler handler : returnValueHandlers) {
+				this.returnValueHandlers.add(handler);
+			}
+		}
+		return this;
+	}
+
+}
@@ -0,0 +1,33 @@
+package roman.vertx.web.method.support;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Extension of {@link HandlerMethodArgumentResolver} for resolvers that only
+ * support parameters with a given annotation, or of a given type, so that a
+ * {@link HandlerMethodArgumentResolverComposite} only asks them about such
+ * parameters instead of about every parameter.
+ *
+ * <p>
+ * {@link #supportsParameter} is still called for the parameters the resolver
+ * is indexed under, and may narrow the selection further.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public interface IndexedArgumentResolver extends HandlerMethodArgumentResolver {
+
+	/**
+	 * Return the annotation that every supported parameter is annotated with,
+	 * or {@code null} if the resolver is not indexed by annotation.
+	 */
+	Class<? extends Annotation> getParameterAnnotationType();
+
+	/**
+	 * Return the exact type of every supported parameter, or {@code null} if
+	 * the resolver is not indexed by type. Only consulted if there is no
+	 * {@link #getParameterAnnotationType() annotation type}.
+	 */
+	Class<?> getParameterType();
+
+}
@@ -1,7 +1,10 @@
 
 package roman.vertx.web.method.support;
 
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -12,8 +15,10 @@ import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.GenericTypeResolver;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
+import roman.vertx.web.bind.BindingMetadata;
 import roman.vertx.web.bind.WebDataBinder;
 import roman.vertx.web.method.HandlerMethod;
 import roman.vertx.web.method.annotation.ModelFactory;
@@ -22,35 +27,65 @@ import roman.vertx.web.method.annotation.ModelFactory;
  * Provides a method for invoking the handler method for a given request after resolving its method argument
  * values through registered {@link HandlerMethodArgumentResolver}s.
  *
- * <p>Argument resolution often requires a {@link WebDataBinder} for data binding or for type conversion.
- * Use the {@link #setDataBinderFactory(WebDataBinderFactory)} property to supply a binder factory to pass to
- * argument resolvers.
+ * <p>Argument resolution may require a {@link WebDataBinder} for data binding. A binder is only created,
+ * per request, for arguments whose resolver is a {@link DataBinderArgumentResolver} that requires one;
+ * other resolvers are passed {@code null}.
  *
- * <p>Use {@link #setHandlerMethodArgumentResolvers(HandlerMethodArgumentResolverComposite)} to customize
- * the list of argument resolvers.
+ * <p>Instances are immutable once constructed: parameter names, generic parameter types and the
+ * accessibility of the bridged method are resolved up front, so a single instance can be created at
+ * registration time and shared by all requests. Pass a {@link HandlerMethodArgumentResolverComposite}
+ * to the constructor to customize the list of argument resolvers.
  *
  * @author Rossen Stoyanchev
  * @since 3.1
  */
 public class InvocableHandlerMethod extends HandlerMethod {
 
-	private HandlerMethodArgumentResolverComposite argumentResolvers = new HandlerMethodArgumentResolverComposite();
+	private final HandlerMethodArgumentResolverComposite argumentResolvers;
 
-	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+	private HandlerMethodInvoker invoker;
+
+	private HandlerMethodRequestInvoker requestInvoker;
+
+	private ArgumentPlan[] argumentPlan;
+
+	private volatile Object resolvedBean;
 
 
 	/**
 	 * Create an instance from the given handler and method.
 	 */
 	public InvocableHandlerMethod(Object bean, Method method) {
+		this(bean, method, (HandlerMethodArgumentResolverComposite) null);
+	}
+
+	/**
+	 * Create an instance from the given handler and method, resolving argument
+	 * values through the given {@link HandlerMethodArgumentResolver}s.
+	 */
+	public InvocableHandlerMethod(Object bean, Method method, HandlerMethodArgumentResolverComposite argumentResolvers) {
 		super(bean, method);
+		this.argumentResolvers = (argumentResolvers != null ? argumentResolvers : new HandlerMethodArgumentResolverComposite());
+		initInvocation();
 	}
 
 	/**
 	 * Create an instance from a {@code HandlerMethod}.
 	 */
 	public InvocableHandlerMethod(HandlerMethod handlerMethod) {
+		this(handlerMethod, (HandlerMethodArgumentResolverComposite) null);
+	}
+
+	/**
+	 * Create an instance from a {@code HandlerMethod}, resolving argument
+	 * values through the given {@link HandlerMethodArgumentResolver}s.
+	 */
+	public InvocableHandlerMethod(HandlerMethod handlerMethod, HandlerMethodArgumentResolverComposite argumentResolvers) {
 		super(handlerMethod);
+		this.argumentResolvers = (argumentResolvers != null ? argumentResolvers : new HandlerMethodArgumentResolverComposite());
+		initInvocation();
 	}
 
 	/**
@@ -62,13 +97,69 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	public InvocableHandlerMethod(Object bean, String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
 		super(bean, methodName, parameterTypes);
+		this.argumentResolvers = new HandlerMethodArgumentResolverComposite();
+		initInvocation();
+	}
+
+
+	/**
+	 * Build the {@link ArgumentPlan} for each parameter and make the bridged
+	 * method accessible, so that an instance can be reused for every request
+	 * without further reflective lookups. Where possible a
+	 * {@link HandlerMethodInvoker} is generated to call the method directly;
+	 * otherwise invocation falls back to reflection. Methods whose parameters
+	 * can all be resolved without boxing also get a
+	 * {@link HandlerMethodRequestInvoker}.
+	 */
+	private void initInvocation() {
+		MethodParameter[] parameters = getMethodParameters();
+		ArgumentPlan[] plan = new ArgumentPlan[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			MethodParameter parameter = parameters[i];
+			parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
+			GenericTypeResolver.resolveParameterType(parameter, getBeanType());
+			ContextArgument contextArgument = ContextArgument.forType(parameter.getParameterType());
+			plan[i] = new ArgumentPlan(parameter, contextArgument,
+					(contextArgument == null ? this.argumentResolvers.getArgumentResolver(parameter) : null));
+		}
+		this.argumentPlan = plan;
+		ReflectionUtils.makeAccessible(getBridgedMethod());
+		if (getBridgedMethod().getDeclaringClass().isAssignableFrom(getBeanType())) {
+			this.invoker = HandlerMethodInvokerGenerator.generate(getBridgedMethod());
+			this.requestInvoker = generateRequestInvoker(plan);
+		}
+	}
+
+	/**
+	 * Generate a {@link HandlerMethodRequestInvoker} if every parameter is
+	 * either taken from the routing context or a primitive that its
+	 * {@link PrimitiveArgumentResolver} resolves without boxing.
+	 */
+	private HandlerMethodRequestInvoker generateRequestInvoker(ArgumentPlan[] plan) {
+		PrimitiveArgumentResolver[] resolvers = new PrimitiveArgumentResolver[plan.length];
+		MethodParameter[] parameters = new MethodParameter[plan.length];
+		Object[] prepared = new Object[plan.length];
+		for (int i = 0; i < plan.length; i++) {
+			ArgumentPlan argument = plan[i];
+			parameters[i] = argument.parameter;
+			prepared[i] = argument.prepared;
+			if (argument.contextArgument != null) {
+				continue;
+			}
+			if (!argument.parameterType.isPrimitive() || !(argument.resolver instanceof PrimitiveArgumentResolver)
+					|| !((PrimitiveArgumentResolver) argument.resolver).supportsPrimitive(argument.parameter)) {
+				return null;
+			}
+			resolvers[i] = (PrimitiveArgumentResolver) argument.resolver;
+		}
+		return HandlerMethodInvokerGenerator.generate(getBridgedMethod(), resolvers, parameters, prepared);
 	}
 
 	/**
-	 * Set {@link HandlerMethodArgumentResolver}s to use to use for resolving method argument values.
+	 * Return the {@link HandlerMethodArgumentResolver}s used to resolve method argument values.
 	 */
-	public void setHandlerMethodArgumentResolvers(HandlerMethodArgumentResolverComposite argumentResolvers) {
-		this.argumentResolvers = argumentResolvers;
+	public HandlerMethodArgumentResolverComposite getHandlerMethodArgumentResolvers() {
+		return this.argumentResolvers;
 	}
 
 
@@ -78,16 +169,67 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 * parameter however may supply argument values to be used directly, i.e. without argument resolution.
 	 * Examples of provided argument values include a {@link WebDataBinder}, a {@link SessionStatus}, or
 	 * a thrown exception instance. Provided argument values are checked before argument resolvers.
-	 * @param request the current request
-	 * @param mavContainer the ModelAndViewContainer for this request
+	 * <p>Parameters declared as {@link HttpServerRequest}, {@link HttpServerResponse}, {@link RoutingContext}
+	 * or {@link Vertx} are taken straight from the routing context, ahead of both provided arguments and
+	 * argument resolvers.
+	 * <p>If the method has a generated {@link HandlerMethodRequestInvoker}, its arguments are resolved
+	 * and passed by the invoker, without an argument array; provided arguments never apply to such methods.
+	 * @param context the routing context of the current request
 	 * @param providedArgs "given" arguments matched by type, not resolved
 	 * @return the raw value returned by the invoked method
 	 * @exception Exception raised if no suitable argument resolver can be found, or the method raised an exception
 	 */
-	public final Object invokeForRequest(HttpServerRequest request,
+	public final Object invokeForRequest(RoutingContext context,
+			Object... providedArgs) throws Exception {
+
+		HandlerMethodRequestInvoker requestInvoker = this.requestInvoker;
+		if (requestInvoker != null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Invoking [" + getBeanType().getSimpleName() + "." + getMethod().getName() + "] method with primitive arguments");
+			}
+			Object bean = getResolvedBean();
+			try {
+				return requestInvoker.invoke(bean, context);
+			}
+			catch (ClassCastException ex) {
+				assertTargetBean(getBridgedMethod(), bean, new Object[0]);
+				throw ex;
+			}
+		}
+		return invokeWithArguments(resolveArguments(context, providedArgs));
+	}
+
+	/**
+	 * Return whether the method has a generated {@link HandlerMethodRequestInvoker}, which
+	 * {@link #invokeForRequest} uses to resolve the arguments and invoke the method in one step.
+	 * {@link #resolveArguments} and {@link #invokeWithArguments} bypass it.
+	 */
+	public boolean hasRequestInvoker() {
+		return (this.requestInvoker != null);
+	}
+
+	/**
+	 * Resolve the argument values of the method in the context of the given request,
+	 * as the first step of {@link #invokeForRequest}.
+	 * @param context the routing context of the current request
+	 * @param providedArgs "given" arguments matched by type, not resolved
+	 * @return the argument values to pass to {@link #invokeWithArguments}
+	 * @exception Exception raised if no suitable argument resolver can be found
+	 */
+	public final Object[] resolveArguments(RoutingContext context,
 			Object... providedArgs) throws Exception {
 
-		Object[] args = getMethodArgumentValues(request, providedArgs);
+		return getMethodArgumentValues(context, providedArgs);
+	}
+
+	/**
+	 * Invoke the method with argument values obtained from {@link #resolveArguments},
+	 * as the second step of {@link #invokeForRequest}.
+	 * @param args the resolved argument values
+	 * @return the raw value returned by the invoked method
+	 * @exception Exception raised if the method raised an exception
+	 */
+	public final Object invokeWithArguments(Object... args) throws Exception {
 		if (logger.isTraceEnabled()) {
 			StringBuilder sb = new StringBuilder("Invoking [");
 			sb.append(getBeanType().getSimpleName()).append(".");
@@ -105,24 +247,30 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	/**
 	 * Get the method argument values for the current request.
 	 */
-	private Object[] getMethodArgumentValues(HttpServerRequest request,
+	private Object[] getMethodArgumentValues(RoutingContext context,
 			Object... providedArgs) throws Exception {
 
-		MethodParameter[] parameters = getMethodParameters();
-		Object[] args = new Object[parameters.length];
-		for (int i = 0; i < parameters.length; i++) {
-			MethodParameter parameter = parameters[i];
-			parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
-			GenericTypeResolver.resolveParameterType(parameter, getBean().getClass());
-			args[i] = resolveProvidedArgument(parameter, providedArgs);
+		ArgumentPlan[] plan = this.argumentPlan;
+		Object[] args = new Object[plan.length];
+		for (int i = 0; i < plan.length; i++) {
+			ArgumentPlan argument = plan[i];
+			if (argument.contextArgument != null) {
+				args[i] = argument.contextArgument.extract(context);
+				continue;
+			}
+			args[i] = resolveProvidedArgument(argument.parameterType, providedArgs);
 			if (args[i] != null) {
 				continue;
 			}
-			if (this.argumentResolvers.supportsParameter(parameter)) {
+			if (argument.resolver != null) {
 				try {
-					args[i] = this.argumentResolvers.resolveArgument(
-							parameter, request,new WebDataBinder(parameter,  ModelFactory.getNameForParameter(parameter)));
-					continue;
+					WebDataBinder binder = (argument.requiresDataBinder ? createDataBinder(argument) : null);
+					if (argument.preparedResolver != null) {
+						args[i] = argument.preparedResolver.resolveArgument(argument.parameter, argument.prepared, context, binder);
+					}
+					else {
+						args[i] = argument.resolver.resolveArgument(argument.parameter, context, binder);
+					}
 				}
 				catch (Exception ex) {
 					if (logger.isTraceEnabled()) {
@@ -130,6 +278,11 @@ public class InvocableHandlerMethod extends HandlerMethod {
 					}
 					throw ex;
 				}
+				if (args[i] == null && argument.parameterType.isPrimitive()) {
+					String msg = getArgumentResolutionErrorMessage("Null value resolved for primitive argument", i);
+					throw new IllegalStateException(msg);
+				}
+				continue;
 			}
 			if (args[i] == null) {
 				String msg = getArgumentResolutionErrorMessage("No suitable resolver for argument", i);
@@ -139,6 +292,19 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		return args;
 	}
 
+	/**
+	 * Create a {@link WebDataBinder} onto a new {@link #createAttribute attribute}
+	 * for the given argument, with the binding metadata cached for its type.
+	 */
+	private WebDataBinder createDataBinder(ArgumentPlan argument) throws Exception {
+		Object target = createAttribute(argument.parameter);
+		BindingMetadata metadata = argument.bindingMetadata;
+		if (target == null || target.getClass() != metadata.getTargetClass()) {
+			metadata = (target != null ? BindingMetadata.forClass(target.getClass()) : null);
+		}
+		return new WebDataBinder(target, argument.name, metadata);
+	}
+
 	protected Object createAttribute(MethodParameter parameter
 			) throws Exception {
 
@@ -166,12 +332,12 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	/**
 	 * Attempt to resolve a method parameter from the list of provided argument values.
 	 */
-	private Object resolveProvidedArgument(MethodParameter parameter, Object... providedArgs) {
-		if (providedArgs == null) {
+	private Object resolveProvidedArgument(Class<?> parameterType, Object... providedArgs) {
+		if (providedArgs == null || providedArgs.length == 0) {
 			return null;
 		}
 		for (Object providedArg : providedArgs) {
-			if (parameter.getParameterType().isInstance(providedArg)) {
+			if (parameterType.isInstance(providedArg)) {
 				return providedArg;
 			}
 		}
@@ -179,15 +345,28 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	}
 
 	/**
-	 * Invoke the handler method with the given argument values.
+	 * Invoke the handler method with the given argument values, through the
+	 * generated {@link HandlerMethodInvoker} if there is one, or reflectively
+	 * otherwise.
 	 */
 	private Object invoke(Object... args) throws Exception {
-		ReflectionUtils.makeAccessible(getBridgedMethod());
+		Object bean = getResolvedBean();
+		if (this.invoker != null) {
+			try {
+				return this.invoker.invoke(bean, args);
+			}
+			catch (ClassCastException ex) {
+				// Generated code casts where reflection checks; report a mismatch the same way
+				assertTargetBean(getBridgedMethod(), bean, args);
+				assertArgumentTypes(args, ex);
+				throw ex;
+			}
+		}
 		try {
-			return getBridgedMethod().invoke(getBean(), args);
+			return getBridgedMethod().invoke(bean, args);
 		}
 		catch (IllegalArgumentException ex) {
-			assertTargetBean(getBridgedMethod(), getBean(), args);
+			assertTargetBean(getBridgedMethod(), bean, args);
 			throw new IllegalStateException(getInvocationErrorMessage(ex.getMessage(), args), ex);
 		}
 		catch (InvocationTargetException ex) {
@@ -209,6 +388,29 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		}
 	}
 
+	/**
+	 * Return the bean to invoke the method on. A handler method created with
+	 * a bean name resolves the bean on first use through
+	 * {@link #createWithResolvedBean()} and keeps it if it is a singleton, or
+	 * resolves it on every invocation otherwise, e.g. for prototype beans.
+	 */
+	protected Object getResolvedBean() {
+		Object bean = this.resolvedBean;
+		if (bean == null) {
+			if (!isBeanNameOnly()) {
+				bean = getBean();
+				this.resolvedBean = bean;
+			}
+			else {
+				bean = createWithResolvedBean().getBean();
+				if (isSingletonBean()) {
+					this.resolvedBean = bean;
+				}
+			}
+		}
+		return bean;
+	}
+
 	/**
 	 * Assert that the target bean class is an instance of the class where the given
 	 * method is declared. In some cases the actual controller instance at request-
@@ -228,6 +430,21 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		}
 	}
 
+	/**
+	 * Assert that the given argument values can be passed to the method, as
+	 * {@link Method#invoke} does before calling it. Otherwise the
+	 * {@link ClassCastException} raised by the generated invoker came from the
+	 * method itself.
+	 */
+	private void assertArgumentTypes(Object[] args, ClassCastException ex) {
+		Class<?>[] parameterTypes = getBridgedMethod().getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i >= args.length || !ClassUtils.isAssignableValue(parameterTypes[i], args[i])) {
+				throw new IllegalStateException(getInvocationErrorMessage("argument type mismatch", args), ex);
+			}
+		}
+	}
+
 	private String getInvocationErrorMessage(String message, Object[] resolvedArgs) {
 		StringBuilder sb = new StringBuilder(getDetailedErrorMessage(message));
 		sb.append("Resolved arguments: \n");
@@ -244,4 +461,106 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		return sb.toString();
 	}
 
+
+	/**
+	 * Everything needed to resolve one method argument, worked out once when the
+	 * {@code InvocableHandlerMethod} is created: the parameter with its name and
+	 * generic type already discovered, and either the {@link ContextArgument}
+	 * that supplies it or the resolver chosen for it, along with whatever a
+	 * {@link PreparedArgumentResolver} prepared for the parameter. The model
+	 * attribute name and {@link BindingMetadata} are only worked out if the
+	 * resolver requires a {@link WebDataBinder}.
+	 */
+	private static final class ArgumentPlan {
+
+		private final MethodParameter parameter;
+
+		private final Class<?> parameterType;
+
+		private final String name;
+
+		private final ContextArgument contextArgument;
+
+		private final HandlerMethodArgumentResolver resolver;
+
+		private final PreparedArgumentResolver preparedResolver;
+
+		private final Object prepared;
+
+		private final boolean requiresDataBinder;
+
+		private final BindingMetadata bindingMetadata;
+
+		public ArgumentPlan(MethodParameter parameter, ContextArgument contextArgument, HandlerMethodArgumentResolver resolver) {
+			this.parameter = parameter;
+			this.parameterType = parameter.getParameterType();
+			this.contextArgument = contextArgument;
+			this.resolver = resolver;
+			this.preparedResolver = (resolver instanceof PreparedArgumentResolver ? (PreparedArgumentResolver) resolver : null);
+			this.prepared = (this.preparedResolver != null ? this.preparedResolver.prepareParameter(parameter) : null);
+			this.requiresDataBinder = (resolver instanceof DataBinderArgumentResolver &&
+					((DataBinderArgumentResolver) resolver).requiresDataBinder(parameter));
+			this.name = (this.requiresDataBinder ? ModelFactory.getNameForParameter(parameter) : null);
+			this.bindingMetadata = (this.requiresDataBinder ? BindingMetadata.forClass(this.parameterType) : null);
+		}
+	}
+
+
+	/**
+	 * Vert.x types that are read directly from the {@link RoutingContext},
+	 * without going through provided arguments or argument resolvers.
+	 */
+	private enum ContextArgument {
+
+		REQUEST {
+			@Override
+			public Object extract(RoutingContext context) {
+				return context.request();
+			}
+		},
+
+		RESPONSE {
+			@Override
+			public Object extract(RoutingContext context) {
+				return context.response();
+			}
+		},
+
+		CONTEXT {
+			@Override
+			public Object extract(RoutingContext context) {
+				return context;
+			}
+		},
+
+		VERTX {
+			@Override
+			public Object extract(RoutingContext context) {
+				return context.vertx();
+			}
+		};
+
+		public abstract Object extract(RoutingContext context);
+
+		/**
+		 * Return the extractor for the given parameter type, or {@code null}
+		 * if the parameter is not one of the supported Vert.x types.
+		 */
+		public static ContextArgument forType(Class<?> parameterType) {
+			if (HttpServerRequest.class == parameterType) {
+				return REQUEST;
+			}
+			if (HttpServerResponse.class == parameterType) {
+				return RESPONSE;
+			}
+			if (RoutingContext.class == parameterType) {
+				return CONTEXT;
+			}
+			if (Vertx.class == parameterType) {
+				return VERTX;
+			}
+			return null;
+		}
+	}
+
 }
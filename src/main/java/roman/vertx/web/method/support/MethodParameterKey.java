@@ -0,0 +1,51 @@
+package roman.vertx.web.method.support;
+
+import java.lang.reflect.Member;
+
+import org.springframework.core.MethodParameter;
+
+/**
+ * Identifies a parameter by its method or constructor and index, unlike
+ * {@link MethodParameter}, whose state changes as it is introspected, so that
+ * it can be used as a key of what is worked out once per parameter.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public final class MethodParameterKey {
+
+	private final Member member;
+
+	private final int parameterIndex;
+
+	private final int hashCode;
+
+	public MethodParameterKey(MethodParameter parameter) {
+		this.member = (parameter.getMethod() != null ? parameter.getMethod() : parameter.getConstructor());
+		this.parameterIndex = parameter.getParameterIndex();
+		this.hashCode = this.member.hashCode() * 31 + this.parameterIndex;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof MethodParameterKey)) {
+			return false;
+		}
+		MethodParameterKey otherKey = (MethodParameterKey) other;
+		return (this.parameterIndex == otherKey.parameterIndex && this.member.equals(otherKey.member));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return this.member + " [" + this.parameterIndex + "]";
+	}
+
+}
@@ -0,0 +1,42 @@
+package roman.vertx.web.method.support;
+
+import io.vertx.ext.web.RoutingContext;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.DataBinder;
+
+/**
+ * Extension of {@link HandlerMethodArgumentResolver} for resolvers that work
+ * out what they need to know about a parameter once, rather than looking it up
+ * again on every request.
+ *
+ * <p>
+ * The {@link InvocableHandlerMethod} calls {@link #prepareParameter} when it
+ * builds the argument plan of a handler method, keeps the result with the
+ * plan, and passes it back on each call to
+ * {@link #resolveArgument(MethodParameter, Object, RoutingContext, DataBinder)}.
+ * The plain {@link #resolveArgument(MethodParameter, RoutingContext, DataBinder)}
+ * remains for callers without a plan.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public interface PreparedArgumentResolver extends HandlerMethodArgumentResolver {
+
+	/**
+	 * Prepare the resolution of the given parameter, which this resolver
+	 * {@link #supportsParameter supports}.
+	 *
+	 * @return the prepared state of the parameter, possibly {@code null}
+	 */
+	Object prepareParameter(MethodParameter parameter);
+
+	/**
+	 * Resolve the given parameter with the state returned by
+	 * {@link #prepareParameter} for it.
+	 *
+	 * @see #resolveArgument(MethodParameter, RoutingContext, DataBinder)
+	 */
+	Object resolveArgument(MethodParameter parameter, Object prepared, RoutingContext context, DataBinder binder) throws Exception;
+
+}
@@ -0,0 +1,57 @@
+package roman.vertx.web.method.support;
+
+import io.vertx.ext.web.RoutingContext;
+
+import org.springframework.core.MethodParameter;
+
+/**
+ * Extension of {@link PreparedArgumentResolver} for resolvers that can
+ * resolve {@code int}, {@code long}, {@code double} and {@code boolean}
+ * parameters without boxing the value.
+ *
+ * <p>
+ * If every parameter of a handler method is either resolved this way or is
+ * one of the Vert.x types taken from the routing context, the
+ * {@link InvocableHandlerMethod} calls a generated
+ * {@link HandlerMethodRequestInvoker} that passes the primitive values
+ * straight to the handler method, without an argument array. The invoker
+ * passes each resolver the registered parameter and its prepared state.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see HandlerMethodInvokerGenerator#generate(java.lang.reflect.Method, PrimitiveArgumentResolver[], MethodParameter[], Object[])
+ */
+public interface PrimitiveArgumentResolver extends PreparedArgumentResolver {
+
+	/**
+	 * Whether the given parameter, which this resolver
+	 * {@link #supportsParameter supports}, is of a primitive type that can be
+	 * resolved through the {@code resolveXxx} method for that type.
+	 */
+	boolean supportsPrimitive(MethodParameter parameter);
+
+	/**
+	 * Resolve an {@code int} parameter with the state
+	 * {@link #prepareParameter prepared} for it.
+	 */
+	int resolveInt(MethodParameter parameter, Object prepared, RoutingContext context) throws Exception;
+
+	/**
+	 * Resolve a {@code long} parameter with the state
+	 * {@link #prepareParameter prepared} for it.
+	 */
+	long resolveLong(MethodParameter parameter, Object prepared, RoutingContext context) throws Exception;
+
+	/**
+	 * Resolve a {@code double} parameter with the state
+	 * {@link #prepareParameter prepared} for it.
+	 */
+	double resolveDouble(MethodParameter parameter, Object prepared, RoutingContext context) throws Exception;
+
+	/**
+	 * Resolve a {@code boolean} parameter with the state
+	 * {@link #prepareParameter prepared} for it.
+	 */
+	boolean resolveBoolean(MethodParameter parameter, Object prepared, RoutingContext context) throws Exception;
+
+}
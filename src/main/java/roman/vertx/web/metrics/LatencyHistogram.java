@@ -0,0 +1,119 @@
+package roman.vertx.web.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets, in the manner of
+ * HdrHistogram: values below 32 nanoseconds have a bucket each, and every
+ * further power of two is split into 16 buckets, so that percentiles are
+ * accurate to within about 6%. Values are recorded in nanoseconds and clamped
+ * to 2^40 - 1 nanoseconds, about 18 minutes.
+ *
+ * <p>
+ * Recording increments one slot of an {@link AtomicLongArray} and two
+ * {@link LongAdder}s, and never blocks. Reading percentiles while values are
+ * being recorded gives a close approximation rather than a consistent
+ * snapshot, which is good enough for monitoring.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see RequestMappingMetrics
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int LINEAR_BUCKET_COUNT = 2 * SUB_BUCKET_COUNT;
+
+	private static final long MAX_VALUE = (1L << 40) - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(bucketIndex(MAX_VALUE) + 1);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	/**
+	 * Record a latency in nanoseconds; negative values are recorded as 0.
+	 */
+	public void record(long nanos) {
+		long value = (nanos < 0 ? 0 : Math.min(nanos, MAX_VALUE));
+		this.counts.incrementAndGet(bucketIndex(value));
+		this.count.increment();
+		this.sum.add(value);
+	}
+
+	/**
+	 * Return the number of recorded values.
+	 */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * Return the sum of the recorded values, in nanoseconds.
+	 */
+	public long getSum() {
+		return this.sum.sum();
+	}
+
+	/**
+	 * Return the value below or at which the given percentage of the recorded
+	 * values fall, in nanoseconds, or 0 if no values have been recorded.
+	 * 
+	 * @param percentile
+	 *            the percentile, between 0 and 100
+	 * @return the highest value equivalent to the bucket that holds the
+	 *         percentile
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long[] snapshot = new long[this.counts.length()];
+		long total = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = this.counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+		long cumulative = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			cumulative += snapshot[i];
+			if (cumulative >= target) {
+				return highestEquivalentValue(i);
+			}
+		}
+		return MAX_VALUE;
+	}
+
+	/**
+	 * Return the value at the given percentile converted to the given unit,
+	 * as a fractional number.
+	 */
+	public double getValueAtPercentile(double percentile, TimeUnit unit) {
+		return (double) getValueAtPercentile(percentile) / unit.toNanos(1);
+	}
+
+	private static int bucketIndex(long value) {
+		if (value < LINEAR_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+	}
+
+	private static long highestEquivalentValue(int index) {
+		if (index < LINEAR_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+}
@@ -0,0 +1,160 @@
+package roman.vertx.web.metrics;
+
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Request counts and latencies of one handler method. The total latency of a
+ * request is measured from its dispatch to the handler method until the end of
+ * the response body, and broken down into argument resolution, handler method
+ * invocation, and the synchronous part of writing the response by the return
+ * value handler. For handler methods with a generated request invoker,
+ * argument resolution is not recorded separately but included in the handler
+ * method invocation.
+ *
+ * <p>
+ * A request counts as an error if its routing context has failed or it is
+ * answered with a 5xx status. A response that is never ended, e.g. because the
+ * client went away, leaves the request counted as in flight.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see RequestMappingMetricsRegistry
+ */
+public class RequestMappingMetrics {
+
+	private static final int SERVER_ERROR = 500;
+
+	private final String path;
+
+	private final String methods;
+
+	private final String handler;
+
+	private final LongAdder requests = new LongAdder();
+
+	private final LongAdder errors = new LongAdder();
+
+	private final LongAdder inFlight = new LongAdder();
+
+	private final LatencyHistogram totalLatency = new LatencyHistogram();
+
+	private final LatencyHistogram argumentResolutionLatency = new LatencyHistogram();
+
+	private final LatencyHistogram handlerLatency = new LatencyHistogram();
+
+	private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+	/**
+	 * Create metrics for a handler method.
+	 * 
+	 * @param path
+	 *            the mapped path pattern
+	 * @param methods
+	 *            the mapped HTTP methods, or an empty String for any method
+	 * @param handler
+	 *            a description of the handler method
+	 */
+	public RequestMappingMetrics(String path, String methods, String handler) {
+		Assert.notNull(path, "Path must not be null");
+		Assert.notNull(methods, "Methods must not be null");
+		Assert.notNull(handler, "Handler must not be null");
+		this.path = path;
+		this.methods = methods;
+		this.handler = handler;
+	}
+
+	public String getPath() {
+		return this.path;
+	}
+
+	public String getMethods() {
+		return this.methods;
+	}
+
+	public String getHandler() {
+		return this.handler;
+	}
+
+	/**
+	 * Record the dispatch of a request to the handler method, and arrange for
+	 * the request to be recorded as completed when its response body ends.
+	 * 
+	 * @return the start time of the request, as given by
+	 *         {@link System#nanoTime()}
+	 */
+	public long requestStarted(RoutingContext context) {
+		long startTime = System.nanoTime();
+		this.requests.increment();
+		this.inFlight.increment();
+		context.addBodyEndHandler(v -> requestCompleted(context, startTime));
+		return startTime;
+	}
+
+	private void requestCompleted(RoutingContext context, long startTime) {
+		this.totalLatency.record(System.nanoTime() - startTime);
+		this.inFlight.decrement();
+		if (context.failed() || context.response().getStatusCode() >= SERVER_ERROR) {
+			this.errors.increment();
+		}
+	}
+
+	public void recordArgumentResolution(long nanos) {
+		this.argumentResolutionLatency.record(nanos);
+	}
+
+	public void recordHandler(long nanos) {
+		this.handlerLatency.record(nanos);
+	}
+
+	public void recordWrite(long nanos) {
+		this.writeLatency.record(nanos);
+	}
+
+	/**
+	 * Return the number of requests dispatched to the handler method.
+	 */
+	public long getRequestCount() {
+		return this.requests.sum();
+	}
+
+	/**
+	 * Return the number of completed requests that failed.
+	 */
+	public long getErrorCount() {
+		return this.errors.sum();
+	}
+
+	/**
+	 * Return the number of requests dispatched but not completed yet.
+	 */
+	public long getInFlightCount() {
+		return this.inFlight.sum();
+	}
+
+	public LatencyHistogram getTotalLatency() {
+		return this.totalLatency;
+	}
+
+	public LatencyHistogram getArgumentResolutionLatency() {
+		return this.argumentResolutionLatency;
+	}
+
+	public LatencyHistogram getHandlerLatency() {
+		return this.handlerLatency;
+	}
+
+	public LatencyHistogram getWriteLatency() {
+		return this.writeLatency;
+	}
+
+	@Override
+	public String toString() {
+		return "RequestMappingMetrics [path=" + this.path + ", methods=" + this.methods + ", requests=" + getRequestCount() + ", errors=" + getErrorCount() + ", inFlight="
+				+ getInFlightCount() + "]";
+	}
+
+}
@@ -0,0 +1,129 @@
+package roman.vertx.web.metrics;
+
+import io.vertx.core.http.HttpMethod;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.StringUtils;
+
+import roman.vertx.web.method.RequestMappingInfo;
+
+/**
+ * Holds the {@link RequestMappingMetrics} of all handler methods of a handler
+ * mapping, and writes them in the Prometheus text exposition format.
+ *
+ * <p>
+ * Each handler method is reported with the labels {@code path},
+ * {@code method} and {@code handler}. Latencies are reported as summaries in
+ * seconds, with a {@code phase} label of {@code total}, {@code arguments},
+ * {@code handler} or {@code write}.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.handler.AbstractHandlerMapping#setMetricsRegistry
+ * @see roman.vertx.web.handler.PrometheusMetricsHandler
+ */
+public class RequestMappingMetricsRegistry {
+
+	/**
+	 * The content type of the Prometheus text exposition format.
+	 */
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private static final String PREFIX = "vertx_request_mapping_";
+
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+	private final List<RequestMappingMetrics> metrics = new CopyOnWriteArrayList<RequestMappingMetrics>();
+
+	/**
+	 * Create and register the metrics for the given mapping.
+	 */
+	public RequestMappingMetrics register(RequestMappingInfo mapping) {
+		StringBuilder methods = new StringBuilder();
+		for (HttpMethod method : mapping.getMethodsCondition().getMethods()) {
+			methods.append(methods.length() > 0 ? "," : "").append(method.name());
+		}
+		String handler = mapping.getMethod().getDeclaringClass().getName() + "#" + mapping.getMethod().getName();
+		RequestMappingMetrics result = new RequestMappingMetrics(mapping.getPatternsCondition().getPattern(), methods.toString(), handler);
+		this.metrics.add(result);
+		return result;
+	}
+
+	/**
+	 * Return a read-only list of the registered metrics.
+	 */
+	public List<RequestMappingMetrics> getMetrics() {
+		return Collections.unmodifiableList(this.metrics);
+	}
+
+	/**
+	 * Write all metrics in the Prometheus text exposition format.
+	 */
+	public String writePrometheus() {
+		StringBuilder builder = new StringBuilder(1024 + this.metrics.size() * 2048);
+		writeHeader(builder, "requests_total", "counter", "Requests dispatched to the handler method.");
+		for (RequestMappingMetrics m : this.metrics) {
+			writeSample(builder, "requests_total", m, null, null, m.getRequestCount());
+		}
+		writeHeader(builder, "errors_total", "counter", "Requests that failed or were answered with a 5xx status.");
+		for (RequestMappingMetrics m : this.metrics) {
+			writeSample(builder, "errors_total", m, null, null, m.getErrorCount());
+		}
+		writeHeader(builder, "in_flight", "gauge", "Requests dispatched to the handler method whose response has not ended yet.");
+		for (RequestMappingMetrics m : this.metrics) {
+			writeSample(builder, "in_flight", m, null, null, m.getInFlightCount());
+		}
+		writeHeader(builder, "duration_seconds", "summary", "Request latency by phase.");
+		for (RequestMappingMetrics m : this.metrics) {
+			writeSummary(builder, m, "total", m.getTotalLatency());
+			writeSummary(builder, m, "arguments", m.getArgumentResolutionLatency());
+			writeSummary(builder, m, "handler", m.getHandlerLatency());
+			writeSummary(builder, m, "write", m.getWriteLatency());
+		}
+		return builder.toString();
+	}
+
+	private static void writeHeader(StringBuilder builder, String name, String type, String help) {
+		builder.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+		builder.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void writeSummary(StringBuilder builder, RequestMappingMetrics m, String phase, LatencyHistogram histogram) {
+		for (double quantile : QUANTILES) {
+			writeSample(builder, "duration_seconds", m, phase, Double.toString(quantile), histogram.getValueAtPercentile(quantile * 100, TimeUnit.SECONDS));
+		}
+		writeSample(builder, "duration_seconds_sum", m, phase, null, (double) histogram.getSum() / TimeUnit.SECONDS.toNanos(1));
+		writeSample(builder, "duration_seconds_count", m, phase, null, histogram.getCount());
+	}
+
+	private static void writeSample(StringBuilder builder, String name, RequestMappingMetrics m, String phase, String quantile, Object value) {
+		builder.append(PREFIX).append(name);
+		builder.append("{path=\"");
+		appendLabelValue(builder, m.getPath());
+		builder.append("\",method=\"");
+		appendLabelValue(builder, m.getMethods());
+		builder.append("\",handler=\"");
+		appendLabelValue(builder, m.getHandler());
+		builder.append('"');
+		if (phase != null) {
+			builder.append(",phase=\"").append(phase).append('"');
+		}
+		if (quantile != null) {
+			builder.append(",quantile=\"").append(quantile).append('"');
+		}
+		builder.append("} ").append(value).append('\n');
+	}
+
+	private static void appendLabelValue(StringBuilder builder, String value) {
+		if (value.indexOf('\\') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1) {
+			builder.append(value);
+			return;
+		}
+		builder.append(StringUtils.replace(StringUtils.replace(StringUtils.replace(value, "\\", "\\\\"), "\"", "\\\""), "\n", "\\n"));
+	}
+
+}
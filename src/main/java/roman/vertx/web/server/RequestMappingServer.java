@@ -0,0 +1,168 @@
+package roman.vertx.web.server;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.Assert;
+
+import roman.vertx.web.handler.AbstractHandlerMapping;
+import roman.vertx.web.handler.RouteTable;
+
+/**
+ * Deploys a number of {@link RequestMappingVerticle} instances, by default one
+ * per available processor, that serve the same {@link RouteTable} on the same
+ * port. Vert.x distributes the connections to the shared port across the
+ * instances, and with that across as many event loops.
+ *
+ * <p>
+ * Handler methods are detected once by the handler mapping; the instances only
+ * register the resulting routes with a router of their own.
+ *
+ * <pre class="code">
+ * new RequestMappingServer(vertx, handlerMapping.getRouteTable())
+ * 		.setHttpServerOptions(new HttpServerOptions().setPort(8080))
+ * 		.deploy(result -&gt; ...);
+ * </pre>
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see AbstractHandlerMapping#getRouteTable()
+ */
+public class RequestMappingServer {
+
+	private static final Log logger = LogFactory.getLog(RequestMappingServer.class);
+
+	private final Vertx vertx;
+
+	private final RouteTable routeTable;
+
+	private int instances = Runtime.getRuntime().availableProcessors();
+
+	private HttpServerOptions httpServerOptions = new HttpServerOptions();
+
+	private final List<String> deploymentIds = Collections.synchronizedList(new ArrayList<String>());
+
+	public RequestMappingServer(Vertx vertx, RouteTable routeTable) {
+		Assert.notNull(vertx, "Vertx must not be null");
+		Assert.notNull(routeTable, "RouteTable must not be null");
+		this.vertx = vertx;
+		this.routeTable = routeTable;
+	}
+
+	/**
+	 * Create a server for the {@link Vertx} bean and the route table of the
+	 * {@link AbstractHandlerMapping} bean of the given application context.
+	 */
+	public RequestMappingServer(ApplicationContext applicationContext) {
+		this(applicationContext.getBean(Vertx.class), getRouteTable(applicationContext));
+	}
+
+	private static RouteTable getRouteTable(ApplicationContext applicationContext) {
+		RouteTable routeTable = applicationContext.getBean(AbstractHandlerMapping.class).getRouteTable();
+		Assert.state(routeTable != null, "The handler mapping has not been initialized");
+		return routeTable;
+	}
+
+	/**
+	 * Set the number of verticle instances to deploy.
+	 * <p>
+	 * Default is the number of available processors.
+	 */
+	public RequestMappingServer setInstances(int instances) {
+		Assert.isTrue(instances > 0, "instances must be greater than 0");
+		this.instances = instances;
+		return this;
+	}
+
+	public int getInstances() {
+		return this.instances;
+	}
+
+	/**
+	 * Set the options of the HTTP server of each instance, in particular the
+	 * port to listen on.
+	 */
+	public RequestMappingServer setHttpServerOptions(HttpServerOptions httpServerOptions) {
+		Assert.notNull(httpServerOptions, "HttpServerOptions must not be null");
+		this.httpServerOptions = httpServerOptions;
+		return this;
+	}
+
+	public HttpServerOptions getHttpServerOptions() {
+		return this.httpServerOptions;
+	}
+
+	/**
+	 * Return the ids of the deployed verticle instances.
+	 */
+	public List<String> getDeploymentIds() {
+		synchronized (this.deploymentIds) {
+			return new ArrayList<String>(this.deploymentIds);
+		}
+	}
+
+	/**
+	 * Deploy the verticle instances. Each instance gets an event loop of its
+	 * own, assigned round-robin by Vert.x.
+	 *
+	 * @param completionHandler
+	 *            called once all instances are listening, or with the first
+	 *            failure; may be {@code null}
+	 */
+	public void deploy(Handler<AsyncResult<Void>> completionHandler) {
+		@SuppressWarnings("rawtypes")
+		List<Future> futures = new ArrayList<Future>(this.instances);
+		for (int i = 0; i < this.instances; i++) {
+			Future<String> future = Future.future();
+			futures.add(future);
+			this.vertx.deployVerticle(new RequestMappingVerticle(this.routeTable, this.httpServerOptions), result -> {
+				if (result.succeeded()) {
+					this.deploymentIds.add(result.result());
+				}
+				future.completer().handle(result);
+			});
+		}
+		CompositeFuture.all(futures).setHandler(result -> {
+			if (result.succeeded()) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Deployed " + this.instances + " instances serving " + this.routeTable.size() + " routes on port "
+							+ this.httpServerOptions.getPort());
+				}
+			}
+			if (completionHandler != null) {
+				completionHandler.handle(result.succeeded() ? Future.succeededFuture() : Future.failedFuture(result.cause()));
+			}
+		});
+	}
+
+	/**
+	 * Undeploy all deployed verticle instances.
+	 */
+	public void undeploy(Handler<AsyncResult<Void>> completionHandler) {
+		@SuppressWarnings("rawtypes")
+		List<Future> futures = new ArrayList<Future>();
+		for (String deploymentId : getDeploymentIds()) {
+			Future<Void> future = Future.future();
+			futures.add(future);
+			this.vertx.undeploy(deploymentId, future.completer());
+			this.deploymentIds.remove(deploymentId);
+		}
+		CompositeFuture.all(futures).setHandler(result -> {
+			if (completionHandler != null) {
+				completionHandler.handle(result.succeeded() ? Future.succeededFuture() : Future.failedFuture(result.cause()));
+			}
+		});
+	}
+
+}
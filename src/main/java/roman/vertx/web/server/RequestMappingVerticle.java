@@ -0,0 +1,59 @@
+package roman.vertx.web.server;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.ext.web.Router;
+
+import org.springframework.util.Assert;
+
+import roman.vertx.web.handler.RouteTable;
+
+/**
+ * A verticle that serves a precompiled {@link RouteTable} over HTTP. Each
+ * instance creates a {@link Router} of its own on start and registers the
+ * routes of the shared table with it, so instances deployed on different event
+ * loops do not contend on a single router, while the handler methods and the
+ * controller beans behind them are shared.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see RequestMappingServer
+ */
+public class RequestMappingVerticle extends AbstractVerticle {
+
+	private final RouteTable routeTable;
+
+	private final HttpServerOptions options;
+
+	private HttpServer server;
+
+	public RequestMappingVerticle(RouteTable routeTable, HttpServerOptions options) {
+		Assert.notNull(routeTable, "RouteTable must not be null");
+		Assert.notNull(options, "HttpServerOptions must not be null");
+		this.routeTable = routeTable;
+		this.options = options;
+	}
+
+	/**
+	 * Return the HTTP server of this instance, or {@code null} if not started.
+	 */
+	public HttpServer getServer() {
+		return this.server;
+	}
+
+	@Override
+	public void start(Future<Void> startFuture) throws Exception {
+		Router router = this.routeTable.registerRoutes(Router.router(this.vertx));
+		this.server = this.vertx.createHttpServer(this.options).requestHandler(router::accept);
+		this.server.listen(result -> {
+			if (result.succeeded()) {
+				startFuture.complete();
+			} else {
+				startFuture.fail(result.cause());
+			}
+		});
+	}
+
+}
@@ -0,0 +1,227 @@
+package roman.vertx.web.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * An Ant-style path pattern compiled into a single anchored regular
+ * expression. The following syntax is supported:
+ * <ul>
+ * <li>{@code ?} matches one character other than '/'</li>
+ * <li>{@code *} matches zero or more characters within a path segment</li>
+ * <li>{@code **} as a whole segment matches zero or more path segments</li>
+ * <li>{@code {name}} matches a path variable within a segment; as a whole
+ * segment, like a Vert.x style {@code :name} segment, it matches one or more
+ * characters, so that an empty segment does not match</li>
+ * <li>{@code {name:regex}} matches a path variable against the given regex</li>
+ * </ul>
+ * A trailing '/' in the path is optional, as for plain Vert.x paths.
+ *
+ * <p>
+ * The leading literal segments of the pattern are kept as a
+ * {@linkplain #getPrefix() prefix}, so that paths can be filtered with a cheap
+ * {@code startsWith} check before the regular expression is applied.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ * @see roman.vertx.web.condition.PatternRequestCondition
+ */
+public final class AntPathPattern {
+
+	private static final String DEFAULT_VARIABLE_PATTERN = "[^/]*";
+
+	private static final String SEGMENT_VARIABLE_PATTERN = "[^/]+";
+
+	private static final String GROUP_NAME_PREFIX = "v";
+
+	private final String antPattern;
+
+	private final String prefix;
+
+	private final Pattern pattern;
+
+	private final List<String> variableNames;
+
+	private AntPathPattern(String antPattern, String prefix, Pattern pattern, List<String> variableNames) {
+		this.antPattern = antPattern;
+		this.prefix = prefix;
+		this.pattern = pattern;
+		this.variableNames = variableNames;
+	}
+
+	/**
+	 * Whether the given path contains any Ant-style or path variable syntax,
+	 * i.e. cannot be matched as a plain path.
+	 */
+	public static boolean isPattern(String path) {
+		return (path != null && (path.indexOf('*') != -1 || path.indexOf('?') != -1 || path.indexOf('{') != -1 || path.indexOf(':') != -1));
+	}
+
+	/**
+	 * Compile the given Ant-style pattern.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the pattern has unbalanced braces or an invalid variable
+	 *             regex
+	 */
+	public static AntPathPattern compile(String antPattern) {
+		Assert.notNull(antPattern, "Pattern must not be null");
+		String[] segments = StringUtils.tokenizeToStringArray(antPattern, "/", false, true);
+		List<String> variableNames = new ArrayList<String>();
+		StringBuilder prefix = new StringBuilder();
+		StringBuilder regex = new StringBuilder();
+		boolean literalPrefix = true;
+		for (String segment : segments) {
+			if (literalPrefix && !isPattern(segment)) {
+				prefix.append('/').append(segment);
+				regex.append('/').append(Pattern.quote(segment));
+				continue;
+			}
+			literalPrefix = false;
+			if ("**".equals(segment)) {
+				regex.append("(?:/.*)?");
+			} else {
+				regex.append('/');
+				appendSegment(antPattern, segment, regex, variableNames);
+			}
+		}
+		if (regex.length() == 0) {
+			regex.append('/');
+		} else if (!antPattern.endsWith("**")) {
+			regex.append("/?");
+		}
+		Pattern pattern;
+		try {
+			pattern = Pattern.compile(regex.toString());
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Invalid pattern \"" + antPattern + "\": " + ex.getMessage(), ex);
+		}
+		String prefixToUse = (prefix.length() > 0 ? prefix.toString() : "/");
+		return new AntPathPattern(antPattern, prefixToUse, pattern, Collections.unmodifiableList(variableNames));
+	}
+
+	private static void appendSegment(String antPattern, String segment, StringBuilder regex, List<String> variableNames) {
+		if (segment.charAt(0) == ':' && segment.length() > 1) {
+			appendVariable(segment.substring(1), SEGMENT_VARIABLE_PATTERN, regex, variableNames);
+			return;
+		}
+		int literalStart = 0;
+		for (int i = 0; i < segment.length(); i++) {
+			char ch = segment.charAt(i);
+			if (ch == '*' || ch == '?' || ch == '{') {
+				appendLiteral(segment, literalStart, i, regex);
+				if (ch == '*') {
+					while (i + 1 < segment.length() && segment.charAt(i + 1) == '*') {
+						i++;
+					}
+					regex.append("[^/]*");
+				} else if (ch == '?') {
+					regex.append("[^/]");
+				} else {
+					int end = findClosingBrace(antPattern, segment, i);
+					String variable = segment.substring(i + 1, end);
+					int colon = variable.indexOf(':');
+					if (colon == -1) {
+						boolean wholeSegment = (i == 0 && end == segment.length() - 1);
+						appendVariable(variable, (wholeSegment ? SEGMENT_VARIABLE_PATTERN : DEFAULT_VARIABLE_PATTERN), regex, variableNames);
+					} else {
+						appendVariable(variable.substring(0, colon), variable.substring(colon + 1), regex, variableNames);
+					}
+					i = end;
+				}
+				literalStart = i + 1;
+			}
+		}
+		appendLiteral(segment, literalStart, segment.length(), regex);
+	}
+
+	private static int findClosingBrace(String antPattern, String segment, int start) {
+		int depth = 0;
+		for (int i = start; i < segment.length(); i++) {
+			char ch = segment.charAt(i);
+			if (ch == '\\') {
+				i++;
+			} else if (ch == '{') {
+				depth++;
+			} else if (ch == '}' && --depth == 0) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Invalid pattern \"" + antPattern + "\": unbalanced '{'");
+	}
+
+	private static void appendLiteral(String segment, int start, int end, StringBuilder regex) {
+		if (start < end) {
+			regex.append(Pattern.quote(segment.substring(start, end)));
+		}
+	}
+
+	private static void appendVariable(String name, String variableRegex, StringBuilder regex, List<String> variableNames) {
+		regex.append("(?<").append(GROUP_NAME_PREFIX).append(variableNames.size()).append('>').append(variableRegex).append(')');
+		variableNames.add(name.trim());
+	}
+
+	/**
+	 * Return the pattern this instance was compiled from.
+	 */
+	public String getAntPattern() {
+		return this.antPattern;
+	}
+
+	/**
+	 * Return the leading literal segments of the pattern, starting with '/';
+	 * every matching path starts with this prefix.
+	 */
+	public String getPrefix() {
+		return this.prefix;
+	}
+
+	/**
+	 * Return the compiled regular expression.
+	 */
+	public Pattern getPattern() {
+		return this.pattern;
+	}
+
+	/**
+	 * Return the names of the path variables, in order of appearance.
+	 */
+	public List<String> getVariableNames() {
+		return this.variableNames;
+	}
+
+	/**
+	 * Match the given path against this pattern.
+	 * 
+	 * @return the matcher after a successful match, from which the variable
+	 *         values can be obtained by {@link #getVariableValue}; or
+	 *         {@code null} if the path does not match
+	 */
+	public Matcher match(String path) {
+		if (!path.startsWith(this.prefix)) {
+			return null;
+		}
+		Matcher matcher = this.pattern.matcher(path);
+		return (matcher.matches() ? matcher : null);
+	}
+
+	/**
+	 * Return the value of the variable at the given index from a matcher
+	 * returned by {@link #match}.
+	 */
+	public String getVariableValue(Matcher matcher, int index) {
+		return matcher.group(GROUP_NAME_PREFIX + index);
+	}
+
+	@Override
+	public String toString() {
+		return this.antPattern;
+	}
+
+}
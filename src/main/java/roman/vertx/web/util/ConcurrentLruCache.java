@@ -0,0 +1,156 @@
+package roman.vertx.web.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * Simple LRU (Least Recently Used) cache, bounded by a specified cache limit.
+ *
+ * <p>
+ * Values are computed by the generator function given at construction time,
+ * which must not return {@code null}. The cache takes no locks: a hit is a
+ * plain map lookup that marks the entry as used, and a miss adds the new
+ * entry to a queue in insertion order. Once the limit is exceeded, entries
+ * are taken from the head of the queue; an entry that was used since it was
+ * queued is given a second chance at the tail, the first unused one is
+ * evicted. This approximates LRU order without reordering the queue on every
+ * hit. Concurrent misses on the same key may generate the value more than
+ * once, but only one value is cached.
+ *
+ * @param <K>
+ *            the type of the key used for cache retrieval
+ * @param <V>
+ *            the type of the cached values
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final Function<K, V> generator;
+
+	private final ConcurrentHashMap<K, Entry<V>> cache = new ConcurrentHashMap<K, Entry<V>>();
+
+	private final Queue<K> queue = new ConcurrentLinkedQueue<K>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Create a new cache instance with the given limit and generator function.
+	 * 
+	 * @param sizeLimit
+	 *            the maximum number of entries in the cache
+	 * @param generator
+	 *            a function to generate a new value for a given key
+	 */
+	public ConcurrentLruCache(int sizeLimit, Function<K, V> generator) {
+		Assert.isTrue(sizeLimit > 0, "Cache size limit must be positive");
+		Assert.notNull(generator, "Generator function must not be null");
+		this.sizeLimit = sizeLimit;
+		this.generator = generator;
+	}
+
+	/**
+	 * Retrieve the value for the given key, generating and caching it if
+	 * necessary.
+	 */
+	public V get(K key) {
+		Entry<V> entry = this.cache.get(key);
+		if (entry != null) {
+			entry.markUsed();
+			return entry.value;
+		}
+		V value = this.generator.apply(key);
+		Assert.state(value != null, "Generator function must not return null");
+		Entry<V> existing = this.cache.putIfAbsent(key, new Entry<V>(value));
+		if (existing != null) {
+			existing.markUsed();
+			return existing.value;
+		}
+		this.queue.add(key);
+		if (this.size.incrementAndGet() > this.sizeLimit) {
+			evict();
+		}
+		return value;
+	}
+
+	/**
+	 * Evict one entry, giving entries used since they were queued a second
+	 * chance, but at most one pass over the queue.
+	 */
+	private void evict() {
+		for (int attempt = 0; attempt <= this.sizeLimit; attempt++) {
+			K key = this.queue.poll();
+			if (key == null) {
+				return;
+			}
+			Entry<V> entry = this.cache.get(key);
+			if (entry == null) {
+				continue;
+			}
+			if (entry.used && attempt < this.sizeLimit) {
+				entry.used = false;
+				this.queue.add(key);
+				continue;
+			}
+			if (this.cache.remove(key) != null) {
+				this.size.decrementAndGet();
+			}
+			return;
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache.
+	 */
+	public int sizeLimit() {
+		return this.sizeLimit;
+	}
+
+	/**
+	 * Return the current size of the cache.
+	 */
+	public int size() {
+		return this.size.get();
+	}
+
+	/**
+	 * Immediately remove all entries from this cache.
+	 */
+	public void clear() {
+		K key;
+		while ((key = this.queue.poll()) != null) {
+			if (this.cache.remove(key) != null) {
+				this.size.decrementAndGet();
+			}
+		}
+	}
+
+
+	/**
+	 * A cached value, with a flag that records use since it was last queued.
+	 */
+	private static final class Entry<V> {
+
+		private final V value;
+
+		private volatile boolean used;
+
+		public Entry(V value) {
+			this.value = value;
+		}
+
+		public void markUsed() {
+			if (!this.used) {
+				this.used = true;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,120 @@
+package roman.vertx.web.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+/**
+ * Maps a fixed set of String keys to their index in the array they were given
+ * in, through a perfect hash: every key has a slot of its own in a
+ * power-of-two table, so a lookup is one multiplication, one shift and one
+ * {@code equals} check, without probing or collision chains.
+ *
+ * <p>
+ * The slot is taken from the cached {@link String#hashCode()} of the key,
+ * scrambled by a multiplier that is searched for when the index is built. If
+ * two keys have the same hash code, a seeded hash over their characters is
+ * used instead.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public final class PerfectHashIndex {
+
+	private static final int MAX_ATTEMPTS_PER_SIZE = 1 << 12;
+
+	private final boolean characterHash;
+
+	private final int multiplier;
+
+	private final int shift;
+
+	private final String[] slots;
+
+	private final int[] indexes;
+
+	/**
+	 * Build the index for the given keys.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the keys are not distinct
+	 */
+	public PerfectHashIndex(String... keys) {
+		Set<Integer> hashCodes = new HashSet<Integer>(keys.length * 2);
+		Set<String> distinctKeys = new HashSet<String>(keys.length * 2);
+		for (String key : keys) {
+			Assert.isTrue(distinctKeys.add(key), "Duplicate key [" + key + "]");
+			hashCodes.add(key.hashCode());
+		}
+		this.characterHash = (hashCodes.size() < keys.length);
+		int bits = 1;
+		while ((1 << bits) < keys.length) {
+			bits++;
+		}
+		int candidate = 0x9E3779B9;
+		int multiplier;
+		int[] indexes;
+		do {
+			multiplier = 0;
+			indexes = null;
+			for (int attempt = 0; indexes == null && attempt < MAX_ATTEMPTS_PER_SIZE; attempt++) {
+				candidate = candidate * 0x2C1B3C6D + 0x297A2D39;
+				multiplier = candidate | 1;
+				indexes = place(keys, multiplier, bits);
+			}
+		} while (indexes == null && bits++ < 30);
+		Assert.state(indexes != null, "No perfect hash found");
+		this.multiplier = multiplier;
+		this.shift = 32 - bits;
+		this.indexes = indexes;
+		this.slots = new String[indexes.length];
+		for (int slot = 0; slot < indexes.length; slot++) {
+			this.slots[slot] = (indexes[slot] >= 0 ? keys[indexes[slot]] : null);
+		}
+	}
+
+	/**
+	 * Return the index of the given key, or -1 if it is not one of the keys.
+	 */
+	public int indexOf(String key) {
+		int slot = (hash(key) * this.multiplier) >>> this.shift;
+		String candidate = this.slots[slot];
+		return (candidate != null && candidate.equals(key) ? this.indexes[slot] : -1);
+	}
+
+	/**
+	 * Assign each key a slot, or return {@code null} if two keys collide.
+	 */
+	private int[] place(String[] keys, int multiplier, int bits) {
+		int shift = 32 - bits;
+		int[] indexes = new int[1 << bits];
+		for (int slot = 0; slot < indexes.length; slot++) {
+			indexes[slot] = -1;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			int slot = (hash(keys[i], multiplier) * multiplier) >>> shift;
+			if (indexes[slot] >= 0) {
+				return null;
+			}
+			indexes[slot] = i;
+		}
+		return indexes;
+	}
+
+	private int hash(String key) {
+		return hash(key, this.multiplier);
+	}
+
+	private int hash(String key, int seed) {
+		if (!this.characterHash) {
+			return key.hashCode();
+		}
+		int hash = seed;
+		for (int i = 0; i < key.length(); i++) {
+			hash = (hash ^ key.charAt(i)) * 0x01000193;
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+}
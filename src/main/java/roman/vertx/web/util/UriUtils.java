@@ -0,0 +1,55 @@
+package roman.vertx.web.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utility methods for URI decoding.
+ *
+ * @author RomanLuo
+ * @email 530827804@qq.com
+ */
+public abstract class UriUtils {
+
+	/**
+	 * Decode the percent-encoded octets of a path segment as UTF-8. Unlike
+	 * {@link java.net.URLDecoder}, which decodes form data, a '+' is left as
+	 * it is, since it only stands for a space in a query string.
+	 *
+	 * @return the decoded value, or the given value as it is if it contains
+	 *         no or an invalid percent-encoded octet
+	 */
+	public static String decodePathSegment(String value) {
+		int index = value.indexOf('%');
+		if (index == -1) {
+			return value;
+		}
+		int length = value.length();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(length);
+		int start = 0;
+		while (index != -1) {
+			if (index + 2 >= length) {
+				return value;
+			}
+			int high = Character.digit(value.charAt(index + 1), 16);
+			int low = Character.digit(value.charAt(index + 2), 16);
+			if (high == -1 || low == -1) {
+				return value;
+			}
+			writeUtf8(bytes, value, start, index);
+			bytes.write((high << 4) + low);
+			start = index + 3;
+			index = value.indexOf('%', start);
+		}
+		writeUtf8(bytes, value, start, length);
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static void writeUtf8(ByteArrayOutputStream bytes, String value, int start, int end) {
+		if (start < end) {
+			byte[] encoded = value.substring(start, end).getBytes(StandardCharsets.UTF_8);
+			bytes.write(encoded, 0, encoded.length);
+		}
+	}
+
+}
@@ -1,8 +1,7 @@
 package roman.vertx.test;
 
 import io.vertx.core.Vertx;
-import io.vertx.ext.web.Router;
-import io.vertx.ext.web.impl.RouterImpl;
+import io.vertx.core.http.HttpServerOptions;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -10,6 +9,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 
 import roman.vertx.web.method.annotation.RequestMappingHandlerMapping;
+import roman.vertx.web.server.RequestMappingServer;
 
 @SpringBootApplication
 public class App {
@@ -19,11 +19,6 @@ public class App {
 		return Vertx.factory.vertx();
 	}
 
-	@Bean
-	public Router createRouter(Vertx vertx) {
-		return new RouterImpl(vertx);
-	}
-
 	@Bean
 	public RequestMappingHandlerMapping requestMappingHandlerMapping() {
 		return new RequestMappingHandlerMapping();
@@ -31,8 +26,6 @@ public class App {
 
 	public static void main(String[] args) {
 		ApplicationContext applicationContext = SpringApplication.run(App.class, args);
-		Vertx vertx = applicationContext.getBean(Vertx.class);
-		Router router = applicationContext.getBean(Router.class);
-		vertx.createHttpServer().requestHandler(router::accept).listen(8080);
+		new RequestMappingServer(applicationContext).setHttpServerOptions(new HttpServerOptions().setPort(8080)).deploy(null);
 	}
 }
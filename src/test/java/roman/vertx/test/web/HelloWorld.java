@@ -1,11 +1,11 @@
 package roman.vertx.test.web;
 
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 
 import org.springframework.stereotype.Controller;
 
+import roman.vertx.web.bind.annotation.PathVariable;
 import roman.vertx.web.bind.annotation.RequestMapping;
 
 @Controller
@@ -13,8 +13,8 @@ import roman.vertx.web.bind.annotation.RequestMapping;
 public class HelloWorld {
 
 	@RequestMapping(value = "hello/:value", method = HttpMethod.GET)
-	public void hello(HttpServerRequest request, HttpServerResponse httpServerResponse) {
-		httpServerResponse.end("hello " + request.getParam("value"));
+	public void hello(@PathVariable("value") String value, HttpServerResponse httpServerResponse) {
+		httpServerResponse.end("hello " + value);
 	}
 
 }